@@ -0,0 +1,70 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.service.allocation.BestSeatFinder;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search for the best blocks of adjacent free seats ({@link BestSeatFinder}) in a venue of sectors
+ * of 20 rows of 25 seats, with a share of the seats blocked or reserved at random.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="BestSeatsBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BestSeatsBenchmark {
+
+    private static final int ROWS_PER_SECTOR = 20;
+    private static final int SEATS_PER_ROW = 25;
+
+    @Param({"1000", "20000"})
+    private int venueSeats;
+
+    @Param({"2", "8"})
+    private int count;
+
+    @Param({"20", "80"})
+    private int takenPercent;
+
+    private SeatLayout layout;
+    private BitSet free;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        SeatLayout.Builder builder = SeatLayout.builder();
+        free = new BitSet(venueSeats);
+        for (int seat = 0; seat < venueSeats; seat++) {
+            int row = seat / SEATS_PER_ROW;
+            builder.seat(row / ROWS_PER_SECTOR, row, seat + 1, true, null);
+            if (random.nextInt(100) >= takenPercent) {
+                free.set(seat);
+            }
+        }
+        layout = builder.build();
+    }
+
+    @Benchmark
+    public List<BestSeatFinder.Candidate> find() {
+        return BestSeatFinder.find(layout, free, count, 5, 2, 1);
+    }
+}
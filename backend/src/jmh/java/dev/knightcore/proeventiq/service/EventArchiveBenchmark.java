@@ -0,0 +1,85 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.service.report.ReportProgressListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The ZIP archives of an event, written to a discarding stream: 50 participants with groups of 1 to
+ * 200 seats in a venue of 10 000 seats, rendered by one or several render workers.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="EventArchiveBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EventArchiveBenchmark {
+
+    private static final int PARTICIPANTS = 50;
+
+    @Param({"1", "4"})
+    private int workers;
+
+    private ReportFixture fixture;
+    private ReportService reportService;
+
+    @Setup
+    public void setUp() {
+        int[] groups = new Random(42).ints(PARTICIPANTS, 1, 201).toArray();
+        fixture = ReportFixture.create(10000, PARTICIPANTS, i -> groups[i], ReportFixture.Thumbnail.PNG,
+                ReportFixture.description(1000), workers);
+        reportService = fixture.reportService();
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public long ticketsZip() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reportService.writeAllParticipantTicketsZip(ReportFixture.EVENT_ID, out, ReportProgressListener.NONE);
+        return out.count;
+    }
+
+    @Benchmark
+    public long mapsZip() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        reportService.writeAllParticipantMapsZip(ReportFixture.EVENT_ID, out, ReportProgressListener.NONE);
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
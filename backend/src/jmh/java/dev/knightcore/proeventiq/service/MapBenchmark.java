@@ -0,0 +1,84 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.service.report.MapPreviewRenderer;
+import dev.knightcore.proeventiq.service.report.VenueGeometry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of a single participant map (the request path of {@code createPdfMap}) by size of the
+ * venue and of the group, and building the venue layout the maps are drawn from (sector outlines,
+ * i.e. the convex hulls of their seats, and seat spacing), and the raster preview and SVG export of the
+ * map.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="MapBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapBenchmark {
+
+    @Param({"1000", "10000", "50000"})
+    private int venueSeats;
+
+    @Param({"1", "200"})
+    private int seats;
+
+    private ReportFixture fixture;
+    private ReportService reportService;
+    private Long participantId;
+
+    @Setup
+    public void setUp() {
+        fixture = ReportFixture.create(venueSeats, 1, i -> seats, ReportFixture.Thumbnail.PNG, ReportFixture.description(300), 1);
+        reportService = fixture.reportService();
+        participantId = fixture.participantIds().get(0);
+        if (map() == null) {
+            throw new IllegalStateException("Map could not be rendered");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] map() {
+        return reportService.generateParticipantMap(ReportFixture.EVENT_ID, participantId).orElse(null);
+    }
+
+    @Benchmark
+    public byte[] preview() {
+        return reportService.generateParticipantMapPreview(ReportFixture.EVENT_ID, participantId, 800, MapPreviewRenderer.Format.PNG)
+                .orElse(null);
+    }
+
+    @Benchmark
+    public void svg() throws IOException {
+        reportService.generateParticipantMapSvg(ReportFixture.EVENT_ID, participantId).orElseThrow()
+                .writeTo(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public VenueGeometry venueGeometry() {
+        return VenueGeometry.build(fixture.venue().getVenueId(), fixture.venue().getSectors(), fixture.seats());
+    }
+}
@@ -0,0 +1,334 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.dto.ReservedSeatDto;
+import dev.knightcore.proeventiq.entity.EventEntity;
+import dev.knightcore.proeventiq.entity.ParticipantEntity;
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.entity.SeatEntity;
+import dev.knightcore.proeventiq.entity.SeatRowEntity;
+import dev.knightcore.proeventiq.entity.SectorEntity;
+import dev.knightcore.proeventiq.entity.ShowEntity;
+import dev.knightcore.proeventiq.entity.UserEntity;
+import dev.knightcore.proeventiq.entity.VenueEntity;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.repository.ReservationRepository;
+import dev.knightcore.proeventiq.repository.SeatRepository;
+import dev.knightcore.proeventiq.repository.ShowRepository;
+import dev.knightcore.proeventiq.repository.UserRepository;
+import dev.knightcore.proeventiq.repository.VenueRepository;
+import dev.knightcore.proeventiq.service.report.MapPreviewRenderer;
+import dev.knightcore.proeventiq.service.report.MapTemplateCache;
+import dev.knightcore.proeventiq.service.report.RenderedReportCache;
+import dev.knightcore.proeventiq.service.report.ReportFontRegistry;
+import dev.knightcore.proeventiq.service.report.ReportImageCache;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.unit.DataSize;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntUnaryOperator;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A synthetic event held in memory, with a {@link ReportService} wired to repositories that serve it.
+ * <p>
+ * The venue is made of sectors of {@value #ROWS_PER_SECTOR} curved rows of {@value #SEATS_PER_ROW}
+ * seats laid out on a grid, and participants reserve consecutive seats, spilling over into the next
+ * rows like group bookings do. Rendered documents are not cached, so every call renders; prepared
+ * images, venue geometry and map templates are cached as in production.
+ */
+public final class ReportFixture implements AutoCloseable {
+
+    public static final long EVENT_ID = 1L;
+    private static final long SHOW_ID = 1L;
+    private static final long VENUE_ID = 1L;
+    private static final int ROWS_PER_SECTOR = 20;
+    private static final int SEATS_PER_ROW = 25;
+    private static final int SECTOR_COLUMNS = 10;
+    private static final String ORGANIZER_EMAIL = "organizer@example.com";
+
+    /**
+     * Formats of the show thumbnail printed on tickets and maps.
+     */
+    public enum Thumbnail {
+        PNG, WEBP, SVG;
+
+        public byte[] bytes() {
+            return switch (this) {
+                case PNG -> raster("png");
+                case WEBP -> raster("webp");
+                case SVG -> svg();
+            };
+        }
+    }
+
+    private final ReportService reportService;
+    private final ExecutorService renderExecutor;
+    private final VenueEntity venue;
+    private final List<SeatEntity> seats;
+    private final List<Long> participantIds;
+
+    private ReportFixture(ReportService reportService, ExecutorService renderExecutor, VenueEntity venue,
+                          List<SeatEntity> seats, List<Long> participantIds) {
+        this.reportService = reportService;
+        this.renderExecutor = renderExecutor;
+        this.venue = venue;
+        this.seats = seats;
+        this.participantIds = participantIds;
+    }
+
+    /**
+     * @param venueSeats    seats of the venue, rounded up to whole sectors
+     * @param participants  number of participants of the event
+     * @param seatsOf       seats reserved by the participant with the given index
+     * @param thumbnail     format of the show thumbnail
+     * @param description   ticket description of the event
+     * @param renderWorkers render threads for batch reports
+     */
+    public static ReportFixture create(int venueSeats, int participants, IntUnaryOperator seatsOf, Thumbnail thumbnail,
+                                       String description, int renderWorkers) {
+        VenueEntity venue = new VenueEntity();
+        venue.setVenueId(VENUE_ID);
+        venue.setName("Hala Widowiskowa");
+        venue.setAddress("ul. Żółkiewskiego 12, Łódź");
+        List<SeatEntity> seats = new ArrayList<>(venueSeats);
+        venue.setSectors(sectors(venue, venueSeats, seats));
+
+        ShowEntity show = new ShowEntity();
+        show.setShowId(SHOW_ID);
+        show.setName("Śpiąca Królewna");
+        show.setThumbnail(thumbnail.bytes());
+
+        EventEntity event = new EventEntity();
+        event.setEventId(EVENT_ID);
+        event.setShowId(SHOW_ID);
+        event.setVenueId(VENUE_ID);
+        event.setDateTime(LocalDateTime.of(2026, 5, 16, 18, 0));
+        event.setTicketDescription(description);
+
+        UserEntity organizer = new UserEntity();
+        organizer.setId("organizer");
+        organizer.setEmail(ORGANIZER_EMAIL);
+        organizer.setName("Teatr Lalek");
+        organizer.setAddress("ul. Piotrkowska 1, 90-001 Łódź");
+
+        List<ParticipantEntity> participantEntities = new ArrayList<>(participants);
+        List<ReservedSeatDto> reserved = new ArrayList<>();
+        EventRepository eventRepository = mock(EventRepository.class);
+        ParticipantRepository participantRepository = mock(ParticipantRepository.class);
+        ReservationRepository reservationRepository = mock(ReservationRepository.class);
+        List<ReservationEntity> allReservations = new ArrayList<>();
+        int nextSeat = 0;
+        for (int i = 0; i < participants; i++) {
+            ParticipantEntity participant = new ParticipantEntity();
+            participant.setParticipantId(i + 1L);
+            participant.setEventId(EVENT_ID);
+            participant.setName("Szkoła Podstawowa nr " + (i + 1));
+            participant.setAddress("ul. Długa " + (i + 1) + ", Łódź");
+            participantEntities.add(participant);
+
+            int count = seatsOf.applyAsInt(i);
+            if (nextSeat + count > seats.size()) {
+                throw new IllegalArgumentException("Venue of " + seats.size() + " seats is too small for the reservations");
+            }
+            List<ReservedSeatDto> participantSeats = new ArrayList<>(count);
+            List<ReservationEntity> reservations = new ArrayList<>(count);
+            for (SeatEntity seat : seats.subList(nextSeat, nextSeat + count)) {
+                SeatRowEntity row = seat.getSeatRow();
+                participantSeats.add(new ReservedSeatDto(participant.getParticipantId(), seat.getSeatId(), seat.getOrderNumber(),
+                        row.getName(), row.getOrderNumber(), row.getSector().getName()));
+                reservations.add(new ReservationEntity(participant.getParticipantId(), seat.getSeatId(), EVENT_ID));
+            }
+            nextSeat += count;
+            reserved.addAll(participantSeats);
+            allReservations.addAll(reservations);
+            when(participantRepository.findByParticipantIdAndEventId(participant.getParticipantId(), EVENT_ID))
+                    .thenReturn(Optional.of(participant));
+            when(participantRepository.existsByParticipantIdAndEventId(participant.getParticipantId(), EVENT_ID))
+                    .thenReturn(true);
+            when(reservationRepository.findReservedSeatsByEventIdAndParticipantId(EVENT_ID, participant.getParticipantId()))
+                    .thenReturn(participantSeats);
+            when(reservationRepository.findByEventIdAndParticipantId(EVENT_ID, participant.getParticipantId()))
+                    .thenReturn(reservations);
+        }
+        when(eventRepository.findById(EVENT_ID)).thenReturn(Optional.of(event));
+        when(eventRepository.existsById(EVENT_ID)).thenReturn(true);
+        when(participantRepository.findByEventId(EVENT_ID)).thenReturn(participantEntities);
+        when(participantRepository.existsByEventId(EVENT_ID)).thenReturn(participants > 0);
+        when(reservationRepository.findReservedSeatsByEventId(EVENT_ID)).thenReturn(reserved);
+        when(reservationRepository.findByEventId(EVENT_ID)).thenReturn(allReservations);
+
+        ShowRepository showRepository = mock(ShowRepository.class);
+        when(showRepository.findById(SHOW_ID)).thenReturn(Optional.of(show));
+        VenueRepository venueRepository = mock(VenueRepository.class);
+        when(venueRepository.findById(VENUE_ID)).thenReturn(Optional.of(venue));
+        SeatRepository seatRepository = mock(SeatRepository.class);
+        when(seatRepository.findAllByVenueIdWithRowAndSector(VENUE_ID)).thenReturn(seats);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findByEmail(ORGANIZER_EMAIL)).thenReturn(Optional.of(organizer));
+        KeycloakUserService keycloakUserService = mock(KeycloakUserService.class);
+        when(keycloakUserService.getCurrentUserEmail()).thenReturn(Optional.of(ORGANIZER_EMAIL));
+
+        ReportFontRegistry fontRegistry = new ReportFontRegistry();
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.getRender().setWorkers(renderWorkers);
+        reportProperties.getCache().setMaxSize(DataSize.ofBytes(0));
+        ExecutorService renderExecutor = Executors.newFixedThreadPool(Math.max(1, renderWorkers));
+        ReportService reportService = new ReportService(eventRepository, participantRepository, showRepository,
+                venueRepository, reservationRepository, seatRepository, userRepository, keycloakUserService,
+                fontRegistry, reportProperties, renderExecutor, mock(PlatformTransactionManager.class),
+                new RenderedReportCache(reportProperties, new SimpleMeterRegistry()), new ReportImageCache(reportProperties),
+                new VenueGeometryCache(reportProperties), new MapTemplateCache(), new MapPreviewRenderer(fontRegistry));
+        return new ReportFixture(reportService, renderExecutor, venue, seats,
+                participantEntities.stream().map(ParticipantEntity::getParticipantId).toList());
+    }
+
+    public ReportService reportService() {
+        return reportService;
+    }
+
+    public VenueEntity venue() {
+        return venue;
+    }
+
+    /**
+     * All seats of the venue, as the seat query of the map returns them.
+     */
+    public List<SeatEntity> seats() {
+        return seats;
+    }
+
+    public List<Long> participantIds() {
+        return participantIds;
+    }
+
+    /**
+     * A ticket description of about the given number of characters, in paragraphs of Polish text.
+     */
+    public static String description(int length) {
+        String sentence = "Prosimy o przybycie do „Hali Widowiskowej” co najmniej 30 minut przed rozpoczęciem "
+                + "przedstawienia, szatnia znajduje się na poziomie −1 obok wejścia od ul. Żółkiewskiego. ";
+        StringBuilder description = new StringBuilder(length + sentence.length());
+        for (int i = 1; description.length() < length; i++) {
+            description.append(sentence);
+            if (i % 4 == 0) {
+                description.append("\n\n");
+            }
+        }
+        return description.toString();
+    }
+
+    @Override
+    public void close() {
+        renderExecutor.shutdownNow();
+    }
+
+    private static List<SectorEntity> sectors(VenueEntity venue, int venueSeats, List<SeatEntity> seats) {
+        int seatsPerSector = ROWS_PER_SECTOR * SEATS_PER_ROW;
+        int sectorCount = (venueSeats + seatsPerSector - 1) / seatsPerSector;
+        double sectorWidth = SEATS_PER_ROW * 30.0 + 60;
+        double sectorHeight = ROWS_PER_SECTOR * 34.0 + 80;
+        venue.setWidth(Math.min(sectorCount, SECTOR_COLUMNS) * sectorWidth);
+        venue.setHeight((double) ((sectorCount + SECTOR_COLUMNS - 1) / SECTOR_COLUMNS) * sectorHeight);
+
+        Random random = new Random(42);
+        List<SectorEntity> sectors = new ArrayList<>(sectorCount);
+        long rowId = 1;
+        for (int s = 0; s < sectorCount; s++) {
+            SectorEntity sector = new SectorEntity();
+            sector.setSectorId(s + 1L);
+            sector.setName("Sektor " + (s + 1));
+            sector.setOrderNumber(s + 1);
+            sector.setVenue(venue);
+            sector.setPositionX((float) ((s % SECTOR_COLUMNS) * sectorWidth));
+            sector.setPositionY((float) ((s / SECTOR_COLUMNS) * sectorHeight));
+            sector.setRotation(s % 3 == 1 ? 10 : 0);
+            List<SeatRowEntity> rows = new ArrayList<>(ROWS_PER_SECTOR);
+            for (int r = 0; r < ROWS_PER_SECTOR; r++) {
+                SeatRowEntity row = new SeatRowEntity();
+                row.setSeatRowId(rowId++);
+                row.setName(String.valueOf(r + 1));
+                row.setOrderNumber(r + 1);
+                row.setSector(sector);
+                List<SeatEntity> rowSeats = new ArrayList<>(SEATS_PER_ROW);
+                for (int k = 0; k < SEATS_PER_ROW; k++) {
+                    SeatEntity seat = new SeatEntity();
+                    seat.setSeatId(seats.size() + 1L);
+                    seat.setOrderNumber(k + 1);
+                    seat.setSeatRow(row);
+                    // Slightly curved rows, placed by hand in the editor
+                    seat.setPositionX((float) (k * 30 + random.nextDouble()));
+                    seat.setPositionY((float) (r * 34 + Math.abs(k - SEATS_PER_ROW / 2) * 1.5 + random.nextDouble()));
+                    rowSeats.add(seat);
+                    seats.add(seat);
+                }
+                row.setSeats(rowSeats);
+                rows.add(row);
+            }
+            sector.setSeatRows(rows);
+            sectors.add(sector);
+        }
+        return sectors;
+    }
+
+    private static BufferedImage picture() {
+        BufferedImage image = new BufferedImage(1200, 800, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setPaint(new GradientPaint(0, 0, new Color(30, 60, 140), 1200, 800, new Color(240, 190, 60)));
+        g.fillRect(0, 0, 1200, 800);
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            g.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 160));
+            g.fillOval(random.nextInt(1200), random.nextInt(800), 20 + random.nextInt(120), 20 + random.nextInt(120));
+        }
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] raster(String format) {
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            if (!ImageIO.write(picture(), format, out)) {
+                throw new IllegalStateException("No ImageIO writer for " + format);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] svg() {
+        StringBuilder svg = new StringBuilder("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"1200\" height=\"800\" viewBox=\"0 0 1200 800\">")
+                .append("<defs><linearGradient id=\"bg\"><stop offset=\"0\" stop-color=\"#1e3c8c\"/>")
+                .append("<stop offset=\"1\" stop-color=\"#f0be3c\"/></linearGradient></defs>")
+                .append("<rect width=\"1200\" height=\"800\" fill=\"url(#bg)\"/>");
+        Random random = new Random(7);
+        for (int i = 0; i < 200; i++) {
+            svg.append(String.format("<circle cx=\"%d\" cy=\"%d\" r=\"%d\" fill=\"#%06x\" fill-opacity=\"0.6\"/>",
+                    random.nextInt(1200), random.nextInt(800), 10 + random.nextInt(60), random.nextInt(0x1000000)));
+        }
+        return svg.append("</svg>").toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,208 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.api.model.ReservationInput;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.repository.ReservationRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reservation writes of {@code ReservationService.updateReservation} against a MySQL database: a
+ * round of inserting {@code rows} reservations for one participant, moving them to another and
+ * deleting them, each in its own transaction. {@code batched} runs the service (prepared statements
+ * in JDBC batches), {@code concatenated} the statements it used to build by concatenating IDs.
+ * <p>
+ * Needs a database with the schema of {@code db/init-schema.mysql}; the benchmark adds a venue,
+ * show and event of its own and removes them afterwards. Run with
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ReservationWriteBenchmark -jvmArgsAppend
+ * -Dbenchmark.jdbc.url=jdbc:mysql://localhost:3306/proeventiq?user=...&password=..."}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReservationWriteBenchmark {
+
+    private static final int SEATS_PER_ROW = 100;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transaction;
+    private ReservationService reservationService;
+    private long showId;
+    private long venueId;
+    private long eventId;
+    private long firstParticipant;
+    private long secondParticipant;
+    private List<Long> seatIds;
+
+    @Setup
+    public void setUp() {
+        String url = System.getProperty("benchmark.jdbc.url");
+        if (url == null) {
+            throw new IllegalStateException("Set benchmark.jdbc.url to a MySQL database with the ProEventIQ schema");
+        }
+        Properties properties = new Properties();
+        properties.setProperty("rewriteBatchedStatements", "true");
+        dataSource = new SingleConnectionDataSource(url, true);
+        dataSource.setConnectionProperties(properties);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        createEvent();
+
+        ParticipantRepository participantRepository = mock(ParticipantRepository.class);
+        when(participantRepository.findParticipantIdsByEventId(eventId)).thenReturn(List.of(firstParticipant, secondParticipant));
+        // Occupancy checks run against the database as in the application
+        reservationService = new ReservationService(mock(ReservationRepository.class), mock(EventRepository.class), participantRepository,
+                new SeatOccupancyIndex(jdbcTemplate, 256), jdbcTemplate, 500, mock(ReportPrerenderService.class));
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Participants, reservations, sectors, rows and seats go with them
+        jdbcTemplate.update("DELETE FROM event WHERE event_id = ?", eventId);
+        jdbcTemplate.update("DELETE FROM venue WHERE venue_id = ?", venueId);
+        jdbcTemplate.update("DELETE FROM event_show WHERE show_id = ?", showId);
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public int batched() {
+        transaction.executeWithoutResult(status -> reservationService.updateReservation(eventId, inserts()));
+        transaction.executeWithoutResult(status -> reservationService.updateReservation(eventId, updates()));
+        transaction.executeWithoutResult(status -> reservationService.updateReservation(eventId, deletes()));
+        return rows;
+    }
+
+    @Benchmark
+    public int concatenated() {
+        transaction.executeWithoutResult(status -> {
+            if (jdbcTemplate.update(concatenatedInsert(inserts())) != rows) {
+                throw new IllegalStateException("Seats already reserved");
+            }
+        });
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(concatenatedUpdate(updates())));
+        transaction.executeWithoutResult(status -> jdbcTemplate.update(concatenatedDelete(deletes())));
+        return rows;
+    }
+
+    private List<ReservationInput> inserts() {
+        List<ReservationInput> inputs = new ArrayList<>(rows);
+        for (Long seatId : seatIds) {
+            inputs.add(new ReservationInput().participantId(firstParticipant).seatId(seatId));
+        }
+        return inputs;
+    }
+
+    private List<ReservationInput> updates() {
+        return jdbcTemplate.query("SELECT reservation_id, seat_id FROM seat_reservation WHERE event_id = ?",
+                (rs, i) -> new ReservationInput().id(rs.getLong(1)).seatId(rs.getLong(2))
+                        .oldParticipantId(firstParticipant).participantId(secondParticipant), eventId);
+    }
+
+    private List<ReservationInput> deletes() {
+        return jdbcTemplate.query("SELECT reservation_id, seat_id FROM seat_reservation WHERE event_id = ?",
+                (rs, i) -> new ReservationInput().id(rs.getLong(1)).seatId(rs.getLong(2))
+                        .oldParticipantId(secondParticipant), eventId);
+    }
+
+    private void createEvent() {
+        showId = insert("INSERT INTO event_show (user_name, name) VALUES ('benchmark', 'Benchmark')");
+        venueId = insert("INSERT INTO venue (user_name, name, country, city, address) "
+                + "VALUES ('benchmark', 'Benchmark', 'Polska', 'Łódź', 'ul. Długa 1')");
+        long sectorId = insert("INSERT INTO sector (venue_id, name) VALUES (" + venueId + ", 'A')");
+        for (int row = 0; row * SEATS_PER_ROW < rows; row++) {
+            long rowId = insert("INSERT INTO seat_row (sector_id, name, order_number) VALUES (" + sectorId + ", '" + (row + 1) + "', " + (row + 1) + ")");
+            List<Object[]> seats = new ArrayList<>();
+            for (int seat = 1; seat <= SEATS_PER_ROW && row * SEATS_PER_ROW + seat <= rows; seat++) {
+                seats.add(new Object[]{rowId, seat});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO seat (seat_row_id, order_number) VALUES (?, ?)", seats);
+        }
+        seatIds = jdbcTemplate.queryForList("SELECT s.seat_id FROM seat s JOIN seat_row r ON s.seat_row_id = r.seat_row_id "
+                + "WHERE r.sector_id = ? ORDER BY s.seat_id", Long.class, sectorId);
+        eventId = insert("INSERT INTO event (user_name, show_id, venue_id, date_time) VALUES ('benchmark', "
+                + showId + ", " + venueId + ", NOW())");
+        firstParticipant = insert("INSERT INTO participant (event_id, name, children_ticket_count) VALUES (" + eventId + ", 'First', " + rows + ")");
+        secondParticipant = insert("INSERT INTO participant (event_id, name, children_ticket_count) VALUES (" + eventId + ", 'Second', " + rows + ")");
+    }
+
+    private long insert(String sql) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS), keys);
+        return keys.getKey().longValue();
+    }
+
+    // The statements ReservationService built before it used prepared batches
+
+    private String concatenatedInsert(List<ReservationInput> inputs) {
+        StringBuilder derived = new StringBuilder();
+        for (int i = 0; i < inputs.size(); i++) {
+            ReservationInput in = inputs.get(i);
+            if (i == 0) {
+                derived.append("SELECT ").append(in.getParticipantId()).append(" AS participant_id, ")
+                        .append(in.getSeatId()).append(" AS seat_id, ").append(eventId).append(" AS event_id");
+            } else {
+                derived.append(" UNION ALL SELECT ").append(in.getParticipantId()).append(", ")
+                        .append(in.getSeatId()).append(", ").append(eventId);
+            }
+        }
+        return "INSERT INTO seat_reservation (participant_id, seat_id, event_id) "
+                + "SELECT t.participant_id, t.seat_id, t.event_id FROM (" + derived + ") AS t "
+                + "WHERE NOT EXISTS (SELECT 1 FROM seat_reservation sr WHERE sr.event_id = " + eventId + " AND sr.seat_id = t.seat_id)";
+    }
+
+    private String concatenatedDelete(List<ReservationInput> inputs) {
+        String pairs = inputs.stream()
+                .map(in -> "(" + in.getId() + ", " + in.getOldParticipantId() + ")")
+                .collect(Collectors.joining(", "));
+        return "DELETE FROM seat_reservation WHERE event_id = " + eventId + " AND (reservation_id, participant_id) IN (" + pairs + ")";
+    }
+
+    private String concatenatedUpdate(List<ReservationInput> inputs) {
+        StringBuilder sql = new StringBuilder("UPDATE seat_reservation sr SET sr.participant_id = CASE ");
+        for (ReservationInput in : inputs) {
+            sql.append(" WHEN sr.reservation_id = ").append(in.getId()).append(" THEN ").append(in.getParticipantId());
+        }
+        sql.append(" ELSE sr.participant_id END, sr.seat_id = CASE ");
+        for (ReservationInput in : inputs) {
+            sql.append(" WHEN sr.reservation_id = ").append(in.getId()).append(" THEN ").append(in.getSeatId());
+        }
+        sql.append(" ELSE sr.seat_id END WHERE sr.event_id = ").append(eventId).append(" AND sr.reservation_id IN (")
+                .append(inputs.stream().map(in -> String.valueOf(in.getId())).collect(Collectors.joining(",")))
+                .append(")");
+        return sql.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.service.allocation.SeatAllocator;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Automatic seat allocation ({@link SeatAllocator}) of groups of 1-8 seats, some of them larger than
+ * any row, in a venue of sectors of 20 rows of 25 seats, with a share of the seats blocked or
+ * reserved at random.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="SeatAllocationBenchmark"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeatAllocationBenchmark {
+
+    private static final int ROWS_PER_SECTOR = 20;
+    private static final int SEATS_PER_ROW = 25;
+
+    @Param({"1000", "10000"})
+    private int venueSeats;
+
+    @Param({"100", "1000"})
+    private int groups;
+
+    @Param({"0", "20"})
+    private int takenPercent;
+
+    private SeatLayout layout;
+    private BitSet free;
+    private int[] groupSizes;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        SeatLayout.Builder builder = SeatLayout.builder();
+        free = new BitSet(venueSeats);
+        for (int seat = 0; seat < venueSeats; seat++) {
+            int row = seat / SEATS_PER_ROW;
+            builder.seat(row / ROWS_PER_SECTOR, row, seat + 1, true, null);
+            if (random.nextInt(100) >= takenPercent) {
+                free.set(seat);
+            }
+        }
+        layout = builder.build();
+        groupSizes = new int[groups];
+        for (int i = 0; i < groups; i++) {
+            groupSizes[i] = i % 50 == 0 ? SEATS_PER_ROW + 10 : 1 + random.nextInt(8);
+        }
+    }
+
+    @Benchmark
+    public int[][] allocate() {
+        return SeatAllocator.allocate(layout, free, groupSizes);
+    }
+}
@@ -0,0 +1,64 @@
+package dev.knightcore.proeventiq.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering of a single participant ticket (the request path of {@code createPdfTicket}), by size of
+ * the group, format of the show thumbnail and length of the ticket description.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TicketBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TicketBenchmark {
+
+    @Param({"1", "20", "200"})
+    private int seats;
+
+    @Param({"PNG", "WEBP", "SVG"})
+    private ReportFixture.Thumbnail thumbnail;
+
+    @Param({"300", "6000"})
+    private int descriptionLength;
+
+    private ReportFixture fixture;
+    private ReportService reportService;
+    private Long participantId;
+
+    @Setup
+    public void setUp() {
+        fixture = ReportFixture.create(1000, 1, i -> seats, thumbnail, ReportFixture.description(descriptionLength), 1);
+        reportService = fixture.reportService();
+        participantId = fixture.participantIds().get(0);
+        if (ticket() == null) {
+            throw new IllegalStateException("Ticket could not be rendered");
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        fixture.close();
+    }
+
+    @Benchmark
+    public byte[] ticket() {
+        return reportService.generateParticipantTicket(ReportFixture.EVENT_ID, participantId).orElse(null);
+    }
+}
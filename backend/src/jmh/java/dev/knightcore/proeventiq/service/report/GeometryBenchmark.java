@@ -0,0 +1,140 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sector outline and seat spacing of one sector, computed with {@link Geometry} and with the list of
+ * boxed points the map drawing used before.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="GeometryBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeometryBenchmark {
+
+    private static final double PADDING = 8.0;
+
+    @Param({"1000", "10000"})
+    private int seats;
+
+    private double[] points;
+    private List<Point> pointList;
+
+    @Setup
+    public void setUp() {
+        // Curved rows of 40 seats, slightly off the grid like seats placed in the editor
+        Random random = new Random(42);
+        points = new double[2 * seats];
+        pointList = new ArrayList<>(seats);
+        for (int i = 0; i < seats; i++) {
+            int row = i / 40;
+            int seat = i % 40;
+            double x = seat * 14.4 + random.nextDouble();
+            double y = row * 16.0 + Math.abs(seat - 20) * 0.8 + random.nextDouble();
+            points[2 * i] = x;
+            points[2 * i + 1] = y;
+            pointList.add(new Point(x, y));
+        }
+    }
+
+    @Benchmark
+    public double[] paddedHull() {
+        return Geometry.paddedHull(points, seats, PADDING);
+    }
+
+    @Benchmark
+    public List<Point> paddedHullList() {
+        List<Point> padded = new ArrayList<>(5 * pointList.size());
+        for (Point p : pointList) {
+            padded.add(p);
+            padded.add(new Point(p.x - PADDING, p.y - PADDING));
+            padded.add(new Point(p.x + PADDING, p.y - PADDING));
+            padded.add(new Point(p.x + PADDING, p.y + PADDING));
+            padded.add(new Point(p.x - PADDING, p.y + PADDING));
+        }
+        return convexHull(padded);
+    }
+
+    @Benchmark
+    public double[] convexHull() {
+        return Geometry.convexHull(points, seats);
+    }
+
+    @Benchmark
+    public List<Point> convexHullList() {
+        return convexHull(pointList);
+    }
+
+    @Benchmark
+    public double minDistance() {
+        return Geometry.minDistanceSquared(points, seats);
+    }
+
+    @Benchmark
+    public double minDistancePairwise() {
+        double min = Double.MAX_VALUE;
+        for (int i = 0; i < seats; i++) {
+            for (int j = i + 1; j < seats; j++) {
+                double dx = points[2 * i] - points[2 * j];
+                double dy = points[2 * i + 1] - points[2 * j + 1];
+                double d = dx * dx + dy * dy;
+                if (d < min) {
+                    min = d;
+                }
+            }
+        }
+        return min;
+    }
+
+    public record Point(double x, double y) {
+    }
+
+    private static List<Point> convexHull(List<Point> points) {
+        if (points.size() <= 2) return points;
+        List<Point> sortedPoints = new ArrayList<>(points);
+        sortedPoints.sort((a, b) -> a.x != b.x ? Double.compare(a.x, b.x) : Double.compare(a.y, b.y));
+        List<Point> upper = new ArrayList<>();
+        List<Point> lower = new ArrayList<>();
+        for (Point p : sortedPoints) {
+            while (upper.size() >= 2 && cross(upper.get(upper.size() - 2), upper.get(upper.size() - 1), p) <= 0) {
+                upper.remove(upper.size() - 1);
+            }
+            upper.add(p);
+        }
+        for (int i = sortedPoints.size() - 1; i >= 0; i--) {
+            Point p = sortedPoints.get(i);
+            while (lower.size() >= 2 && cross(lower.get(lower.size() - 2), lower.get(lower.size() - 1), p) <= 0) {
+                lower.remove(lower.size() - 1);
+            }
+            lower.add(p);
+        }
+        upper.remove(upper.size() - 1);
+        lower.remove(lower.size() - 1);
+        List<Point> hull = new ArrayList<>(upper);
+        hull.addAll(lower);
+        return hull;
+    }
+
+    private static double cross(Point o, Point a, Point b) {
+        return (a.x - o.x) * (b.y - o.y) - (a.y - o.y) * (b.x - o.x);
+    }
+}
@@ -0,0 +1,50 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.service.ReportFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding and downscaling a show thumbnail for the ticket footer, as done once per image before
+ * {@link ReportImageCache} serves it.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="ReportImageBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportImageBenchmark {
+
+    @Param({"PNG", "WEBP", "SVG"})
+    private ReportFixture.Thumbnail thumbnail;
+
+    private ReportProperties reportProperties;
+    private byte[] data;
+
+    @Setup
+    public void setUp() {
+        reportProperties = new ReportProperties();
+        data = thumbnail.bytes();
+    }
+
+    @Benchmark
+    public Optional<PreparedImage> prepare() {
+        return new ReportImageCache(reportProperties).get("show:1", data, Float.POSITIVE_INFINITY, 50);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.service.ReportFixture;
+import dev.knightcore.proeventiq.service.report.ReportFontRegistry.ReportFont;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Word wrapping of a ticket description ({@code wrapText}) with {@link TextLayout}: a first layout
+ * with the glyph widths of the font known, and a repeated one served from the layout cache.
+ * <p>
+ * Run with {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.args="TextLayoutBenchmark -prof gc"}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextLayoutBenchmark {
+
+    private static final float FONT_SIZE = 10;
+    private static final float WIDTH = 495;
+
+    @Param({"300", "6000"})
+    private int length;
+
+    private PDDocument document;
+    private PDFont font;
+    private String text;
+    private TextLayout warmLayout;
+    private TextLayout cachedLayout;
+    private int invocation;
+
+    @Setup
+    public void setUp() throws IOException {
+        document = new PDDocument();
+        font = new ReportFontRegistry().forDocument(document).get(ReportFont.PTSERIF_REGULAR);
+        text = ReportFixture.description(length).replace("\n", " ");
+        warmLayout = new TextLayout(UnaryOperator.identity());
+        cachedLayout = new TextLayout(UnaryOperator.identity());
+        cachedLayout.wrap(text, font, FONT_SIZE, WIDTH);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        document.close();
+    }
+
+    @Benchmark
+    public List<String> wrap() throws IOException {
+        // A width a fraction of a point narrower each time, so the layout is computed rather than looked up
+        return warmLayout.wrap(text, font, FONT_SIZE, WIDTH - (invocation++ & 0x3fff) / 16384f);
+    }
+
+    @Benchmark
+    public List<String> wrapCached() throws IOException {
+        return cachedLayout.wrap(text, font, FONT_SIZE, WIDTH);
+    }
+}
@@ -0,0 +1,80 @@
+package dev.knightcore.proeventiq.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+@EnableScheduling
+public class ReportConfig {
+
+    /**
+     * Worker pool used to render the documents of batch reports in parallel.
+     * Callers bound their own number of outstanding tasks, so the queue is unbounded.
+     * Its queue depth and task times are exposed as the {@code executor.*} meters named {@code report.render}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService reportRenderExecutor(ReportProperties reportProperties, MeterRegistry meterRegistry) {
+        int workers = Math.max(1, reportProperties.getRender().getWorkers());
+        ExecutorService executor = Executors.newFixedThreadPool(workers, namedDaemonThreads("report-render-"));
+        new ExecutorServiceMetrics(executor, "report.render", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Executes background report jobs. The queue is bounded; submissions beyond its capacity are
+     * rejected with a {@link java.util.concurrent.RejectedExecutionException}. Exposed as the
+     * {@code executor.*} meters named {@code report.job}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ThreadPoolExecutor reportJobExecutor(ReportProperties reportProperties, MeterRegistry meterRegistry) {
+        ReportProperties.Jobs jobs = reportProperties.getJobs();
+        int workers = Math.max(1, jobs.getWorkers());
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, jobs.getQueueCapacity())),
+                namedDaemonThreads("report-job-"), new ThreadPoolExecutor.AbortPolicy());
+        new ExecutorServiceMetrics(executor, "report.job", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    /**
+     * Single low-priority thread that pre-renders documents into the report cache once the
+     * reservations of an event have settled. Exposed as the {@code executor.*} meters named
+     * {@code report.prerender}.
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService reportPrerenderExecutor(MeterRegistry meterRegistry) {
+        ThreadFactory threads = namedDaemonThreads("report-prerender-");
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = threads.newThread(runnable);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        // Rescheduled tasks are cancelled, don't keep them queued until their delay ends
+        executor.setRemoveOnCancelPolicy(true);
+        new ExecutorServiceMetrics(executor, "report.prerender", Tags.empty()).bindTo(meterRegistry);
+        return executor;
+    }
+
+    static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,348 @@
+package dev.knightcore.proeventiq.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tuning for PDF report generation (tickets, maps and their ZIP archives).
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.report")
+public class ReportProperties {
+
+    private final Render render = new Render();
+    private final Jobs jobs = new Jobs();
+    private final Cache cache = new Cache();
+    private final Images images = new Images();
+    private final Admission admission = new Admission();
+    private final Prerender prerender = new Prerender();
+
+    public Render getRender() {
+        return render;
+    }
+
+    public Jobs getJobs() {
+        return jobs;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Images getImages() {
+        return images;
+    }
+
+    public Admission getAdmission() {
+        return admission;
+    }
+
+    public Prerender getPrerender() {
+        return prerender;
+    }
+
+    public static class Render {
+
+        /**
+         * Number of threads rendering documents for batch reports. 1 renders sequentially
+         * on the request thread.
+         */
+        private int workers = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+        /**
+         * Upper bound of documents of one batch that may be rendering or rendered but not yet
+         * written out.
+         */
+        private int maxPendingDocuments = 16;
+
+        /**
+         * Upper bound of the size of the documents of one batch that are rendered but not yet
+         * written out. Documents vary in size with their images, so this rather than the count
+         * bounds the heap a batch holds; documents still rendering when it is reached may exceed
+         * it by their own size.
+         */
+        private DataSize maxPendingMemory = DataSize.ofMegabytes(32);
+
+        /**
+         * Heap a merged print document (all tickets of an event in one PDF) may use for its page
+         * content and images; the rest is kept in a scratch file in the temporary directory.
+         */
+        private DataSize scratchMemory = DataSize.ofMegabytes(16);
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getMaxPendingDocuments() {
+            return maxPendingDocuments;
+        }
+
+        public void setMaxPendingDocuments(int maxPendingDocuments) {
+            this.maxPendingDocuments = maxPendingDocuments;
+        }
+
+        public DataSize getMaxPendingMemory() {
+            return maxPendingMemory;
+        }
+
+        public void setMaxPendingMemory(DataSize maxPendingMemory) {
+            this.maxPendingMemory = maxPendingMemory;
+        }
+
+        public DataSize getScratchMemory() {
+            return scratchMemory;
+        }
+
+        public void setScratchMemory(DataSize scratchMemory) {
+            this.scratchMemory = scratchMemory;
+        }
+    }
+
+    public static class Jobs {
+
+        /**
+         * Number of report jobs executed concurrently.
+         */
+        private int workers = 2;
+
+        /**
+         * Maximum number of jobs waiting for a worker; further submissions are rejected.
+         */
+        private int queueCapacity = 20;
+
+        /**
+         * Directory holding the artifacts of finished jobs.
+         */
+        private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "proeventiq-report-jobs");
+
+        /**
+         * How long finished jobs and their artifacts are kept.
+         */
+        private Duration retention = Duration.ofHours(1);
+
+        public int getWorkers() {
+            return workers;
+        }
+
+        public void setWorkers(int workers) {
+            this.workers = workers;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(Path directory) {
+            this.directory = directory;
+        }
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Total size of rendered documents kept in memory. 0 disables caching.
+         */
+        private DataSize maxSize = DataSize.ofMegabytes(64);
+
+        /**
+         * Number of venue layouts (precomputed map geometry) kept in memory. 0 disables caching.
+         */
+        private int maxVenues = 32;
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public int getMaxVenues() {
+            return maxVenues;
+        }
+
+        public void setMaxVenues(int maxVenues) {
+            this.maxVenues = maxVenues;
+        }
+    }
+
+    public static class Images {
+
+        /**
+         * Total size of prepared (decoded and re-encoded) report images kept in memory.
+         */
+        private DataSize cacheSize = DataSize.ofMegabytes(32);
+
+        /**
+         * Resolution images are downscaled to for the size they are drawn at. Images smaller than
+         * that are embedded unchanged.
+         */
+        private int dpi = 300;
+
+        /**
+         * JPEG quality (0-1) used for photographic images that had to be re-encoded.
+         */
+        private float jpegQuality = 0.85f;
+
+        public DataSize getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(DataSize cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public int getDpi() {
+            return dpi;
+        }
+
+        public void setDpi(int dpi) {
+            this.dpi = dpi;
+        }
+
+        public float getJpegQuality() {
+            return jpegQuality;
+        }
+
+        public void setJpegQuality(float jpegQuality) {
+            this.jpegQuality = jpegQuality;
+        }
+    }
+
+    public static class Admission {
+
+        /**
+         * Number of reports (single documents, archives and print PDFs) generated concurrently for
+         * requests. Background jobs are limited separately by {@code app.report.jobs.workers}.
+         */
+        private int maxConcurrent = 4;
+
+        /**
+         * Requests that may wait for a free slot; further requests are rejected right away.
+         */
+        private int queueCapacity = 8;
+
+        /**
+         * How long a request waits for a free slot before it is rejected.
+         */
+        private Duration maxWait = Duration.ofSeconds(10);
+
+        /**
+         * Reports a single user may have running or waiting at the same time.
+         */
+        private int maxPerUser = 2;
+
+        /**
+         * Delay suggested to rejected clients in the Retry-After header.
+         */
+        private Duration retryAfter = Duration.ofSeconds(5);
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        public int getMaxPerUser() {
+            return maxPerUser;
+        }
+
+        public void setMaxPerUser(int maxPerUser) {
+            this.maxPerUser = maxPerUser;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+
+        public void setRetryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+        }
+    }
+
+    public static class Prerender {
+
+        /**
+         * Whether tickets and maps are rendered into the cache in the background after reservations
+         * or participants of an event change.
+         */
+        private boolean enabled = true;
+
+        /**
+         * How long the reservations and participants of an event must stay unchanged before its
+         * affected documents are pre-rendered.
+         */
+        private Duration quietPeriod = Duration.ofSeconds(30);
+
+        /**
+         * How long pre-rendering waits before it retries while reports are generated for requests.
+         */
+        private Duration retryDelay = Duration.ofSeconds(10);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getQuietPeriod() {
+            return quietPeriod;
+        }
+
+        public void setQuietPeriod(Duration quietPeriod) {
+            this.quietPeriod = quietPeriod;
+        }
+
+        public Duration getRetryDelay() {
+            return retryDelay;
+        }
+
+        public void setRetryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package dev.knightcore.proeventiq.config;
+
+import dev.knightcore.proeventiq.service.report.StreamingResource;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes a {@link StreamingResource} directly to the servlet output stream, without buffering
+ * and without a Content-Length header. Registered ahead of the default resource converter.
+ */
+public class StreamingResourceHttpMessageConverter extends AbstractHttpMessageConverter<StreamingResource> {
+
+    public StreamingResourceHttpMessageConverter() {
+        super(MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return StreamingResource.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected StreamingResource readInternal(Class<? extends StreamingResource> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("StreamingResource cannot be read from a request", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(StreamingResource resource, MediaType contentType) {
+        return null;
+    }
+
+    @Override
+    protected void writeInternal(StreamingResource resource, HttpOutputMessage outputMessage) throws IOException {
+        resource.writeTo(outputMessage.getBody());
+        outputMessage.getBody().flush();
+    }
+}
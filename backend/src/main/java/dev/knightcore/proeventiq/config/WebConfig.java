@@ -1,18 +1,41 @@
 package dev.knightcore.proeventiq.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.view.InternalResourceViewResolver;
 
+import java.util.List;
+
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Batch report downloads, streamed to the client after their data has been loaded.
+     */
+    private static final String[] REPORT_STREAM_PATHS = {
+            "/events/*/participants/tickets-zip",
+            "/events/*/participants/maps-zip",
+            "/events/*/participants/documents-zip",
+            "/events/*/participants/tickets-pdf"
+    };
+
     @Value("${app.cors.allowed-origins:http://localhost:4200}")
     private String allowedOrigins;
 
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public WebConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -24,6 +47,26 @@ public class WebConfig implements WebMvcConfigurer {
                 .maxAge(3600);
     }
 
+    /**
+     * Open entity manager in view, as Spring Boot registers it with {@code spring.jpa.open-in-view},
+     * except for report downloads: the entity manager holds its JDBC connection until the request
+     * ends, which for a download is when the last byte has reached the client.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        entityManagerFactory.ifAvailable(factory -> {
+            OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+            interceptor.setEntityManagerFactory(factory);
+            registry.addWebRequestInterceptor(interceptor).excludePathPatterns(REPORT_STREAM_PATHS);
+        });
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        // Must precede ResourceHttpMessageConverter, which would try to read the resource into memory
+        converters.add(0, new StreamingResourceHttpMessageConverter());
+    }
+
     @Bean
     public InternalResourceViewResolver defaultViewResolver() {
         return new InternalResourceViewResolver();
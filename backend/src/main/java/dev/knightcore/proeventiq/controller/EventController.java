@@ -6,8 +6,14 @@ import dev.knightcore.proeventiq.api.model.EventInput;
 import dev.knightcore.proeventiq.api.model.PaginatedEvents;
 import dev.knightcore.proeventiq.api.model.Participant;
 import dev.knightcore.proeventiq.api.model.ParticipantInput;
+import dev.knightcore.proeventiq.api.model.ReportJobType;
 import dev.knightcore.proeventiq.service.EventService;
 import dev.knightcore.proeventiq.service.ReportService;
+import dev.knightcore.proeventiq.service.report.MapPreviewRenderer;
+import dev.knightcore.proeventiq.service.report.ReportAdmission;
+import dev.knightcore.proeventiq.service.report.ReportAdmission.AdmissionRejectedException;
+import dev.knightcore.proeventiq.service.report.StreamingResource;
+import dev.knightcore.proeventiq.service.report.SvgMapWriter;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -18,12 +24,17 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.validation.annotation.Validated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @RestController
 @Validated
@@ -31,12 +42,15 @@ public class EventController implements EventsApi {
     
     private static final Logger log = LoggerFactory.getLogger(EventController.class);
     private static final String INVALID_EVENT_ID_FORMAT = "Invalid event ID format: {}";
+    private static final String REPORT_PERMIT_ATTRIBUTE = EventController.class.getName() + ".reportPermit";
     private final EventService eventService;
     private final ReportService reportService;
+    private final ReportAdmission reportAdmission;
     
-    public EventController(EventService eventService, ReportService reportService) {
+    public EventController(EventService eventService, ReportService reportService, ReportAdmission reportAdmission) {
         this.eventService = eventService;
         this.reportService = reportService;
+        this.reportAdmission = reportAdmission;
     }
 
     @Override
@@ -220,7 +234,7 @@ public class EventController implements EventsApi {
 
     public ResponseEntity<org.springframework.core.io.Resource> eventsEventIdParticipantsParticipantIdTicketGet(Long eventId, Long participantId) {
         log.info("Generating participant ticket for participant {} in event ID: {}", participantId, eventId);
-        try {
+        try (ReportAdmission.Permit permit = reportAdmission.acquire(ReportJobType.PARTICIPANT_TICKET)) {
             return reportService.generateParticipantTicket(eventId, participantId)
                     .map(ticketBytes -> {
                         HttpHeaders headers = new HttpHeaders();
@@ -236,6 +250,8 @@ public class EventController implements EventsApi {
                                 .body(resource);
                     })
                     .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
         } catch (NumberFormatException e) {
             log.error(INVALID_EVENT_ID_FORMAT, eventId);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -249,34 +265,131 @@ public class EventController implements EventsApi {
     public ResponseEntity<Resource> eventsEventIdParticipantsTicketsZipGet(Long eventId) {
         log.info("Generating ZIP of all participant tickets for event ID: {}", eventId);
         try {
-            return reportService.generateAllParticipantTicketsZip(eventId)
-                    .map(zipBytes -> {
+            return admittedStream(ReportJobType.TICKETS_ZIP, () -> reportService.generateAllParticipantTicketsZip(eventId),
+                    zipResource -> zipResponse(zipResource, reportService.generateParticipantTicketsZipFilename(eventId)));
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
+        } catch (NumberFormatException e) {
+            log.error(INVALID_EVENT_ID_FORMAT, eventId);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Error generating ZIP of participant tickets: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsMapsZipGet(Long eventId) {
+        log.info("Generating ZIP of all participant maps for event ID: {}", eventId);
+        try {
+            return admittedStream(ReportJobType.MAPS_ZIP, () -> reportService.generateAllParticipantMapsZip(eventId),
+                    zipResource -> zipResponse(zipResource, reportService.generateParticipantMapsZipFilename(eventId)));
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
+        } catch (NumberFormatException e) {
+            log.error(INVALID_EVENT_ID_FORMAT, eventId);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Error generating ZIP of participant maps: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsDocumentsZipGet(Long eventId) {
+        log.info("Generating ZIP of all participant tickets and maps for event ID: {}", eventId);
+        try {
+            return admittedStream(ReportJobType.DOCUMENTS_ZIP, () -> reportService.generateAllParticipantDocumentsZip(eventId),
+                    zipResource -> zipResponse(zipResource, reportService.generateParticipantDocumentsZipFilename(eventId)));
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
+        } catch (NumberFormatException e) {
+            log.error(INVALID_EVENT_ID_FORMAT, eventId);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Error generating ZIP of participant tickets and maps: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsTicketsPdfGet(Long eventId) {
+        log.info("Generating print PDF of all participant tickets for event ID: {}", eventId);
+        try {
+            return admittedStream(ReportJobType.TICKETS_PDF, () -> reportService.generateAllParticipantTicketsPdf(eventId),
+                    pdfResource -> {
                         HttpHeaders headers = new HttpHeaders();
-                        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
-                        // Use centralized filename generation from ReportService
-                        String filename = reportService.generateParticipantTicketsZipFilename(eventId);
-                        headers.set(HttpHeaders.CONTENT_DISPOSITION, 
-                            "attachment; filename=" + filename);
-                        
-                        Resource resource = new ByteArrayResource(zipBytes);
+                        headers.setContentType(MediaType.APPLICATION_PDF);
+                        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=" + reportService.generateParticipantTicketsPdfFilename(eventId));
+                        // Streamed while the response is written
                         return ResponseEntity.ok()
                                 .headers(headers)
-                                .body(resource);
-                    })
-                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                                .body(pdfResource);
+                    });
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
         } catch (NumberFormatException e) {
             log.error(INVALID_EVENT_ID_FORMAT, eventId);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
-            log.error("Error generating ZIP of participant tickets: {}", e.getMessage());
+            log.error("Error generating print PDF of participant tickets: {}", e.getMessage());
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    /**
+     * Generates a streamed report within an admission permit. The permit is held until the report
+     * has been written to the response, as that is when it is rendered, and released when the
+     * request completes at the latest, so a body that is never written does not keep it.
+     */
+    private ResponseEntity<Resource> admittedStream(ReportJobType type, Supplier<Optional<StreamingResource>> report,
+                                                    Function<Resource, ResponseEntity<Resource>> response) {
+        ReportAdmission.Permit permit = reportAdmission.acquire(type);
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.registerDestructionCallback(REPORT_PERMIT_ATTRIBUTE, permit::close, RequestAttributes.SCOPE_REQUEST);
+        }
+        try {
+            Optional<StreamingResource> resource = report.get();
+            if (resource.isEmpty()) {
+                permit.close();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+            }
+            StreamingResource streamed = resource.get();
+            return response.apply(new StreamingResource(streamed.getDescription(), outputStream -> {
+                try (permit) {
+                    streamed.writeTo(outputStream);
+                }
+            }));
+        } catch (RuntimeException e) {
+            permit.close();
+            throw e;
+        }
+    }
+
+    private static <T> ResponseEntity<T> tooManyRequests(AdmissionRejectedException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+                .build();
+    }
+
+    private ResponseEntity<Resource> zipResponse(Resource zipResource, String filename) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_OCTET_STREAM);
+        headers.set(HttpHeaders.CONTENT_DISPOSITION, 
+            "attachment; filename=" + filename);
+        
+        // Streamed entry by entry while the response is written
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(zipResource);
+    }
+
     @Override
     public ResponseEntity<Resource> eventsEventIdParticipantsParticipantIdMapGet(Long eventId, Long participantId) {
         log.info("Generating participant map for participant {} in event ID: {}", participantId, eventId);
-        try {
+        try (ReportAdmission.Permit permit = reportAdmission.acquire(ReportJobType.PARTICIPANT_MAP)) {
             return reportService.generateParticipantMap(eventId, participantId)
                     .map(mapBytes -> {
                         HttpHeaders headers = new HttpHeaders();
@@ -292,6 +405,8 @@ public class EventController implements EventsApi {
                                 .body(resource);
                     })
                     .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (AdmissionRejectedException e) {
+            return tooManyRequests(e);
         } catch (NumberFormatException e) {
             log.error(INVALID_EVENT_ID_FORMAT, eventId);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
@@ -300,4 +415,53 @@ public class EventController implements EventsApi {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsParticipantIdMapPreviewGet(Long eventId, Long participantId, Integer width, String format) {
+        log.debug("Generating {} map preview ({} px) for participant {} in event ID: {}", format, width, participantId, eventId);
+        Optional<MapPreviewRenderer.Format> imageFormat = format != null ? MapPreviewRenderer.Format.of(format) : Optional.of(MapPreviewRenderer.Format.PNG);
+        int imageWidth = width != null ? width : 800;
+        if (imageFormat.isEmpty() || imageWidth < 100 || imageWidth > 2000) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return reportService.generateParticipantMapPreview(eventId, participantId, imageWidth, imageFormat.get())
+                    .map(image -> ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(imageFormat.get().getMediaType()))
+                            .body((Resource) new ByteArrayResource(image)))
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (Exception e) {
+            log.error("Error generating participant map preview: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsParticipantIdMapSvgGet(Long eventId, Long participantId) {
+        log.debug("Generating SVG map for participant {} in event ID: {}", participantId, eventId);
+        return svgResponse(() -> reportService.generateParticipantMapSvg(eventId, participantId));
+    }
+
+    @Override
+    public ResponseEntity<Resource> eventsEventIdParticipantsMapSvgGet(Long eventId) {
+        log.debug("Generating SVG map for event ID: {}", eventId);
+        return svgResponse(() -> reportService.generateEventMapSvg(eventId));
+    }
+
+    /**
+     * SVG maps are written in a single pass over the cached venue layout, so like previews they
+     * are not gated by report admission.
+     */
+    private ResponseEntity<Resource> svgResponse(Supplier<Optional<StreamingResource>> map) {
+        try {
+            return map.get()
+                    .map(svg -> ResponseEntity.ok()
+                            .contentType(MediaType.parseMediaType(SvgMapWriter.MEDIA_TYPE))
+                            .body((Resource) svg))
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (Exception e) {
+            log.error("Error generating SVG map: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,89 @@
+package dev.knightcore.proeventiq.controller;
+
+import dev.knightcore.proeventiq.api.controller.ReportJobsApi;
+import dev.knightcore.proeventiq.api.model.ReportJob;
+import dev.knightcore.proeventiq.api.model.ReportJobInput;
+import dev.knightcore.proeventiq.service.ReportJobService;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@Validated
+public class ReportJobController implements ReportJobsApi {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobController.class);
+
+    private final ReportJobService reportJobService;
+
+    public ReportJobController(ReportJobService reportJobService) {
+        this.reportJobService = reportJobService;
+    }
+
+    @Override
+    public ResponseEntity<ReportJob> createReportJob(@Valid ReportJobInput reportJobInput) {
+        log.info("Submitting {} report job for event ID: {}", reportJobInput.getType(), reportJobInput.getEventId());
+        try {
+            return reportJobService.submit(reportJobInput)
+                    .map(job -> ResponseEntity.status(HttpStatus.ACCEPTED).body(job))
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid report job input: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (Exception e) {
+            log.error("Error submitting report job: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<ReportJob> getReportJob(String jobId) {
+        log.debug("Getting report job {}", jobId);
+        return reportJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteReportJob(String jobId) {
+        log.info("Cancelling report job {}", jobId);
+        if (reportJobService.cancel(jobId)) {
+            return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
+        }
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+
+    @Override
+    public ResponseEntity<Resource> getReportJobArtifact(String jobId) {
+        log.info("Downloading artifact of report job {}", jobId);
+        try {
+            return reportJobService.getArtifact(jobId)
+                    .map(artifact -> {
+                        HttpHeaders headers = new HttpHeaders();
+                        headers.setContentType(artifact.mediaType());
+                        headers.set(HttpHeaders.CONTENT_DISPOSITION,
+                            "attachment; filename=" + artifact.fileName());
+
+                        Resource resource = new FileSystemResource(artifact.path());
+                        return ResponseEntity.ok()
+                                .headers(headers)
+                                .body(resource);
+                    })
+                    .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+        } catch (IllegalStateException e) {
+            log.debug("Artifact of report job {} not available: {}", jobId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+}
@@ -3,7 +3,11 @@ package dev.knightcore.proeventiq.controller;
 import dev.knightcore.proeventiq.api.controller.ReservationApi;
 import dev.knightcore.proeventiq.api.model.Reservation;
 import dev.knightcore.proeventiq.api.model.ReservationInput;
+import dev.knightcore.proeventiq.api.model.SeatAllocation;
+import dev.knightcore.proeventiq.api.model.SeatAllocationInput;
+import dev.knightcore.proeventiq.api.model.SeatSuggestion;
 import dev.knightcore.proeventiq.service.ReservationService;
+import dev.knightcore.proeventiq.service.SeatAllocationService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,9 +25,11 @@ public class ReservationController implements ReservationApi {
     private static final Logger log = LoggerFactory.getLogger(ReservationController.class);
 
     private final ReservationService reservationService;
+    private final SeatAllocationService seatAllocationService;
 
-    public ReservationController(ReservationService reservationService) {
+    public ReservationController(ReservationService reservationService, SeatAllocationService seatAllocationService) {
         this.reservationService = reservationService;
+        this.seatAllocationService = seatAllocationService;
     }
 
     @Override
@@ -65,4 +71,41 @@ public class ReservationController implements ReservationApi {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @Override
+    public ResponseEntity<SeatAllocation> allocateSeats(Long eventId, @Valid SeatAllocationInput seatAllocationInput) {
+        log.debug("Allocating seats for event ID: {}, commit: {}", eventId, seatAllocationInput.getCommit());
+        
+        try {
+            return seatAllocationService.allocateSeats(eventId, seatAllocationInput)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid input for seat allocation - Event ID: {}, Error: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            log.debug("Seat allocation of event {} not committed: {}", eventId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (Exception e) {
+            log.error("Error allocating seats for event {}: {}", eventId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<SeatSuggestion>> findBestSeats(Long eventId, Integer count, Long sectorId, String priceCategory, Integer limit) {
+        log.debug("Finding best {} seats for event ID: {}, sector: {}, price category: {}", count, eventId, sectorId, priceCategory);
+        
+        try {
+            return seatAllocationService.findBestSeats(eventId, count, sectorId, priceCategory, limit != null ? limit : 5)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid input for best seats search - Event ID: {}, Error: {}", eventId, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            log.error("Error finding best seats for event {}: {}", eventId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
@@ -0,0 +1,7 @@
+package dev.knightcore.proeventiq.dto;
+
+/**
+ * A reserved seat with the row and sector details printed on tickets, loaded in one query.
+ * Row and sector fields are null for seats that are not assigned to a row.
+ */
+public record ReservedSeatDto(Long participantId, Long seatId, Integer seatOrderNumber, String rowName, Integer rowOrderNumber, String sectorName) {}
@@ -2,6 +2,8 @@ package dev.knightcore.proeventiq.repository;
 
 import dev.knightcore.proeventiq.entity.ParticipantEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -13,4 +15,9 @@ public interface ParticipantRepository extends JpaRepository<ParticipantEntity,
     Optional<ParticipantEntity> findByParticipantIdAndEventId(Long participantId, Long eventId);
     void deleteByParticipantIdAndEventId(Long participantId, Long eventId);
     boolean existsByParticipantIdAndEventId(Long participantId, Long eventId);
+    boolean existsByEventId(Long eventId);
+
+    // IDs only, for validating many references to participants of an event at once
+    @Query("SELECT p.participantId FROM ParticipantEntity p WHERE p.eventId = :eventId")
+    List<Long> findParticipantIdsByEventId(@Param("eventId") Long eventId);
 }
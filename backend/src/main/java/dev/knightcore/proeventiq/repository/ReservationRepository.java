@@ -1,5 +1,6 @@
 package dev.knightcore.proeventiq.repository;
 
+import dev.knightcore.proeventiq.dto.ReservedSeatDto;
 import dev.knightcore.proeventiq.entity.ReservationEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -27,6 +28,25 @@ public interface ReservationRepository extends JpaRepository<ReservationEntity,
      */
     List<ReservationEntity> findByEventIdAndParticipantId(Long eventId, Long participantId);
     
+    /**
+     * Find the reserved seats of a participant with their row and sector names (single query)
+     */
+    @Query("SELECT new dev.knightcore.proeventiq.dto.ReservedSeatDto(r.participantId, s.seatId, s.orderNumber, " +
+           "sr.name, sr.orderNumber, sec.name) " +
+           "FROM ReservationEntity r JOIN r.seat s LEFT JOIN s.seatRow sr LEFT JOIN sr.sector sec " +
+           "WHERE r.eventId = :eventId AND r.participantId = :participantId ORDER BY s.seatId")
+    List<ReservedSeatDto> findReservedSeatsByEventIdAndParticipantId(@Param("eventId") Long eventId,
+                                                                     @Param("participantId") Long participantId);
+
+    /**
+     * Find the reserved seats of all participants of an event with their row and sector names (single query)
+     */
+    @Query("SELECT new dev.knightcore.proeventiq.dto.ReservedSeatDto(r.participantId, s.seatId, s.orderNumber, " +
+           "sr.name, sr.orderNumber, sec.name) " +
+           "FROM ReservationEntity r JOIN r.seat s LEFT JOIN s.seatRow sr LEFT JOIN sr.sector sec " +
+           "WHERE r.eventId = :eventId ORDER BY r.participantId, s.seatId")
+    List<ReservedSeatDto> findReservedSeatsByEventId(@Param("eventId") Long eventId);
+    
     /**
      * Find all reservations for a specific participant
      */
@@ -2,8 +2,12 @@ package dev.knightcore.proeventiq.repository;
 
 import dev.knightcore.proeventiq.entity.SeatBlockEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,4 +21,9 @@ public interface SeatBlockRepository extends JpaRepository<SeatBlockEntity, Long
     boolean existsByEventIdAndSeatId(Long eventId, Long seatId);
     
     void deleteByEventIdAndSeatId(Long eventId, Long seatId);
+
+    // Unblocks the given seats of an event in a single statement
+    @Modifying
+    @Query("DELETE FROM SeatBlockEntity b WHERE b.eventId = :eventId AND b.seatId IN :seatIds")
+    int deleteByEventIdAndSeatIds(@Param("eventId") Long eventId, @Param("seatIds") Collection<Long> seatIds);
 }
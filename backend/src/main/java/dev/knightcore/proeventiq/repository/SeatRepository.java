@@ -2,11 +2,24 @@ package dev.knightcore.proeventiq.repository;
 
 import dev.knightcore.proeventiq.entity.SeatEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface SeatRepository extends JpaRepository<SeatEntity, Long> {
     List<SeatEntity> findBySeatRow_SeatRowId(Long seatRowId);
+
+    // All seats of a venue with their rows and sectors in a single query, ordered by seat ID
+    @Query("SELECT s FROM SeatEntity s JOIN FETCH s.seatRow r JOIN FETCH r.sector sec " +
+           "WHERE sec.venue.venueId = :venueId ORDER BY s.seatId")
+    List<SeatEntity> findAllByVenueIdWithRowAndSector(@Param("venueId") Long venueId);
+
+    // Those of the given seat IDs that belong to the venue
+    @Query("SELECT s.seatId FROM SeatEntity s JOIN s.seatRow r JOIN r.sector sec " +
+           "WHERE sec.venue.venueId = :venueId AND s.seatId IN :seatIds")
+    List<Long> findSeatIdsInVenue(@Param("venueId") Long venueId, @Param("seatIds") Collection<Long> seatIds);
 }
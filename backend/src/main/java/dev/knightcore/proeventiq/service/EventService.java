@@ -36,6 +36,8 @@ public class EventService {
     private final VenueService venueService;
     private final ParticipantRepository participantRepository;
     private final KeycloakUserService keycloakUserService;
+    private final ReportPrerenderService reportPrerenderService;
+    private final SeatOccupancyIndex seatOccupancyIndex;
 
     public EventService(EventRepository eventRepository, 
                        ShowRepository showRepository,
@@ -43,7 +45,9 @@ public class EventService {
                        ShowService showService,
                        VenueService venueService,
                        ParticipantRepository participantRepository,
-                       KeycloakUserService keycloakUserService) {
+                       KeycloakUserService keycloakUserService,
+                       ReportPrerenderService reportPrerenderService,
+                       SeatOccupancyIndex seatOccupancyIndex) {
         this.eventRepository = eventRepository;
         this.showRepository = showRepository;
         this.venueRepository = venueRepository;
@@ -51,6 +55,8 @@ public class EventService {
         this.venueService = venueService;
         this.participantRepository = participantRepository;
         this.keycloakUserService = keycloakUserService;
+        this.reportPrerenderService = reportPrerenderService;
+        this.seatOccupancyIndex = seatOccupancyIndex;
     }
 
     @Transactional(readOnly = true)
@@ -121,6 +127,8 @@ public class EventService {
                     return null;
                 }
                 updateEventEntityFromInput(entity, input);
+                // The venue may have changed
+                seatOccupancyIndex.invalidate(eventId);
                 return toDto(eventRepository.save(entity));
             });
     }
@@ -133,6 +141,7 @@ public class EventService {
         Optional<EventEntity> entityOpt = eventRepository.findById(eventId);
         if (entityOpt.isPresent() && currentUsername.equals(entityOpt.get().getUserName())) {
             eventRepository.deleteById(eventId);
+            seatOccupancyIndex.invalidate(eventId);
             return true;
         }
         return false;
@@ -182,6 +191,7 @@ public class EventService {
         entity.setCreatedAt(LocalDateTime.now());
         entity.setUpdatedAt(LocalDateTime.now());
         ParticipantEntity saved = participantRepository.save(entity);
+        reportPrerenderService.participantsChanged(eventId, List.of(saved.getParticipantId()));
         return Optional.of(toParticipantDto(saved));
     }
 
@@ -209,6 +219,7 @@ public class EventService {
 
             entity.setUpdatedAt(LocalDateTime.now());
             ParticipantEntity saved = participantRepository.save(entity);
+            reportPrerenderService.participantsChanged(eventId, List.of(participantId));
             return toParticipantDto(saved);
         });
     }
@@ -218,6 +229,8 @@ public class EventService {
         log.info("Deleting participant {} from event {}", participantId, eventId);
         if (participantRepository.existsByParticipantIdAndEventId(participantId, eventId)) {
             participantRepository.deleteByParticipantIdAndEventId(participantId, eventId);
+            // Reservations of the participant go with it
+            seatOccupancyIndex.invalidate(eventId);
             return true;
         }
         return false;
@@ -0,0 +1,367 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.api.model.ReportJob;
+import dev.knightcore.proeventiq.api.model.ReportJobInput;
+import dev.knightcore.proeventiq.api.model.ReportJobType;
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Runs report generation in the background so that heavy reports do not occupy request threads.
+ * <p>
+ * Jobs are executed by a fixed number of workers fed from a bounded queue; when the queue is full
+ * new jobs are rejected. Artifacts are written to a local directory and downloaded from there.
+ * Finished jobs are kept for {@code app.report.jobs.retention} and then removed together with their
+ * artifacts. The job index itself lives in memory, leftovers of a previous run are removed at startup.
+ * Jobs are only visible to the user who submitted them.
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+    private static final String ARTIFACT_SUFFIX = ".artifact";
+    private static final String PART_SUFFIX = ".part";
+
+    public record ReportJobArtifact(Path path, String fileName, MediaType mediaType) {
+    }
+
+    private static final class JobState {
+        final String jobId = UUID.randomUUID().toString();
+        final Long eventId;
+        final Long participantId;
+        final ReportJobType type;
+        final String owner;
+        final String fileName;
+        final OffsetDateTime createdAt = OffsetDateTime.now();
+        volatile ReportJob.StatusEnum status = ReportJob.StatusEnum.QUEUED;
+        volatile int progressDone;
+        volatile int progressTotal;
+        volatile String errorMessage;
+        volatile OffsetDateTime finishedAt;
+        volatile Path artifact;
+        volatile Future<?> future;
+
+        JobState(Long eventId, Long participantId, ReportJobType type, String owner, String fileName) {
+            this.eventId = eventId;
+            this.participantId = participantId;
+            this.type = type;
+            this.owner = owner;
+            this.fileName = fileName;
+        }
+
+        boolean isFinished() {
+            return status != ReportJob.StatusEnum.QUEUED && status != ReportJob.StatusEnum.RUNNING;
+        }
+    }
+
+    private final ReportService reportService;
+    private final EventRepository eventRepository;
+    private final ParticipantRepository participantRepository;
+    private final KeycloakUserService keycloakUserService;
+    private final ReportProperties reportProperties;
+    private final ThreadPoolExecutor reportJobExecutor;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+
+    public ReportJobService(ReportService reportService,
+                            EventRepository eventRepository,
+                            ParticipantRepository participantRepository,
+                            KeycloakUserService keycloakUserService,
+                            ReportProperties reportProperties,
+                            @Qualifier("reportJobExecutor") ThreadPoolExecutor reportJobExecutor) {
+        this.reportService = reportService;
+        this.eventRepository = eventRepository;
+        this.participantRepository = participantRepository;
+        this.keycloakUserService = keycloakUserService;
+        this.reportProperties = reportProperties;
+        this.reportJobExecutor = reportJobExecutor;
+    }
+
+    @PostConstruct
+    void initDirectory() throws IOException {
+        Path directory = directory();
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*{" + ARTIFACT_SUFFIX + "," + PART_SUFFIX + "}")) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        log.info("Report job artifacts are stored in {}", directory);
+    }
+
+    /**
+     * Queues a new report job.
+     *
+     * @return the queued job, or empty if the event or participant does not exist
+     * @throws IllegalArgumentException if a single-participant report has no participant
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public Optional<ReportJob> submit(ReportJobInput input) {
+        Long eventId = input.getEventId();
+        Long participantId = input.getParticipantId();
+        ReportJobType type = input.getType();
+        boolean perParticipant = !isEventWide(type);
+        if (perParticipant && participantId == null) {
+            throw new IllegalArgumentException("participantId is required for report type " + type);
+        }
+
+        if (!eventRepository.existsById(eventId)) {
+            log.warn("Event with ID {} not found", eventId);
+            return Optional.empty();
+        }
+        if (perParticipant && !participantRepository.existsByParticipantIdAndEventId(participantId, eventId)) {
+            log.warn("Participant {} not found in event {}", participantId, eventId);
+            return Optional.empty();
+        }
+
+        JobState job = new JobState(eventId, perParticipant ? participantId : null, type,
+                keycloakUserService.getCurrentUserEmail().orElse(null), fileName(type, eventId, participantId));
+        jobs.put(job.jobId, job);
+        try {
+            // The job runs as the submitting user, the organizer on the tickets is resolved from it
+            job.future = reportJobExecutor.submit(new DelegatingSecurityContextRunnable(() -> run(job)));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.jobId);
+            log.warn("Report job queue is full, rejecting {} job for event {}", type, eventId);
+            throw e;
+        }
+        log.info("Queued report job {} ({}) for event {}", job.jobId, type, eventId);
+        return Optional.of(toDto(job));
+    }
+
+    public Optional<ReportJob> getJob(String jobId) {
+        return findOwnJob(jobId).map(this::toDto);
+    }
+
+    /**
+     * Cancels a queued or running job, or discards a finished job and its artifact.
+     *
+     * @return false if the job does not exist
+     */
+    public boolean cancel(String jobId) {
+        Optional<JobState> jobOpt = findOwnJob(jobId);
+        if (jobOpt.isEmpty()) {
+            return false;
+        }
+        JobState job = jobOpt.get();
+        synchronized (job) {
+            if (!job.isFinished()) {
+                job.status = ReportJob.StatusEnum.CANCELLED;
+                job.finishedAt = OffsetDateTime.now();
+                if (job.future != null) {
+                    job.future.cancel(true);
+                    // Frees the queue slot of a job that has not started yet
+                    reportJobExecutor.purge();
+                }
+                log.info("Cancelled report job {}", jobId);
+                // Stays listed as cancelled until cleanup; a running job removes its partial file itself
+                return true;
+            }
+        }
+        discard(job);
+        log.info("Discarded report job {}", jobId);
+        return true;
+    }
+
+    /**
+     * @return the artifact of a completed job, or empty if the job does not exist
+     * @throws IllegalStateException if the job has not completed successfully
+     */
+    public Optional<ReportJobArtifact> getArtifact(String jobId) {
+        Optional<JobState> jobOpt = findOwnJob(jobId);
+        if (jobOpt.isEmpty()) {
+            return Optional.empty();
+        }
+        JobState job = jobOpt.get();
+        if (job.status != ReportJob.StatusEnum.COMPLETED) {
+            throw new IllegalStateException("Report job " + jobId + " is " + job.status);
+        }
+        if (job.artifact == null || !Files.exists(job.artifact)) {
+            return Optional.empty();
+        }
+        MediaType mediaType = isArchive(job.type)
+                ? MediaType.parseMediaType("application/zip") : MediaType.APPLICATION_PDF;
+        return Optional.of(new ReportJobArtifact(job.artifact, job.fileName, mediaType));
+    }
+
+    /**
+     * Removes finished jobs older than the configured retention together with their artifacts.
+     */
+    @Scheduled(fixedDelayString = "${app.report.jobs.cleanup-interval:PT5M}")
+    public void purgeExpiredJobs() {
+        OffsetDateTime threshold = OffsetDateTime.now().minus(reportProperties.getJobs().getRetention());
+        int purged = 0;
+        for (JobState job : jobs.values()) {
+            if (job.isFinished() && job.finishedAt != null && job.finishedAt.isBefore(threshold)) {
+                discard(job);
+                purged++;
+            }
+        }
+        if (purged > 0) {
+            log.info("Purged {} expired report jobs", purged);
+        }
+    }
+
+    private void run(JobState job) {
+        synchronized (job) {
+            if (job.status != ReportJob.StatusEnum.QUEUED) {
+                return;
+            }
+            job.status = ReportJob.StatusEnum.RUNNING;
+        }
+        log.debug("Starting report job {} ({}) for event {}", job.jobId, job.type, job.eventId);
+        Path part = directory().resolve(job.jobId + PART_SUFFIX);
+        try {
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(part))) {
+                writeReport(job, out);
+            }
+            Path artifact = Files.move(part, directory().resolve(job.jobId + ARTIFACT_SUFFIX), StandardCopyOption.REPLACE_EXISTING);
+            synchronized (job) {
+                if (job.status == ReportJob.StatusEnum.RUNNING) {
+                    job.artifact = artifact;
+                    job.status = ReportJob.StatusEnum.COMPLETED;
+                    job.finishedAt = OffsetDateTime.now();
+                    log.info("Report job {} completed", job.jobId);
+                    return;
+                }
+            }
+            // Cancelled just as it finished
+            Files.deleteIfExists(artifact);
+        } catch (Exception e) {
+            deleteQuietly(part);
+            synchronized (job) {
+                if (job.status == ReportJob.StatusEnum.RUNNING) {
+                    job.status = ReportJob.StatusEnum.FAILED;
+                    job.errorMessage = e.getMessage();
+                    job.finishedAt = OffsetDateTime.now();
+                    log.error("Report job {} failed: {}", job.jobId, e.getMessage(), e);
+                } else {
+                    log.info("Report job {} stopped after cancellation", job.jobId);
+                }
+            }
+        } finally {
+            // Don't let a cancellation interrupt leak into the next job on this worker
+            Thread.interrupted();
+        }
+    }
+
+    private void writeReport(JobState job, OutputStream out) throws IOException {
+        switch (job.type) {
+            case TICKETS_ZIP -> reportService.writeAllParticipantTicketsZip(job.eventId, out, (done, total) -> {
+                job.progressDone = done;
+                job.progressTotal = total;
+            });
+            case MAPS_ZIP -> reportService.writeAllParticipantMapsZip(job.eventId, out, (done, total) -> {
+                job.progressDone = done;
+                job.progressTotal = total;
+            });
+            case DOCUMENTS_ZIP -> reportService.writeAllParticipantDocumentsZip(job.eventId, out, (done, total) -> {
+                job.progressDone = done;
+                job.progressTotal = total;
+            });
+            case TICKETS_PDF -> reportService.writeAllParticipantTicketsPdf(job.eventId, out, (done, total) -> {
+                job.progressDone = done;
+                job.progressTotal = total;
+            });
+            case PARTICIPANT_TICKET -> {
+                job.progressTotal = 1;
+                out.write(reportService.generateParticipantTicket(job.eventId, job.participantId)
+                        .orElseThrow(() -> new IOException("Ticket could not be generated")));
+                job.progressDone = 1;
+            }
+            case PARTICIPANT_MAP -> {
+                job.progressTotal = 1;
+                out.write(reportService.generateParticipantMap(job.eventId, job.participantId)
+                        .orElseThrow(() -> new IOException("Map could not be generated")));
+                job.progressDone = 1;
+            }
+        }
+    }
+
+    private String fileName(ReportJobType type, Long eventId, Long participantId) {
+        return switch (type) {
+            case TICKETS_ZIP -> reportService.generateParticipantTicketsZipFilename(eventId);
+            case MAPS_ZIP -> reportService.generateParticipantMapsZipFilename(eventId);
+            case DOCUMENTS_ZIP -> reportService.generateParticipantDocumentsZipFilename(eventId);
+            case TICKETS_PDF -> reportService.generateParticipantTicketsPdfFilename(eventId);
+            case PARTICIPANT_TICKET -> reportService.generateParticipantTicketFilename(eventId, participantId);
+            case PARTICIPANT_MAP -> reportService.generateParticipantMapFilename(eventId, participantId);
+        };
+    }
+
+    private static boolean isArchive(ReportJobType type) {
+        return type == ReportJobType.TICKETS_ZIP || type == ReportJobType.MAPS_ZIP || type == ReportJobType.DOCUMENTS_ZIP;
+    }
+
+    private static boolean isEventWide(ReportJobType type) {
+        return isArchive(type) || type == ReportJobType.TICKETS_PDF;
+    }
+
+    private Optional<JobState> findOwnJob(String jobId) {
+        JobState job = jobs.get(jobId);
+        if (job == null || !Objects.equals(job.owner, keycloakUserService.getCurrentUserEmail().orElse(null))) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    private void discard(JobState job) {
+        jobs.remove(job.jobId);
+        if (job.artifact != null) {
+            deleteQuietly(job.artifact);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete report job file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private Path directory() {
+        return reportProperties.getJobs().getDirectory();
+    }
+
+    private ReportJob toDto(JobState job) {
+        ReportJob dto = new ReportJob();
+        dto.setJobId(job.jobId);
+        dto.setEventId(job.eventId);
+        dto.setParticipantId(job.participantId);
+        dto.setType(job.type);
+        dto.setStatus(job.status);
+        dto.setProgressDone(job.progressDone);
+        dto.setProgressTotal(job.progressTotal);
+        dto.setFileName(job.fileName);
+        dto.setErrorMessage(job.errorMessage);
+        dto.setCreatedAt(job.createdAt);
+        dto.setFinishedAt(job.finishedAt);
+        return dto;
+    }
+}
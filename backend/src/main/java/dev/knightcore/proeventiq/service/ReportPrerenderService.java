@@ -0,0 +1,136 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.service.report.ReportAdmission;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.security.concurrent.DelegatingSecurityContextRunnable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders tickets and maps into the report cache in the background once the reservations and
+ * participants of an event have settled, so that the downloads that usually follow a round of
+ * edits are served from the cache.
+ * <p>
+ * Changes are collected per event: every change adds the affected participants and restarts the
+ * {@code app.report.prerender.quiet-period}, so a burst of edits leads to a single pass over the
+ * participants changed by any of them. Passes run on a single low-priority thread, as the user
+ * who made the last change (the organizer on the documents is resolved from it), and yield to
+ * reports generated for requests: a pass only renders while {@link ReportAdmission#isIdle()} holds
+ * and retries the rest after {@code retry-delay}.
+ */
+@Service
+public class ReportPrerenderService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportPrerenderService.class);
+
+    /**
+     * Participants of an event waiting for a pass, and the pass scheduled for them.
+     */
+    private static final class Pending {
+        private final Set<Long> participantIds;
+        private final ScheduledFuture<?> future;
+
+        private Pending(Set<Long> participantIds, ScheduledFuture<?> future) {
+            this.participantIds = participantIds;
+            this.future = future;
+        }
+    }
+
+    private final ReportService reportService;
+    private final ReportAdmission reportAdmission;
+    private final ReportProperties.Prerender properties;
+    private final ScheduledExecutorService reportPrerenderExecutor;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    public ReportPrerenderService(ReportService reportService,
+                                  ReportAdmission reportAdmission,
+                                  ReportProperties reportProperties,
+                                  @Qualifier("reportPrerenderExecutor") ScheduledExecutorService reportPrerenderExecutor) {
+        this.reportService = reportService;
+        this.reportAdmission = reportAdmission;
+        this.properties = reportProperties.getPrerender();
+        this.reportPrerenderExecutor = reportPrerenderExecutor;
+    }
+
+    /**
+     * Records that the documents of some participants of an event changed. Inside a transaction,
+     * the change only counts once the transaction commits.
+     */
+    public void participantsChanged(Long eventId, Collection<Long> participantIds) {
+        if (!properties.isEnabled() || eventId == null) {
+            return;
+        }
+        Set<Long> changed = new HashSet<>(participantIds);
+        changed.remove(null);
+        if (changed.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(eventId, changed, properties.getQuietPeriod());
+                }
+            });
+        } else {
+            schedule(eventId, changed, properties.getQuietPeriod());
+        }
+    }
+
+    /**
+     * Adds the participants to the pending pass of the event and (re)starts its delay.
+     */
+    private void schedule(Long eventId, Set<Long> participantIds, Duration delay) {
+        pending.compute(eventId, (id, previous) -> {
+            Set<Long> merged = new HashSet<>(participantIds);
+            if (previous != null) {
+                previous.future.cancel(false);
+                merged.addAll(previous.participantIds);
+            }
+            // Runs as the user who made the change, so the cached documents are the ones they download
+            Runnable pass = new DelegatingSecurityContextRunnable(() -> prerender(eventId));
+            try {
+                return new Pending(merged, reportPrerenderExecutor.schedule(pass, delay.toMillis(), TimeUnit.MILLISECONDS));
+            } catch (RejectedExecutionException e) {
+                log.debug("Not pre-rendering documents of event {}, executor is shut down", eventId);
+                return null;
+            }
+        });
+    }
+
+    private void prerender(Long eventId) {
+        // The pass takes over whatever is pending; changes arriving meanwhile schedule the next one
+        Pending current = pending.remove(eventId);
+        if (current == null) {
+            return;
+        }
+        Set<Long> remaining = current.participantIds;
+        try {
+            if (reportAdmission.isIdle()) {
+                log.debug("Pre-rendering documents of {} participants of event {}", remaining.size(), eventId);
+                remaining = reportService.prerenderParticipantDocuments(eventId, remaining, reportAdmission::isIdle);
+            }
+        } catch (Exception e) {
+            log.error("Error pre-rendering documents of event {}: {}", eventId, e.getMessage(), e);
+            return;
+        }
+        if (!remaining.isEmpty() && !Thread.currentThread().isInterrupted()) {
+            schedule(eventId, remaining, properties.getRetryDelay());
+        }
+    }
+}
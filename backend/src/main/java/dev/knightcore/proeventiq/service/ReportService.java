@@ -1,12 +1,11 @@
 package dev.knightcore.proeventiq.service;
 
 import dev.knightcore.proeventiq.api.model.Event;
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.dto.ReservedSeatDto;
 import dev.knightcore.proeventiq.entity.EventEntity;
 import dev.knightcore.proeventiq.entity.ParticipantEntity;
 import dev.knightcore.proeventiq.entity.ReservationEntity;
-import dev.knightcore.proeventiq.entity.SeatEntity;
-import dev.knightcore.proeventiq.entity.SeatRowEntity;
-import dev.knightcore.proeventiq.entity.SectorEntity;
 import dev.knightcore.proeventiq.entity.ShowEntity;
 import dev.knightcore.proeventiq.entity.UserEntity;
 import dev.knightcore.proeventiq.entity.VenueEntity;
@@ -17,42 +16,63 @@ import dev.knightcore.proeventiq.repository.UserRepository;
 import dev.knightcore.proeventiq.repository.VenueRepository;
 import dev.knightcore.proeventiq.repository.ReservationRepository;
 import dev.knightcore.proeventiq.repository.SeatRepository;
+import dev.knightcore.proeventiq.service.report.MapPreviewRenderer;
+import dev.knightcore.proeventiq.service.report.MapTemplateCache;
+import dev.knightcore.proeventiq.service.report.PdfTemplate;
+import dev.knightcore.proeventiq.service.report.PreparedImage;
+import dev.knightcore.proeventiq.service.report.ReportFontRegistry;
+import dev.knightcore.proeventiq.service.report.RenderedReportCache;
+import dev.knightcore.proeventiq.service.report.ReportFingerprint;
+import dev.knightcore.proeventiq.service.report.ReportFonts;
+import dev.knightcore.proeventiq.service.report.ReportImageCache;
+import dev.knightcore.proeventiq.service.report.ReportProgressListener;
+import dev.knightcore.proeventiq.service.report.StreamingResource;
+import dev.knightcore.proeventiq.service.report.SvgMapWriter;
+import dev.knightcore.proeventiq.service.report.TextLayout;
+import dev.knightcore.proeventiq.service.report.VenueGeometry;
+import dev.knightcore.proeventiq.service.report.VenueGeometry.SectorGeometry;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
-import org.apache.pdfbox.pdmodel.font.PDType0Font;
 import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
-import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import javax.imageio.ImageIO;
 import javax.imageio.spi.IIORegistry;
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import org.apache.batik.transcoder.TranscoderInput;
-import org.apache.batik.transcoder.TranscoderException;
-import org.apache.batik.transcoder.TranscoderOutput;
-import org.apache.batik.transcoder.image.PNGTranscoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StreamUtils;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.HashSet;
-import java.util.LinkedHashSet;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.zip.CRC32;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
 import java.util.zip.ZipOutputStream;
 
 @Service
@@ -60,6 +80,8 @@ public class ReportService {
     
     private static final Logger log = LoggerFactory.getLogger(ReportService.class);
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final int MAX_TICKET_FONT_SIZE = 11;
+    private static final int MIN_TICKET_FONT_SIZE = 6;
     
     // Static initializer to ensure ImageIO plugins (including WebP) are discovered
     static {
@@ -80,6 +102,16 @@ public class ReportService {
     private final SeatRepository seatRepository;
     private final UserRepository userRepository;
     private final KeycloakUserService keycloakUserService;
+    private final ReportFontRegistry fontRegistry;
+    private final ReportProperties reportProperties;
+    private final ExecutorService reportRenderExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final RenderedReportCache renderedReportCache;
+    private final ReportImageCache reportImageCache;
+    private final VenueGeometryCache venueGeometryCache;
+    private final MapTemplateCache mapTemplateCache;
+    private final MapPreviewRenderer mapPreviewRenderer;
+    private final TextLayout textLayout = new TextLayout(text -> replacePolishCharacters(sanitizeText(text)));
     
     public ReportService(EventRepository eventRepository,
                         ParticipantRepository participantRepository,
@@ -88,7 +120,16 @@ public class ReportService {
                         ReservationRepository reservationRepository,
                         SeatRepository seatRepository,
                         UserRepository userRepository,
-                        KeycloakUserService keycloakUserService) {
+                        KeycloakUserService keycloakUserService,
+                        ReportFontRegistry fontRegistry,
+                        ReportProperties reportProperties,
+                        @Qualifier("reportRenderExecutor") ExecutorService reportRenderExecutor,
+                        PlatformTransactionManager transactionManager,
+                        RenderedReportCache renderedReportCache,
+                        ReportImageCache reportImageCache,
+                        VenueGeometryCache venueGeometryCache,
+                        MapTemplateCache mapTemplateCache,
+                        MapPreviewRenderer mapPreviewRenderer) {
         this.eventRepository = eventRepository;
         this.participantRepository = participantRepository;
         this.showRepository = showRepository;
@@ -97,6 +138,16 @@ public class ReportService {
         this.seatRepository = seatRepository;
         this.userRepository = userRepository;
         this.keycloakUserService = keycloakUserService;
+        this.fontRegistry = fontRegistry;
+        this.reportProperties = reportProperties;
+        this.reportRenderExecutor = reportRenderExecutor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.renderedReportCache = renderedReportCache;
+        this.reportImageCache = reportImageCache;
+        this.venueGeometryCache = venueGeometryCache;
+        this.mapTemplateCache = mapTemplateCache;
+        this.mapPreviewRenderer = mapPreviewRenderer;
     }
 
     private static class PageState {
@@ -197,22 +248,10 @@ public class ReportService {
             ShowEntity show = showOpt.get();
             VenueEntity venue = venueOpt.get();
             
-            // Fetch current user (organizer) information from Keycloak and user_details table
-            UserEntity organizer = null;
-            Optional<String> currentUserEmail = keycloakUserService.getCurrentUserEmail();
-            if (currentUserEmail.isPresent()) {
-                Optional<UserEntity> organizerOpt = userRepository.findByEmail(currentUserEmail.get());
-                if (organizerOpt.isPresent()) {
-                    organizer = organizerOpt.get();
-                } else {
-                    log.warn("Organizer not found in user_details table for email: {}", currentUserEmail.get());
-                }
-            } else {
-                log.warn("Could not retrieve current user email from Keycloak");
-            }
+            UserEntity organizer = resolveOrganizer();
             
             // Generate PDF
-            byte[] pdfBytes = createPdfTicket(event, participant, show, venue, organizer);
+            byte[] pdfBytes = renderTicketCached(prepareTicketData(event, participant, show, venue, organizer));
             return Optional.of(pdfBytes);
             
         } catch (Exception e) {
@@ -222,6 +261,115 @@ public class ReportService {
     }
     
 
+    /**
+     * Fetches current user (organizer) information from Keycloak and user_details table.
+     * Must be called on the request thread, as the Keycloak lookup relies on the security context.
+     */
+    private UserEntity resolveOrganizer() {
+        Optional<String> currentUserEmail = keycloakUserService.getCurrentUserEmail();
+        if (currentUserEmail.isEmpty()) {
+            log.warn("Could not retrieve current user email from Keycloak");
+            return null;
+        }
+        Optional<UserEntity> organizerOpt = userRepository.findByEmail(currentUserEmail.get());
+        if (organizerOpt.isEmpty()) {
+            log.warn("Organizer not found in user_details table for email: {}", currentUserEmail.get());
+        }
+        return organizerOpt.orElse(null);
+    }
+
+    /**
+     * Everything needed to render a single ticket. Built inside the transaction, so rendering
+     * itself never touches the database or lazy associations and can run on any thread.
+     */
+    private record TicketData(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue,
+                              UserEntity organizer,
+                              java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped,
+                              java.util.Set<String> sectorNames) {
+    }
+
+    private TicketData prepareTicketData(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue, UserEntity organizer) {
+        List<ReservedSeatDto> seats = reservationRepository.findReservedSeatsByEventIdAndParticipantId(event.getEventId(), participant.getParticipantId());
+        return prepareTicketData(event, participant, show, venue, organizer, seats);
+    }
+
+    private TicketData prepareTicketData(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue, UserEntity organizer,
+                                         List<ReservedSeatDto> seats) {
+        java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped = new java.util.TreeMap<>();
+        java.util.Set<String> sectorNames = new java.util.TreeSet<>();
+        for (ReservedSeatDto seat : seats) {
+            String rawSectorName = seat.sectorName() != null ? seat.sectorName() : "?";
+            sectorNames.add(rawSectorName);
+            String sectorName = "sektor " + rawSectorName;
+
+            String rowNameStr = seat.rowName() != null ? seat.rowName() :
+                             (seat.rowOrderNumber() != null ? String.valueOf(seat.rowOrderNumber()) : "?");
+            RowKey rowKey = new RowKey(rowNameStr, seat.rowOrderNumber());
+
+            grouped.computeIfAbsent(sectorName, k -> new java.util.TreeMap<>());
+            grouped.get(sectorName).computeIfAbsent(rowKey, k -> new java.util.ArrayList<>()).add(seat.seatOrderNumber());
+        }
+        return new TicketData(event, participant, show, venue, organizer, grouped, sectorNames);
+    }
+
+    /**
+     * Fingerprint of everything that ends up on a ticket; equal fingerprints render to the same PDF.
+     */
+    private String ticketFingerprint(TicketData data) {
+        ReportFingerprint fingerprint = ReportFingerprint.of("ticket");
+        addEventShowVenue(fingerprint, data.event(), data.show(), data.venue());
+        addParticipant(fingerprint, data.participant());
+        addOrganizer(fingerprint, data.organizer());
+        data.grouped().forEach((sectorName, rows) -> {
+            fingerprint.add(sectorName).add(rows.size());
+            rows.forEach((rowKey, seatNumbers) -> {
+                fingerprint.add(rowKey.name).add(rowKey.orderNumber).add(seatNumbers.size());
+                seatNumbers.forEach(fingerprint::add);
+            });
+        });
+        data.sectorNames().forEach(fingerprint::add);
+        return fingerprint.build();
+    }
+
+    private byte[] renderTicketCached(TicketData data) throws IOException {
+        String key = ticketFingerprint(data);
+        Optional<byte[]> cached = renderedReportCache.get(key);
+        if (cached.isPresent()) {
+            log.debug("Serving ticket for participant {} from cache", data.participant().getParticipantId());
+            return cached.get();
+        }
+        byte[] pdf = createPdfTicket(data);
+        renderedReportCache.put(key, pdf);
+        return pdf;
+    }
+
+    /**
+     * Images are added by their content hash, which {@link ReportImageCache} computes once per loaded
+     * entity, so the uploads are not hashed again for every document of a batch.
+     */
+    private void addEventShowVenue(ReportFingerprint fingerprint, EventEntity event, ShowEntity show, VenueEntity venue) {
+        fingerprint.add(event.getEventId()).add(event.getDateTime()).add(event.getTicketDescription())
+                .add(show.getShowId()).add(show.getName())
+                .add(reportImageCache.contentHash(showImageOwner(show), show.getThumbnail()))
+                .add(venue.getVenueId()).add(venue.getName()).add(venue.getAddress()).add(venue.getCity())
+                .add(venue.getCountry()).add(venue.getWidth()).add(venue.getHeight());
+    }
+
+    private void addParticipant(ReportFingerprint fingerprint, ParticipantEntity participant) {
+        fingerprint.add(participant.getParticipantId()).add(participant.getName()).add(participant.getAddress())
+                .add(participant.getSeatColor()).add(participant.getChildrenTicketCount())
+                .add(participant.getGuardianTicketCount());
+    }
+
+    private void addOrganizer(ReportFingerprint fingerprint, UserEntity organizer) {
+        if (organizer == null) {
+            fingerprint.add((String) null);
+            return;
+        }
+        fingerprint.add(organizer.getId()).add(organizer.getName())
+                .add(reportImageCache.contentHash(organizerImageOwner(organizer), organizer.getThumbnail()));
+    }
+
     private float calculateTextHeight(String text, float width, PDFont font, int fontSize, float lineHeight) {
         if (text == null) return 0;
         String[] paragraphs = text.split("\\r?\\n");
@@ -231,251 +379,205 @@ public class ReportService {
                  totalHeight += lineHeight;
                  continue;
              }
-             String[] lines = wrapText(paragraph, width, font, fontSize);
-             totalHeight += lines.length * lineHeight;
+             List<String> lines = wrapText(paragraph, width, font, fontSize);
+             totalHeight += lines.size() * lineHeight;
         }
         return totalHeight;
     }
 
-    private byte[] createPdfTicket(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue, UserEntity organizer) throws IOException {
+    private byte[] createPdfTicket(TicketData data) throws IOException {
         try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            try {
-                // Set up fonts
-                PDFont headerFont;
-                PDFont bodyFont;
-                PDFont serifFont;
-                PDFont serifBoldFont;
-                
-                try {
-                    // Te pliki muszą być w src/main/resources/fonts/
-                    bodyFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-regular.ttf"));
-                    headerFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-bold.ttf"));
-                    serifFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/ptserif-regular.ttf"));
-                    serifBoldFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/ptserif-bold.ttf"));
-                    
-                    log.info("Załadowano czcionki Arimo i PT Serif z zasobów - raport będzie wyglądał wszędzie tak samo.");
-                } catch (Exception e) {
-                    log.error("Nie znaleziono czcionek w zasobach! Powrót do standardów.");
-                    bodyFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
-                    headerFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
-                    serifFont = new PDType1Font(Standard14Fonts.FontName.TIMES_ROMAN);
-                    serifBoldFont = new PDType1Font(Standard14Fonts.FontName.TIMES_BOLD);
-                }
+            addTicketPages(document, fontRegistry.forDocument(document), new HashMap<>(), data);
 
-                float pageWidth = page.getMediaBox().getWidth();
-                float pageHeight = page.getMediaBox().getHeight();
-                float margin = 50;
+            // Convert to byte array
+            ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            document.save(baos);
+            return baos.toByteArray();
+        }
+    }
 
-                // --- Prepare Data ---
-                String ticketDescription = event.getTicketDescription();
-                if (ticketDescription == null || ticketDescription.trim().isEmpty()) {
-                     java.time.format.DateTimeFormatter dateFormatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy");
-                     java.time.format.DateTimeFormatter timeFormatter = java.time.format.DateTimeFormatter.ofPattern("HH:mm");
-                     String dateStr = event.getDateTime().format(dateFormatter);
-                     String timeStr = event.getDateTime().format(timeFormatter);
-                     
-                     ticketDescription = "Poniżej przesyłamy informacje dotyczące przedstawienia pt. \"" + show.getName() + "\".\n" +
-                                       "Data: " + dateStr + " godz. " + timeStr + "\n" +
-                                       "Miejsce: " + venue.getName() + "\n" +
-                                       "Adres: " + venue.getAddress()+ ", " + venue.getCity() + ", " + venue.getCountry() + "\n";
-                }
+    /**
+     * Adds the pages of one ticket to the end of {@code document}, drawn with the document's fonts.
+     * Images are taken from and added to {@code images}, the images already embedded in the document.
+     */
+    private void addTicketPages(PDDocument document, ReportFonts fonts, Map<PreparedImage, PDImageXObject> images,
+                                TicketData data) throws IOException {
+        EventEntity event = data.event();
+        ParticipantEntity participant = data.participant();
+        ShowEntity show = data.show();
+        VenueEntity venue = data.venue();
+        UserEntity organizer = data.organizer();
+        java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped = data.grouped();
+        java.util.Set<String> sectorNames = data.sectorNames();
+
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+        
+        PDPageContentStream contentStream = new PDPageContentStream(document, page);
+        try {
+            PDFont bodyFont = fonts.body();
+            PDFont serifFont = fonts.serif();
+            PDFont serifBoldFont = fonts.serifBold();
 
-                String[] footerNotes = {
-                    "- na dole strony załączamy bilet wstępu",
-                    "- szczegółowy wykaz rzędów oraz miejsc na widowni dla Państwa grupy znajduje się nad biletem",
-                    "- prosimy o wydrukowanie biletu wraz z powyższymi informacjami i zabranie ze sobą na miejsce",                    
-                };
-                
-                // Prepare data for seats section
-                java.util.List<dev.knightcore.proeventiq.entity.ReservationEntity> reservations = reservationRepository.findByEventIdAndParticipantId(event.getEventId(), participant.getParticipantId());
-                java.util.Map<Long, dev.knightcore.proeventiq.entity.SeatEntity> seatMap = new java.util.HashMap<>();
-                for (var res : reservations) {
-                    seatRepository.findById(res.getSeatId()).ifPresent(s -> seatMap.put(s.getSeatId(), s));
-                }
-                
-                java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped = new java.util.TreeMap<>();
-                java.util.Set<String> sectorNames = new java.util.TreeSet<>();
-                for (var seat : seatMap.values()) {
-                    var row = seat.getSeatRow();
-                    var sector = (row != null) ? row.getSector() : null;
-                    String rawSectorName = (sector != null && sector.getName() != null) ? sector.getName() : "?";
-                    sectorNames.add(rawSectorName);
-                    String sectorName = "sektor " + rawSectorName;
-                    
-                    String rowNameStr = (row != null && row.getName() != null) ? row.getName() : 
-                                     ((row != null && row.getOrderNumber() != null) ? String.valueOf(row.getOrderNumber()) : "?");
-                    Integer rowOrder = (row != null) ? row.getOrderNumber() : null;
-                    RowKey rowKey = new RowKey(rowNameStr, rowOrder);
-                    
-                    grouped.computeIfAbsent(sectorName, k -> new java.util.TreeMap<>());
-                    grouped.get(sectorName).computeIfAbsent(rowKey, k -> new java.util.ArrayList<>()).add(seat.getOrderNumber());
-                }
+            float pageWidth = page.getMediaBox().getWidth();
+            float pageHeight = page.getMediaBox().getHeight();
+            float margin = 50;
+
+            // --- Prepare Data ---
+            String ticketDescription = event.getTicketDescription();
+            if (ticketDescription == null || ticketDescription.trim().isEmpty()) {
+                 java.time.format.DateTimeFormatter dateFormatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy");
+                 java.time.format.DateTimeFormatter timeFormatter = java.time.format.DateTimeFormatter.ofPattern("HH:mm");
+                 String dateStr = event.getDateTime().format(dateFormatter);
+                 String timeStr = event.getDateTime().format(timeFormatter);
+                 
+                 ticketDescription = "Poniżej przesyłamy informacje dotyczące przedstawienia pt. \"" + show.getName() + "\".\n" +
+                                   "Data: " + dateStr + " godz. " + timeStr + "\n" +
+                                   "Miejsce: " + venue.getName() + "\n" +
+                                   "Adres: " + venue.getAddress()+ ", " + venue.getCity() + ", " + venue.getCountry() + "\n";
+            }
 
-                // --- Calculate Font Size ---
-                int currentFontSize = 11;
-                float currentLineHeight = 15;
-                float footerHeight = 215f;
-    
-                float safetyGap = 20;
-                float contentWidth = pageWidth - 2 * margin;
-
-                // Max available vertical space for content (excluding footer)
-                float maxContentHeight = pageHeight - margin - footerHeight - safetyGap;
-
-                // Try sizes 11 down to 6
-                for (int size = 11; size >= 6; size--) {
-                     float lh = (size == 11) ? 15 : (size * 1.4f); // heuristic
-                     
-                     float usedHeight = lh * 2; // "Szanowni Państwo" (using dynamic lineHeight spacing)
-                     
-                     usedHeight += calculateTextHeight(ticketDescription, contentWidth, serifFont, size, lh);
-                     usedHeight += 8 + lh; // Spacing before footer notes
-                     
-                     for(String note : footerNotes) {
-                         usedHeight += calculateTextHeight(note, contentWidth, serifFont, size, lh);
-                     }
-                     usedHeight += lh; // spacing
-                     usedHeight += lh * 2; // "Dziękujemy"
-                     
-                     // Seats
-                     float seatsH = calculateSeatsBlockHeight(grouped, bodyFont, lh, pageWidth - 40, size);
-                     usedHeight += seatsH + lh; // + spacing
-                     
-                     if (usedHeight <= maxContentHeight) {
-                         currentFontSize = size;
-                         currentLineHeight = lh;
-                         break;
-                     }
-                     
-                     // If still doesn't fit at 6, we use 6 and let it span pages
-                     if (size == 6) {
-                         currentFontSize = 6;
-                         currentLineHeight = 6 * 1.4f;
-                     }
+            String[] footerNotes = {
+                "- na dole strony załączamy bilet wstępu",
+                "- szczegółowy wykaz rzędów oraz miejsc na widowni dla Państwa grupy znajduje się nad biletem",
+                "- prosimy o wydrukowanie biletu wraz z powyższymi informacjami i zabranie ze sobą na miejsce",                    
+            };
+            
+            // --- Calculate Font Size ---
+            float footerHeight = 215f;
+
+            float safetyGap = 20;
+            float contentWidth = pageWidth - 2 * margin;
+            List<SeatsColumn> seatsColumns = seatsColumns(grouped);
+
+            // Max available vertical space for content (excluding footer)
+            float maxContentHeight = pageHeight - margin - footerHeight - safetyGap;
+
+            // The content gets shorter with the font size, so the largest size from 11 down to 6 that
+            // fits is found by bisection. If it doesn't fit even at 6, we use 6 and let it span pages
+            int currentFontSize = MIN_TICKET_FONT_SIZE;
+            int low = MIN_TICKET_FONT_SIZE;
+            int high = MAX_TICKET_FONT_SIZE;
+            while (low <= high) {
+                int size = (low + high) >>> 1;
+                if (ticketContentHeight(ticketDescription, footerNotes, seatsColumns, fonts, contentWidth, pageWidth, size) <= maxContentHeight) {
+                    currentFontSize = size;
+                    low = size + 1;
+                } else {
+                    high = size - 1;
                 }
-                
-                // --- Render with Calculated Font ---
-                float yPosition = pageHeight - margin;
-                float lineHeight = currentLineHeight;
-                int fontSize = currentFontSize;
+            }
+            
+            // --- Render with Calculated Font ---
+            float yPosition = pageHeight - margin;
+            float lineHeight = ticketLineHeight(currentFontSize);
+            int fontSize = currentFontSize;
 
-                // --- 1. Top Description Text ---
-                
-                contentStream.setFont(serifFont, 14); // Header
-                // Center "Szanowni Państwo"
-                float szanHeaderWidth = serifFont.getStringWidth("Szanowni Państwo") / 1000f * 14;
-                float szanHeaderX = (pageWidth - szanHeaderWidth) / 2;
-                contentStream.beginText();
-                contentStream.newLineAtOffset(szanHeaderX, yPosition);
-                safeShowText(contentStream, "Szanowni Państwo");
-                contentStream.endText();
-                yPosition -= lineHeight * 2; // Dynamic spacing
+            // --- 1. Top Description Text ---
+            
+            contentStream.setFont(serifFont, 14); // Header
+            // Center "Szanowni Państwo"
+            float szanHeaderWidth = serifFont.getStringWidth("Szanowni Państwo") / 1000f * 14;
+            float szanHeaderX = (pageWidth - szanHeaderWidth) / 2;
+            contentStream.beginText();
+            contentStream.newLineAtOffset(szanHeaderX, yPosition);
+            safeShowText(contentStream, "Szanowni Państwo");
+            contentStream.endText();
+            yPosition -= lineHeight * 2; // Dynamic spacing
 
-                // Content Font
-                contentStream.setFont(serifFont, fontSize); // Use dynamic font size
-                
-                // Process ticket description line by line to preserve paragraphs
-                String[] descParagraphs = ticketDescription.split("\\r?\\n");
-                
-                for (String paragraph : descParagraphs) {
-                    if (paragraph.trim().isEmpty()) {
-                         // Empty line
-                         yPosition -= lineHeight;
-                         continue;
-                    }
-                    
-                    for (String line : wrapText(paragraph, pageWidth - 2 * margin, serifFont, fontSize)) {
-                         contentStream.beginText();
-                         contentStream.newLineAtOffset(margin, yPosition);
-                         safeShowText(contentStream, line);
-                         contentStream.endText();
-                         yPosition -= lineHeight;
-                    }
-                }
-                
-                yPosition -= 8 + lineHeight;
-                
-                 for (String note : footerNotes) {
-                     for(String line : wrapText(note, pageWidth - 2 * margin, serifFont, fontSize)) {
-                        contentStream.beginText();
-                        contentStream.newLineAtOffset(margin, yPosition);
-                        safeShowText(contentStream, line);
-                        contentStream.endText();
-                        yPosition -= lineHeight;
-                     }
+            // Content Font
+            contentStream.setFont(serifFont, fontSize); // Use dynamic font size
+            
+            // Process ticket description line by line to preserve paragraphs
+            String[] descParagraphs = ticketDescription.split("\\r?\\n");
+            
+            for (String paragraph : descParagraphs) {
+                if (paragraph.trim().isEmpty()) {
+                     // Empty line
+                     yPosition -= lineHeight;
+                     continue;
                 }
                 
-                yPosition -= lineHeight;
-                
-                // "Dziękujemy" - Center
-                contentStream.setFont(serifFont, 14);
-                float dziekWidth = serifFont.getStringWidth("Dziękujemy") / 1000f * 14;
-                contentStream.beginText();
-                contentStream.newLineAtOffset((pageWidth - dziekWidth)/2, yPosition);
-                safeShowText(contentStream, "Dziękujemy");
-                contentStream.endText();
-                yPosition -= lineHeight * 2; // Fixed spacing        
-                
-                // Calculate required height for seats block
-                float seatsBlockHeight = calculateSeatsBlockHeight(grouped, bodyFont, lineHeight, pageWidth - 40, fontSize); 
-                float totalBlockHeight = seatsBlockHeight + lineHeight;
-                
-                float requiredSpace = totalBlockHeight + footerHeight + 10; // Total needed: content + footer + small gap
-                
-                // Check if everything fits on current page
-                if (yPosition > requiredSpace) {
-                    // It fits! Push content down to be close to footer (keep tiny safety gap)
-                    float targetBottomY = footerHeight + 2;
-                    yPosition = targetBottomY + totalBlockHeight;
+                for (String line : wrapText(paragraph, pageWidth - 2 * margin, serifFont, fontSize)) {
+                     contentStream.beginText();
+                     contentStream.newLineAtOffset(margin, yPosition);
+                     safeShowText(contentStream, line);
+                     contentStream.endText();
+                     yPosition -= lineHeight;
                 }
-                // Otherwise render from current yPosition (natural flow)
-
-                yPosition -= lineHeight;
+            }
+            
+            yPosition -= 8 + lineHeight;
+            
+             for (String note : footerNotes) {
+                 for(String line : wrapText(note, pageWidth - 2 * margin, serifFont, fontSize)) {
+                    contentStream.beginText();
+                    contentStream.newLineAtOffset(margin, yPosition);
+                    safeShowText(contentStream, line);
+                    contentStream.endText();
+                    yPosition -= lineHeight;
+                 }
+            }
+            
+            yPosition -= lineHeight;
+            
+            // "Dziękujemy" - Center
+            contentStream.setFont(serifFont, 14);
+            float dziekWidth = serifFont.getStringWidth("Dziękujemy") / 1000f * 14;
+            contentStream.beginText();
+            contentStream.newLineAtOffset((pageWidth - dziekWidth)/2, yPosition);
+            safeShowText(contentStream, "Dziękujemy");
+            contentStream.endText();
+            yPosition -= lineHeight * 2; // Fixed spacing        
+            
+            // Calculate required height for seats block
+            SeatsBlock seatsBlock = measureSeatsBlock(seatsColumns, bodyFont, pageWidth, lineHeight, fontSize);
+            float totalBlockHeight = seatsBlock.height() + lineHeight;
+            
+            float requiredSpace = totalBlockHeight + footerHeight + 10; // Total needed: content + footer + small gap
+            
+            // Check if everything fits on current page
+            if (yPosition > requiredSpace) {
+                // It fits! Push content down to be close to footer (keep tiny safety gap)
+                float targetBottomY = footerHeight + 2;
+                yPosition = targetBottomY + totalBlockHeight;
+            }
+            // Otherwise render from current yPosition (natural flow)
 
-                // --- 2. Seats Section ---
-                PageState currentState = new PageState(page, contentStream, yPosition);
-                // Call addSeatsSection (which now takes grouped map)
-                currentState = addSeatsSection(document, currentState.page, currentState.contentStream, serifBoldFont, bodyFont, margin, currentState.yPosition, lineHeight, grouped, fontSize);
-                
-                page = currentState.page;
-                contentStream = currentState.contentStream;
-                yPosition = currentState.yPosition;
-
-                // --- 3. Ticket Footer (Blue) ---
-                // Check if space exists on current page for the footer (Ticket)
-                // We want the ticket stick to the bottom. If yPosition is high enough, we can put it on this page.
-                // But we must NOT draw over text.
-                // Since this is a footer at y=0 to 215, we need yPosition > 215.
-                
-                 // Only move footer to a new page if it would overlap the content.
-                 // We intentionally allow content to end very close to the footer.
-                 if (yPosition < footerHeight + 2) {
-                     // Add new page
-                     if (contentStream != null) contentStream.close();
-                     page = new PDPage(PDRectangle.A4);
-                     document.addPage(page);
-                     contentStream = new PDPageContentStream(document, page);
-                     // Note: We need to re-set fonts if we were writing text, but drawTicketFooter handles its own fonts/rendering
-                }
-                
-                drawTicketFooter(document, page, contentStream, event, participant, venue, organizer, show, sectorNames, serifFont, serifBoldFont, bodyFont);
+            yPosition -= lineHeight;
 
-            } finally {
-                try { if (contentStream != null) contentStream.close(); } catch (Exception ignored) {}
+            // --- 2. Seats Section ---
+            PageState currentState = drawSeatsBlock(document, new PageState(page, contentStream, yPosition), bodyFont, seatsBlock);
+            
+            page = currentState.page;
+            contentStream = currentState.contentStream;
+            yPosition = currentState.yPosition;
+
+            // --- 3. Ticket Footer (Blue) ---
+            // Check if space exists on current page for the footer (Ticket)
+            // We want the ticket stick to the bottom. If yPosition is high enough, we can put it on this page.
+            // But we must NOT draw over text.
+            // Since this is a footer at y=0 to 215, we need yPosition > 215.
+            
+             // Only move footer to a new page if it would overlap the content.
+             // We intentionally allow content to end very close to the footer.
+             if (yPosition < footerHeight + 2) {
+                 // Add new page
+                 if (contentStream != null) contentStream.close();
+                 page = new PDPage(PDRectangle.A4);
+                 document.addPage(page);
+                 contentStream = new PDPageContentStream(document, page);
+                 // Note: We need to re-set fonts if we were writing text, but drawTicketFooter handles its own fonts/rendering
             }
             
-            // Convert to byte array
-            ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            document.save(baos);
-            return baos.toByteArray();
+            drawTicketFooter(document, images, page, contentStream, event, participant, venue, organizer, show, sectorNames, serifFont, serifBoldFont, bodyFont);
+
+        } finally {
+            try { if (contentStream != null) contentStream.close(); } catch (Exception ignored) {}
         }
     }
 
-    private void drawTicketFooter(PDDocument document, PDPage page, PDPageContentStream contentStream, 
+    private void drawTicketFooter(PDDocument document, Map<PreparedImage, PDImageXObject> images, PDPage page, PDPageContentStream contentStream, 
                                   EventEntity event, ParticipantEntity participant, VenueEntity venue, UserEntity organizer, ShowEntity show,
                                   java.util.Set<String> sectorNames,
                                   PDFont serifFont, PDFont serifBoldFont, PDFont bodyFont) throws IOException {
@@ -552,18 +654,11 @@ public class ReportService {
                 // --- Logo (Bottom Left) ---
                 if (organizer != null && organizer.getThumbnail() != null) {
                     try {
-                        PDImageXObject logoImage = null;
-                        try {
-                            logoImage = PDImageXObject.createFromByteArray(document, organizer.getThumbnail(), "organizer_logo");
-                        } catch (Exception inner) {
-                             BufferedImage buffered = tryDecodeImage(organizer.getThumbnail());
-                            if (buffered != null) {
-                                logoImage = LosslessFactory.createFromImage(document, buffered);
-                            }
-                        }
+                        float maxLogoSize = 60;
+                        PDImageXObject logoImage = reportImageCache.toXObject(document, images, organizerImageOwner(organizer),
+                                organizer.getThumbnail(), maxLogoSize, maxLogoSize);
                         
                         if (logoImage != null) {
-                            float maxLogoSize = 60; 
                             float logoX = 50; // Centered under "Cena 1 biletu" label (approx center ~80)
                             float logoY = 15; // Aligned roughly with "BILET" baseline
                             
@@ -581,15 +676,9 @@ public class ReportService {
                 // --- Show Logo (Bottom Right) ---
                 if (show != null && show.getThumbnail() != null) {
                     try {
-                        PDImageXObject showLogoImage = null;
-                        try {
-                            showLogoImage = PDImageXObject.createFromByteArray(document, show.getThumbnail(), "show_logo");
-                        } catch (Exception inner) {
-                             BufferedImage buffered = tryDecodeImage(show.getThumbnail());
-                            if (buffered != null) {
-                                showLogoImage = LosslessFactory.createFromImage(document, buffered);
-                            }
-                        }
+                        // Drawn at the footer height; wider images are cropped, not shrunk
+                        PDImageXObject showLogoImage = reportImageCache.toXObject(document, images, showImageOwner(show),
+                                show.getThumbnail(), Float.POSITIVE_INFINITY, footerHeight);
                         
                         if (showLogoImage != null) {
                             float imageHeight = footerHeight;
@@ -658,171 +747,187 @@ public class ReportService {
     }
 
 
-    private PageState addSeatsSection(PDDocument document, PDPage page, PDPageContentStream contentStream, PDFont headerFont, PDFont bodyFont,
-                                  float margin, float yPosition, float lineHeight,
-                                  java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped, int fontSize) throws IOException {
-        LayoutResult result = layoutSeatsSection(document, page, contentStream, bodyFont, lineHeight, grouped, false, yPosition, fontSize);
-        return result.pageState;
+    private static float ticketLineHeight(int fontSize) {
+        return (fontSize == 11) ? 15 : (fontSize * 1.4f); // heuristic
     }
 
-    private float calculateSeatsBlockHeight(java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped, PDFont bodyFont, float lineHeight, float tableWidth, int fontSize) {
-        // Create dummy document/page for metric calculation context if needed, but mostly we just need font metrics.
-        // We pass tableWidth via a hack or just assume layoutSeatsSection calculates width from page size.
-        // layoutSeatsSection uses page.getMediaBox().
-        // We can create a dummy PDPage with the correct width.
-        PDPage dummyPage = new PDPage(new PDRectangle(tableWidth + 40, 842)); // 40 = 2*20 margins
-        try {
-            LayoutResult result = layoutSeatsSection(null, dummyPage, null, bodyFont, lineHeight, grouped, true, 800, fontSize);
-            return result.totalHeight;
-        } catch (IOException e) {
-            return 0f;
+    /**
+     * Height of the ticket text above the footer at a font size: greeting, description, notes,
+     * closing and the seat list, including the spacing between them.
+     */
+    private float ticketContentHeight(String ticketDescription, String[] footerNotes, List<SeatsColumn> seatsColumns,
+                                      ReportFonts fonts, float contentWidth, float pageWidth, int size) {
+        float lh = ticketLineHeight(size);
+
+        float usedHeight = lh * 2; // "Szanowni Państwo" (using dynamic lineHeight spacing)
+
+        usedHeight += calculateTextHeight(ticketDescription, contentWidth, fonts.serif(), size, lh);
+        usedHeight += 8 + lh; // Spacing before footer notes
+
+        for (String note : footerNotes) {
+            usedHeight += calculateTextHeight(note, contentWidth, fonts.serif(), size, lh);
         }
+        usedHeight += lh; // spacing
+        usedHeight += lh * 2; // "Dziękujemy"
+
+        // Seats
+        usedHeight += measureSeatsBlock(seatsColumns, fonts.body(), pageWidth, lh, size).height() + lh; // + spacing
+        return usedHeight;
     }
 
-    private static class SeatRenderLine {
-        String text;
-        boolean highlight;
-        float height;
-        public SeatRenderLine(String text, boolean highlight, float height) {
-            this.text = text;
-            this.highlight = highlight;
-            this.height = height;
-        }
+    /**
+     * One sector of the seat list: its header and a "rząd ... / miejsce ..." entry per row.
+     */
+    private record SeatsColumn(String header, List<String> rows) {
     }
 
-    private static class LayoutResult {
-        float totalHeight;
-        PageState pageState;
-        public LayoutResult(float totalHeight, PageState pageState) {
-            this.totalHeight = totalHeight;
-            this.pageState = pageState;
-        }
+    private record SeatLine(String text, boolean highlight) {
     }
 
-    private LayoutResult layoutSeatsSection(PDDocument document, PDPage page, PDPageContentStream contentStream, 
-                                          PDFont bodyFont, float lineHeight,
-                                          java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped,
-                                          boolean dryRun, float startY, int fontSize) throws IOException {
-        
-        float currentY = startY;
+    /**
+     * The seat list laid out for one font size: batches of up to four sector columns of wrapped lines.
+     */
+    private record SeatsBlock(List<List<List<SeatLine>>> batches, float colWidth, float lineHeight, int fontSize,
+                              float height) {
+    }
+
+    private List<SeatsColumn> seatsColumns(java.util.Map<String, java.util.Map<RowKey, java.util.List<Integer>>> grouped) {
+        List<SeatsColumn> columns = new ArrayList<>(grouped.size());
+        grouped.forEach((sectorKey, rowsMap) -> {
+            List<String> rows = new ArrayList<>(rowsMap.size());
+            rowsMap.forEach((rowKey, seatNumbers) -> {
+                List<Integer> sorted = new ArrayList<>(seatNumbers);
+                sorted.sort(Integer::compareTo);
+                rows.add("rząd " + rowKey.name + " / miejsce " + buildRanges(sorted));
+            });
+            columns.add(new SeatsColumn(sectorKey, rows));
+        });
+        return columns;
+    }
+
+    /**
+     * Lays out the seat list across the page width without drawing anything; the result is drawn by
+     * {@link #drawSeatsBlock} and its height decides the font size of the ticket.
+     */
+    private SeatsBlock measureSeatsBlock(List<SeatsColumn> columns, PDFont bodyFont, float pageWidth, float lineHeight, int fontSize) {
         float sideMargin = 20;
-        final float finalPageWidth = page.getMediaBox().getWidth();
-        // float tableWidth = finalPageWidth - 2 * sideMargin;
 
         // Determine Columns (Fixed 4 columns width logic as requested)
         int maxCols = 4;
         float colGap = 5f;
-        float availableWidth = finalPageWidth - (2 * sideMargin);
+        float availableWidth = pageWidth - (2 * sideMargin);
         float colWidth = (availableWidth - (maxCols - 1) * colGap) / maxCols;
 
-        java.util.List<String> sectorKeys = new java.util.ArrayList<>(grouped.keySet());
-        
+        List<List<List<SeatLine>>> batches = new ArrayList<>();
+        // Accumulated line by line from the same start as the former dry run rather than multiplied,
+        // so heights round exactly as they did and existing tickets keep their layout
+        float startY = 800;
+        float currentY = startY;
         // Process in batches
-        for (int batchStart = 0; batchStart < sectorKeys.size(); batchStart += maxCols) {
-            int batchEnd = Math.min(batchStart + maxCols, sectorKeys.size());
-            java.util.List<String> batchKeys = sectorKeys.subList(batchStart, batchEnd);
-
-            // Prepare Lines
-            java.util.List<java.util.List<SeatRenderLine>> batchColumns = new java.util.ArrayList<>();
+        for (int batchStart = 0; batchStart < columns.size(); batchStart += maxCols) {
+            int batchEnd = Math.min(batchStart + maxCols, columns.size());
+            List<List<SeatLine>> batchColumns = new ArrayList<>();
             int maxLines = 0;
-
-            for (String secKey : batchKeys) {
-                java.util.List<SeatRenderLine> colLines = new java.util.ArrayList<>();
-                
-                // 1. Header (Sector Name)
-                // Highlight box height = lineHeight approx (was fixed 14)
-                colLines.add(new SeatRenderLine(secKey, true, lineHeight)); 
-                
+            for (SeatsColumn column : columns.subList(batchStart, batchEnd)) {
+                List<SeatLine> colLines = new ArrayList<>();
+                // 1. Header (Sector Name), highlighted
+                colLines.add(new SeatLine(column.header(), true));
                 // 2. Rows
-                var rowsMap = grouped.get(secKey);
-                for (var rowEntry : rowsMap.entrySet()) {
-                    String rowName = rowEntry.getKey().name;
-                    var seatNums = rowEntry.getValue();
-                    seatNums.sort(Integer::compareTo);
-                    String ranges = buildRanges(seatNums);
-                    String lineText = "rząd " + rowName + " / miejsce " + ranges;
-                    
-                    String[] wrapped = wrapText(lineText, colWidth - 5, bodyFont, fontSize); // -5 padding
-                    for (String w : wrapped) {
-                        colLines.add(new SeatRenderLine(w, false, lineHeight));
+                for (String row : column.rows()) {
+                    for (String w : wrapText(row, colWidth - 5, bodyFont, fontSize)) { // -5 padding
+                        colLines.add(new SeatLine(w, false));
                     }
-                    // Small gap after row entry? calculated as per line
                 }
                 batchColumns.add(colLines);
                 maxLines = Math.max(maxLines, colLines.size());
             }
+            batches.add(batchColumns);
+            for (int i = 0; i < maxLines; i++) {
+                currentY -= lineHeight;
+            }
+            // Gap between batches (only if not last batch)
+            if (batchEnd < columns.size()) {
+                currentY -= 5f;
+            }
+        }
+        return new SeatsBlock(batches, colWidth, lineHeight, fontSize, startY - currentY);
+    }
+
+    /**
+     * Draws a measured seat list from {@code state}'s position down, continuing on new pages as needed.
+     */
+    private PageState drawSeatsBlock(PDDocument document, PageState state, PDFont bodyFont, SeatsBlock block) throws IOException {
+        PDPage page = state.page;
+        PDPageContentStream contentStream = state.contentStream;
+        float currentY = state.yPosition;
+        float sideMargin = 20;
+        float colGap = 5f;
+        float colWidth = block.colWidth();
+        float lineHeight = block.lineHeight();
+        int fontSize = block.fontSize();
+
+        List<List<List<SeatLine>>> batches = block.batches();
+        for (int b = 0; b < batches.size(); b++) {
+            List<List<SeatLine>> batchColumns = batches.get(b);
+            int maxLines = 0;
+            for (List<SeatLine> colLines : batchColumns) {
+                maxLines = Math.max(maxLines, colLines.size());
+            }
 
-            // Render/Measure Row by Row
+            // Render Row by Row
             for (int i = 0; i < maxLines; i++) {
-                float rowMaxHeight = 0;
-                // Find height of this visual row
-                for (var colLines : batchColumns) {
-                    if (i < colLines.size()) {
-                        rowMaxHeight = Math.max(rowMaxHeight, colLines.get(i).height);
-                    }
+                // Check Page Space
+                if (currentY - lineHeight < 50) {
+                    // Assuming 50 margin is safely clear of footer zone or triggers break.
+                    if (contentStream != null) contentStream.close();
+                    page = new PDPage(PDRectangle.A4);
+                    document.addPage(page);
+                    contentStream = new PDPageContentStream(document, page);
+                    currentY = page.getMediaBox().getHeight() - 50;
                 }
-                // Add padding between lines? usually included in lineHeight.
-                // But for Highlight header, we might want manual spacing?
-                // Using max height covers it.
-
-                if (!dryRun) {
-                    // Check Page Space
-                    if (currentY - rowMaxHeight < 50) { // Should leave space for footer if on last page? 
-                        // But here we just respect generic bottom margin.
-                        // However, we want the footer to fit.
-                        // Assuming 50 margin is safely clear of footer zone or triggers break.
-                        if (contentStream != null) contentStream.close();
-                        PDPage newPage = new PDPage(PDRectangle.A4);
-                        document.addPage(newPage);
-                        page = newPage;
-                        contentStream = new PDPageContentStream(document, page);
-                        currentY = page.getMediaBox().getHeight() - 50;
-                    }
 
-                    // Draw
-                    for (int c = 0; c < batchColumns.size(); c++) {
-                        var colLines = batchColumns.get(c);
-                        if (i < colLines.size()) {
-                            SeatRenderLine item = colLines.get(i);
-                            float drawX = sideMargin + c * (colWidth + colGap);
-                            
-                            if (item.highlight) {
-                                // Draw Box (Full Column Width)
-                                float textWidth = bodyFont.getStringWidth(item.text) / 1000f * fontSize;
-                                float boxW = colWidth;
-                                
-                                contentStream.setNonStrokingColor(230/255f, 200/255f, 230/255f); 
-                                contentStream.addRect(drawX, currentY - 3, boxW, item.height);
-                                contentStream.fill();
-                                contentStream.setNonStrokingColor(0,0,0);
-                                
-                                // Center Text
-                                float centeredX = drawX + (colWidth - textWidth) / 2;
-                                
-                                contentStream.beginText();
-                                contentStream.setFont(bodyFont, fontSize);
-                                contentStream.newLineAtOffset(centeredX, currentY); 
-                                safeShowText(contentStream, item.text);
-                                contentStream.endText();
-                            } else {
-                                contentStream.beginText();
-                                contentStream.setFont(bodyFont, fontSize);
-                                contentStream.newLineAtOffset(drawX + 5, currentY); // Indent row info
-                                safeShowText(contentStream, item.text);
-                                contentStream.endText();
-                            }
+                // Draw
+                for (int c = 0; c < batchColumns.size(); c++) {
+                    List<SeatLine> colLines = batchColumns.get(c);
+                    if (i < colLines.size()) {
+                        SeatLine item = colLines.get(i);
+                        float drawX = sideMargin + c * (colWidth + colGap);
+
+                        if (item.highlight()) {
+                            // Draw Box (Full Column Width)
+                            float textWidth = bodyFont.getStringWidth(item.text()) / 1000f * fontSize;
+
+                            contentStream.setNonStrokingColor(230/255f, 200/255f, 230/255f);
+                            contentStream.addRect(drawX, currentY - 3, colWidth, lineHeight);
+                            contentStream.fill();
+                            contentStream.setNonStrokingColor(0,0,0);
+
+                            // Center Text
+                            float centeredX = drawX + (colWidth - textWidth) / 2;
+
+                            contentStream.beginText();
+                            contentStream.setFont(bodyFont, fontSize);
+                            contentStream.newLineAtOffset(centeredX, currentY);
+                            safeShowText(contentStream, item.text());
+                            contentStream.endText();
+                        } else {
+                            contentStream.beginText();
+                            contentStream.setFont(bodyFont, fontSize);
+                            contentStream.newLineAtOffset(drawX + 5, currentY); // Indent row info
+                            safeShowText(contentStream, item.text());
+                            contentStream.endText();
                         }
                     }
                 }
-                currentY -= rowMaxHeight;
+                currentY -= lineHeight;
             }
             // Gap between batches (only if not last batch)
-            if (batchEnd < sectorKeys.size()) {
+            if (b < batches.size() - 1) {
                 currentY -= 5f; // Decreased gap logic
             }
         }
 
-        return new LayoutResult(startY - currentY, new PageState(page, contentStream, currentY));
+        return new PageState(page, contentStream, currentY);
     }
 
 
@@ -901,20 +1006,10 @@ public class ReportService {
         if (show.getThumbnail() != null && show.getThumbnail().length > 0) {
             log.info("Show thumbnail found: {} bytes, content type: {}", show.getThumbnail().length, show.getThumbnailContentType());
             try {
-                PDImageXObject thumbnail;
-                try {
-                    thumbnail = PDImageXObject.createFromByteArray(document, show.getThumbnail(), "thumbnail");
-                    log.info("Successfully created PDImageXObject from thumbnail bytes");
-                } catch (Exception inner) {
-                    log.warn("PDImageXObject.createFromByteArray failed: {}, attempting ImageIO fallback", inner.getMessage());
-                    // Fallback to ImageIO + LosslessFactory for formats not supported directly
-                            BufferedImage buffered = tryDecodeImage(show.getThumbnail());
-                            if (buffered != null) {
-                                log.info("Successfully decoded image via ImageIO/SVG fallback: {}x{}", buffered.getWidth(), buffered.getHeight());
-                                thumbnail = LosslessFactory.createFromImage(document, buffered);
-                            } else {
-                                throw new IOException("Could not decode show thumbnail (ImageIO + SVG fallback failed)");
-                            }
+                PDImageXObject thumbnail = reportImageCache.toXObject(document, showImageOwner(show), show.getThumbnail(),
+                        thumbnailSize, thumbnailSize);
+                if (thumbnail == null) {
+                    throw new IOException("Could not decode show thumbnail (ImageIO + SVG fallback failed)");
                 }
 
                 contentStream.drawImage(thumbnail, thumbnailX, yPosition - thumbnailSize, thumbnailSize, thumbnailSize);
@@ -942,7 +1037,7 @@ public class ReportService {
         
         // Word wrap description to fit in available space
         float availableWidth = 400; // Approximate available width
-        String[] wrappedLines = wrapText(description, availableWidth, bodyFont, 10);
+        List<String> wrappedLines = wrapText(description, availableWidth, bodyFont, 10);
         
         for (String line : wrappedLines) {
             contentStream.beginText();
@@ -962,6 +1057,14 @@ public class ReportService {
         return new PageState(page, contentStream, sectionEndY - 20); // Extra spacing between sections
     }
     
+    private static String showImageOwner(ShowEntity show) {
+        return "show:" + show.getShowId();
+    }
+
+    private static String organizerImageOwner(UserEntity organizer) {
+        return "user:" + organizer.getId();
+    }
+
     private void drawThumbnailPlaceholder(PDPageContentStream contentStream, float x, float y, float size) throws IOException {
         // Draw border
         contentStream.setStrokingColor(0.8f, 0.8f, 0.8f);
@@ -977,47 +1080,9 @@ public class ReportService {
         contentStream.endText();
     }
 
-    /**
-     * Try to decode arbitrary image bytes to a BufferedImage. This attempts ImageIO first,
-     * and if that fails, attempts to rasterize SVG bytes using Batik's PNGTranscoder.
-     */
-    private BufferedImage tryDecodeImage(byte[] data) {
-        if (data == null || data.length == 0) return null;
-
-        // Try ImageIO first (handles PNG, JPEG, GIF, etc.)
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
-            BufferedImage img = ImageIO.read(bais);
-            if (img != null) return img;
-        } catch (IOException ignored) {}
-
-        // If ImageIO could not decode, try to treat as SVG and rasterize via Batik
-        try {
-            return rasterizeSvgToPngBufferedImage(data);
-        } catch (Exception e) {
-            log.debug("SVG rasterization failed: {}", e.getMessage());
-            return null;
-        }
-    }
-
-    private BufferedImage rasterizeSvgToPngBufferedImage(byte[] svgBytes) throws TranscoderException, IOException {
-        if (svgBytes == null || svgBytes.length == 0) return null;
-        PNGTranscoder transcoder = new PNGTranscoder();
-        try (ByteArrayInputStream bais = new ByteArrayInputStream(svgBytes);
-             java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream()) {
-            TranscoderInput input = new TranscoderInput(bais);
-            TranscoderOutput output = new TranscoderOutput(baos);
-            transcoder.transcode(input, output);
-            baos.flush();
-            byte[] pngBytes = baos.toByteArray();
-            try (ByteArrayInputStream pngIn = new ByteArrayInputStream(pngBytes)) {
-                return ImageIO.read(pngIn);
-            }
-        }
-    }
-    
-    private String[] wrapText(String text, float maxWidth, PDFont font, int fontSize) {
+    private List<String> wrapText(String text, float maxWidth, PDFont font, int fontSize) {
         if (text == null || text.isEmpty()) {
-            return new String[]{"No description available"};
+            return List.of("No description available");
         }
         
         // Pre-process text to handle tabs and non-breaking spaces consistently
@@ -1026,69 +1091,9 @@ public class ReportService {
         // Replace NBSP with normal space so splitting works consistently
         text = text.replace('\u00A0', ' ');
         
-        // For width calculation, we need to use sanitized text
-        // But we want to return the original text split properly
-        // sanitizeText might replace characters but shouldn't add/remove spaces if we handled NBSP already
-        String sanitizedForCalculation = replacePolishCharacters(sanitizeText(text));
-        
         try {
-            // Split by single space to preserve multiple spaces/indentation
-            // -1 limit ensures trailing empty strings are included if necessary (though usually strict split is enough)
-            String[] originalWords = text.split(" ", -1);
-            String[] sanitizedWords = sanitizedForCalculation.split(" ", -1);
-            
-            // Make sure both arrays have the same length
-            if (originalWords.length != sanitizedWords.length) {
-                log.warn("Word count mismatch after sanitization (orig={}, san={}), using fallback", 
-                        originalWords.length, sanitizedWords.length);
-                return splitTextIntoChunks(text, 80);
-            }
-            
-            java.util.List<String> lines = new java.util.ArrayList<>();
-            
-            java.util.List<String> currentOriginalWords = new java.util.ArrayList<>();
-            java.util.List<String> currentSanitizedWords = new java.util.ArrayList<>();
-            
-            for (int i = 0; i < originalWords.length; i++) {
-                String originalWord = originalWords[i];
-                String sanitizedWord = sanitizedWords[i];
-                
-                // Construct a test string to check width
-                String testSanitizedLine;
-                if (currentSanitizedWords.isEmpty()) {
-                    testSanitizedLine = sanitizedWord;
-                } else {
-                    testSanitizedLine = String.join(" ", currentSanitizedWords) + " " + sanitizedWord;
-                }
-                
-                float textWidth = font.getStringWidth(testSanitizedLine) / 1000 * fontSize;
-                
-                if (textWidth <= maxWidth) {
-                    currentOriginalWords.add(originalWord);
-                    currentSanitizedWords.add(sanitizedWord);
-                } else {
-                    if (!currentOriginalWords.isEmpty()) {
-                        lines.add(String.join(" ", currentOriginalWords));
-                        currentOriginalWords.clear();
-                        currentSanitizedWords.clear();
-                        currentOriginalWords.add(originalWord);
-                        currentSanitizedWords.add(sanitizedWord);
-                    } else {
-                        // Single word is too long, add it anyway to avoid infinite loop or dropping content
-                        lines.add(originalWord);
-                        // Start fresh next loop (though logic effectively handled by adding and continuing, 
-                        // but here we already added to lines, so clear)
-                        currentOriginalWords.clear();
-                        currentSanitizedWords.clear();
-                    }
-                }
-            }
-            
-            if (!currentOriginalWords.isEmpty()) {
-                lines.add(String.join(" ", currentOriginalWords));
-            }
-            
-            return lines.toArray(new String[0]);
+            // Widths are taken from the sanitized form of the text, lines keep the original
+            return textLayout.wrap(text, font, fontSize, maxWidth);
         } catch (IOException e) {
             log.warn("Error calculating text width for wrapping: {}", e.getMessage());
             // Fallback: split text into chunks of reasonable length
@@ -1096,9 +1101,9 @@ public class ReportService {
         }
     }
     
-    private String[] splitTextIntoChunks(String text, int maxChunkLength) {
+    private List<String> splitTextIntoChunks(String text, int maxChunkLength) {
         if (text == null || text.isEmpty()) {
-            return new String[]{"No description available"};
+            return List.of("No description available");
         }
         
         java.util.List<String> chunks = new java.util.ArrayList<>();
@@ -1119,7 +1124,7 @@ public class ReportService {
             start = end + (end < text.length() && text.charAt(end) == ' ' ? 1 : 0);
         }
         
-        return chunks.toArray(new String[0]);
+        return chunks;
     }
     
     private float addTextLine(PDPageContentStream contentStream, float xPosition, float yPosition, 
@@ -1304,61 +1309,515 @@ public class ReportService {
         return text.substring(0, maxLength - 3) + "...";
     }
     
-    @Transactional(readOnly = true)
-    public Optional<byte[]> generateAllParticipantTicketsZip(Long eventId) {
-        log.info("Generating ZIP file with all participant tickets for event {}", eventId);
-        
-        try {
-            // Check if event exists
-            Optional<EventEntity> eventOpt = eventRepository.findById(eventId);
-            if (eventOpt.isEmpty()) {
-                log.warn("Event not found with ID: {}", eventId);
-                return Optional.empty();
-            }
-            
-            // Get all participants for the event
-            List<ParticipantEntity> participants = participantRepository.findByEventId(eventId);
-            if (participants.isEmpty()) {
-                log.warn("No participants found for event {}", eventId);
-                return Optional.empty();
-            }
-            
-            // Create ZIP file in memory
-            ByteArrayOutputStream zipOutput = new ByteArrayOutputStream();
-            try (ZipOutputStream zipStream = new ZipOutputStream(zipOutput)) {
-                
-                for (ParticipantEntity participant : participants) {
-                    try {
-                        // Generate individual participant ticket
-                        Optional<byte[]> ticketBytes = generateParticipantTicket(eventId, participant.getParticipantId());
-                        
-                        if (ticketBytes.isPresent()) {
-                            // Create ZIP entry for this participant ticket using centralized filename logic
-                            String fileName = generateParticipantTicketFilename(eventId, participant.getParticipantId());
-                            ZipEntry zipEntry = new ZipEntry(fileName);
-                            zipStream.putNextEntry(zipEntry);
-                            zipStream.write(ticketBytes.get());
-                            zipStream.closeEntry();
-                            
-                            log.debug("Added ticket for participant {} to ZIP", participant.getParticipantId());
-                        } else {
-                            log.warn("Failed to generate ticket for participant {}", participant.getParticipantId());
+    /**
+     * What an event archive contains for every participant.
+     */
+    private enum EventArchive {
+        TICKETS(true, false, "participant tickets"),
+        MAPS(false, true, "participant maps"),
+        TICKETS_AND_MAPS(true, true, "participant tickets and maps");
+
+        private final boolean tickets;
+        private final boolean maps;
+        private final String description;
+
+        EventArchive(boolean tickets, boolean maps, String description) {
+            this.tickets = tickets;
+            this.maps = maps;
+            this.description = description;
+        }
+    }
+
+    /**
+     * Prepares a ZIP archive with the tickets of all participants of an event.
+     * <p>
+     * Only the existence checks run here; the archive itself is produced entry by entry while it is
+     * written to the response, so nothing but the tickets currently in flight is held in memory.
+     * PDFs are already compressed, so the entries are STORED rather than deflated.
+     *
+     * @return the streaming archive, or empty if the event does not exist or has no participants
+     */
+    public Optional<StreamingResource> generateAllParticipantTicketsZip(Long eventId) {
+        return generateEventArchive(eventId, EventArchive.TICKETS);
+    }
+
+    /**
+     * Prepares a ZIP archive with the maps of all participants of an event, streamed like
+     * {@link #generateAllParticipantTicketsZip(Long)}.
+     *
+     * @return the streaming archive, or empty if the event does not exist or has no participants
+     */
+    public Optional<StreamingResource> generateAllParticipantMapsZip(Long eventId) {
+        return generateEventArchive(eventId, EventArchive.MAPS);
+    }
+
+    /**
+     * Prepares a ZIP archive with the ticket and the map of every participant of an event, streamed
+     * like {@link #generateAllParticipantTicketsZip(Long)}.
+     *
+     * @return the streaming archive, or empty if the event does not exist or has no participants
+     */
+    public Optional<StreamingResource> generateAllParticipantDocumentsZip(Long eventId) {
+        return generateEventArchive(eventId, EventArchive.TICKETS_AND_MAPS);
+    }
+
+    private Optional<StreamingResource> generateEventArchive(Long eventId, EventArchive archive) {
+        log.info("Generating ZIP file with all {} for event {}", archive.description, eventId);
+        if (!hasParticipants(eventId)) {
+            return Optional.empty();
+        }
+        
+        // Resolve on the request thread while the security context is certainly available
+        UserEntity organizer = resolveOrganizer();
+        return Optional.of(new StreamingResource(archive.description + " of event " + eventId,
+                outputStream -> writeEventArchive(eventId, archive, organizer, outputStream, ReportProgressListener.NONE)));
+    }
+
+    private boolean hasParticipants(Long eventId) {
+        // Check if event exists
+        if (!eventRepository.existsById(eventId)) {
+            log.warn("Event not found with ID: {}", eventId);
+            return false;
+        }
+        if (!participantRepository.existsByEventId(eventId)) {
+            log.warn("No participants found for event {}", eventId);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Writes a ZIP archive with the tickets of all participants of an event to the given stream.
+     * Used by background report jobs; reports the number of processed participants to {@code progress}
+     * and stops with an {@link java.io.InterruptedIOException} when the calling thread is interrupted.
+     */
+    public void writeAllParticipantTicketsZip(Long eventId, java.io.OutputStream outputStream, ReportProgressListener progress) throws IOException {
+        writeEventArchive(eventId, EventArchive.TICKETS, resolveOrganizer(), outputStream, progress);
+    }
+
+    /**
+     * Writes a ZIP archive with the maps of all participants of an event to the given stream, see
+     * {@link #writeAllParticipantTicketsZip}.
+     */
+    public void writeAllParticipantMapsZip(Long eventId, java.io.OutputStream outputStream, ReportProgressListener progress) throws IOException {
+        writeEventArchive(eventId, EventArchive.MAPS, resolveOrganizer(), outputStream, progress);
+    }
+
+    /**
+     * Writes a ZIP archive with the tickets and maps of all participants of an event to the given
+     * stream, see {@link #writeAllParticipantTicketsZip}.
+     */
+    public void writeAllParticipantDocumentsZip(Long eventId, java.io.OutputStream outputStream, ReportProgressListener progress) throws IOException {
+        writeEventArchive(eventId, EventArchive.TICKETS_AND_MAPS, resolveOrganizer(), outputStream, progress);
+    }
+
+    private void writeEventArchive(Long eventId, EventArchive archive, UserEntity organizer, java.io.OutputStream outputStream,
+                                   ReportProgressListener progress) throws IOException {
+        writeEventReport(eventId, "ZIP file of " + archive.description, archive.maps, data -> {
+            // Not closed: that would close the servlet output stream underneath
+            ZipOutputStream zipStream = new ZipOutputStream(outputStream);
+            int written = writeDocuments(zipStream, archive, data, organizer, progress);
+            zipStream.finish();
+            log.info("Successfully streamed ZIP file with {} documents of {} participants ({}) for event {}",
+                    written, data.participants().size(), archive.description, eventId);
+        });
+    }
+
+    @FunctionalInterface
+    private interface EventReportWriter {
+        void write(EventReportData data) throws IOException, InterruptedException;
+    }
+
+    /**
+     * Everything the documents of a batch report are rendered from, loaded before the report is
+     * streamed.
+     *
+     * @param geometry the venue layout, only loaded for reports with maps
+     */
+    private record EventReportData(EventEntity event, ShowEntity show, VenueEntity venue, List<ParticipantEntity> participants,
+                                   Map<Long, List<ReservedSeatDto>> seatsByParticipant, VenueGeometry geometry) {
+    }
+
+    /**
+     * Loads the data of a batch report in a read-only transaction and hands it to {@code writer}
+     * once the transaction has ended, so that no pooled connection is held while the report is
+     * rendered and streamed to a possibly slow client.
+     */
+    private void writeEventReport(Long eventId, String description, boolean maps, EventReportWriter writer) throws IOException {
+        try {
+            EventReportData data = readOnlyTransaction.execute(status -> {
+                EventEntity event = eventRepository.findById(eventId)
+                        .orElseThrow(() -> new IllegalStateException("Event not found: " + eventId));
+                // Event-wide data is the same for every document, load it once
+                ShowEntity show = showRepository.findById(event.getShowId())
+                        .orElseThrow(() -> new IllegalStateException("Show not found for event " + eventId));
+                VenueEntity venue = venueRepository.findById(event.getVenueId())
+                        .orElseThrow(() -> new IllegalStateException("Venue not found for event " + eventId));
+                List<ParticipantEntity> participants = participantRepository.findByEventId(eventId);
+                // Seats of all participants in one query instead of one per participant
+                Map<Long, List<ReservedSeatDto>> seatsByParticipant = reservationRepository.findReservedSeatsByEventId(eventId)
+                        .stream()
+                        .collect(java.util.stream.Collectors.groupingBy(ReservedSeatDto::participantId));
+                // The layout reads the lazily loaded sectors of the venue
+                VenueGeometry geometry = maps ? venueGeometry(venue) : null;
+                return new EventReportData(event, show, venue, participants, seatsByParticipant, geometry);
+            });
+            writer.write(data);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("Error streaming {} for event {}: document rendering interrupted", description, eventId);
+            throw new java.io.InterruptedIOException("Document rendering interrupted");
+        } catch (IOException e) {
+            log.error("Error streaming {} for event {}: {}", description, eventId, e.getMessage());
+            throw e;
+        } catch (RuntimeException e) {
+            // Headers are already committed, the client can only notice through the aborted download
+            log.error("Error streaming {} for event {}: {}", description, eventId, e.getMessage(), e);
+            throw new IOException("Could not generate " + description + " for event " + eventId, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface DocumentRenderer {
+        byte[] render() throws IOException;
+    }
+
+    /**
+     * A document of one participant, ready to be rendered off the transaction.
+     */
+    private record DocumentJob(String kind, String fileName, String cacheKey, DocumentRenderer renderer) {
+    }
+
+    private record PendingDocument(Long participantId, String kind, String fileName, Future<byte[]> pdf,
+                                   boolean lastOfParticipant) {
+    }
+
+    /**
+     * Renders the documents of all participants into the ZIP stream, in participant order.
+     * <p>
+     * Document data is prepared on the calling thread, PDF rendering is handed to the report render pool. At most {@code app.report.render.max-pending-documents}
+     * documents are in flight at once, and rendered documents waiting to be written take at most
+     * {@code max-pending-memory}; once either is reached, the oldest one is awaited and written
+     * before the next is submitted. This keeps the output order deterministic and bounds the heap
+     * used by rendered but not yet written documents. With a single worker, documents are rendered
+     * inline.
+     * <p>
+     * Everything the documents share is loaded once, see {@link EventReportData}; the templates of
+     * the venue layout are recorded by the first map only.
+     * <p>
+     * A document whose file name is taken by an earlier one, as for participants of the same name,
+     * gets the participant ID appended; a document that cannot be rendered or added is left out.
+     *
+     * @return number of documents written
+     */
+    private int writeDocuments(ZipOutputStream zipStream, EventArchive archive, EventReportData data, UserEntity organizer,
+                               ReportProgressListener progress) throws IOException, InterruptedException {
+        EventEntity event = data.event();
+        ShowEntity show = data.show();
+        VenueEntity venue = data.venue();
+        List<ParticipantEntity> participants = data.participants();
+        boolean parallel = reportProperties.getRender().getWorkers() > 1;
+        int maxPending = Math.max(1, reportProperties.getRender().getMaxPendingDocuments());
+        long maxPendingBytes = reportProperties.getRender().getMaxPendingMemory().toBytes();
+        // Size of the rendered documents in the queue, updated by the workers as they finish
+        AtomicLong pendingBytes = new AtomicLong();
+        int total = participants.size();
+        java.util.Deque<PendingDocument> pending = new java.util.ArrayDeque<>();
+        // Participants of the same name get the same file names
+        Set<String> entryNames = new HashSet<>();
+        int written = 0;
+        int processed = 0;
+        progress.onProgress(0, total);
+        try {
+            for (ParticipantEntity participant : participants) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException("Document rendering interrupted");
+                }
+                List<ReservedSeatDto> seats = data.seatsByParticipant().getOrDefault(participant.getParticipantId(), List.of());
+                List<DocumentJob> jobs;
+                try {
+                    jobs = documentJobs(archive, event, participant, show, venue, data.geometry(), organizer, seats);
+                } catch (Exception e) {
+                    log.error("Error generating documents for participant {}: {}", participant.getParticipantId(), e.getMessage());
+                    progress.onProgress(++processed, total);
+                    continue;
+                }
+
+                for (int i = 0; i < jobs.size(); i++) {
+                    DocumentJob job = jobs.get(i);
+                    boolean lastOfParticipant = i == jobs.size() - 1;
+                    String fileName = uniqueEntryName(entryNames, job.fileName(), participant.getParticipantId());
+                    Optional<byte[]> cached = renderedReportCache.get(job.cacheKey());
+
+                    if (!parallel) {
+                        try {
+                            byte[] pdf = cached.isPresent() ? cached.get() : job.renderer().render();
+                            if (cached.isEmpty()) {
+                                renderedReportCache.put(job.cacheKey(), pdf);
+                            }
+                            writeZipEntry(zipStream, fileName, pdf);
+                            written++;
+                            log.debug("Added {} for participant {} to ZIP", job.kind(), participant.getParticipantId());
+                        } catch (IOException e) {
+                            log.error("Error generating {} for participant {}: {}", job.kind(), participant.getParticipantId(), e.getMessage());
                         }
-                    } catch (Exception e) {
-                        log.error("Error generating ticket for participant {}: {}", participant.getParticipantId(), e.getMessage());
-                        // Continue with other participants even if one fails
+                        if (lastOfParticipant) {
+                            progress.onProgress(++processed, total);
+                        }
+                        continue;
+                    }
+
+                    while (!pending.isEmpty() && (pending.size() >= maxPending || pendingBytes.get() >= maxPendingBytes)) {
+                        PendingDocument done = pending.removeFirst();
+                        written += writePendingDocument(zipStream, done, pendingBytes);
+                        if (done.lastOfParticipant()) {
+                            progress.onProgress(++processed, total);
+                        }
+                    }
+                    // Cached documents still queue up behind the ones ahead of them to keep the order
+                    Future<byte[]> pdf;
+                    if (cached.isPresent()) {
+                        pendingBytes.addAndGet(cached.get().length);
+                        pdf = java.util.concurrent.CompletableFuture.completedFuture(cached.get());
+                    } else {
+                        pdf = reportRenderExecutor.submit(() -> {
+                            byte[] rendered = job.renderer().render();
+                            renderedReportCache.put(job.cacheKey(), rendered);
+                            pendingBytes.addAndGet(rendered.length);
+                            return rendered;
+                        });
                     }
+                    pending.addLast(new PendingDocument(participant.getParticipantId(), job.kind(), fileName, pdf, lastOfParticipant));
                 }
             }
-            
-            byte[] zipBytes = zipOutput.toByteArray();
-            log.info("Successfully generated ZIP file with {} participants for event {}", participants.size(), eventId);
-            return Optional.of(zipBytes);
-            
-        } catch (Exception e) {
-            log.error("Error generating ZIP file of participant tickets for event {}: {}", eventId, e.getMessage(), e);
+            while (!pending.isEmpty()) {
+                PendingDocument done = pending.removeFirst();
+                written += writePendingDocument(zipStream, done, pendingBytes);
+                if (done.lastOfParticipant()) {
+                    progress.onProgress(++processed, total);
+                }
+            }
+            return written;
+        } finally {
+            // Only non-empty if we bailed out early; don't leave orphaned renders behind
+            pending.forEach(document -> document.pdf().cancel(true));
+        }
+    }
+
+    /**
+     * The documents of one participant, with the seats of the participant already loaded.
+     */
+    private List<DocumentJob> documentJobs(EventArchive archive, EventEntity event, ParticipantEntity participant, ShowEntity show,
+                                           VenueEntity venue, VenueGeometry geometry, UserEntity organizer, List<ReservedSeatDto> seats) {
+        List<DocumentJob> jobs = new ArrayList<>(2);
+        if (archive.tickets) {
+            TicketData data = prepareTicketData(event, participant, show, venue, organizer, seats);
+            jobs.add(new DocumentJob("ticket", buildTicketFilename(event, participant, show),
+                    ticketFingerprint(data), () -> createPdfTicket(data)));
+        }
+        if (archive.maps) {
+            java.util.Set<Long> seatIds = seats.stream().map(ReservedSeatDto::seatId).collect(Collectors.toSet());
+            jobs.add(new DocumentJob("map", buildMapFilename(event, participant, show),
+                    mapFingerprint(event, participant, show, venue, geometry, seatIds, organizer),
+                    () -> createPdfMap(event, participant, show, venue, geometry, seatIds, organizer)));
+        }
+        return jobs;
+    }
+
+    /**
+     * Renders the tickets and maps of some participants of an event into the report cache, so that
+     * later downloads by the current user, single or archived, are served from it. Documents that
+     * are cached already are skipped.
+     * <p>
+     * Document data is loaded in one read-only transaction; the documents are then rendered on the
+     * calling thread, one at a time. Rendering stops before the next document once {@code proceed}
+     * returns false or the thread is interrupted.
+     *
+     * @return the participants whose documents were not all rendered
+     */
+    public Set<Long> prerenderParticipantDocuments(Long eventId, Set<Long> participantIds, BooleanSupplier proceed) {
+        UserEntity organizer = resolveOrganizer();
+        Map<Long, List<DocumentJob>> jobsByParticipant = new java.util.LinkedHashMap<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Optional<EventEntity> eventOpt = eventRepository.findById(eventId);
+            if (eventOpt.isEmpty()) {
+                log.debug("Event {} no longer exists, nothing to pre-render", eventId);
+                return;
+            }
+            EventEntity event = eventOpt.get();
+            Optional<ShowEntity> show = showRepository.findById(event.getShowId());
+            Optional<VenueEntity> venue = venueRepository.findById(event.getVenueId());
+            if (show.isEmpty() || venue.isEmpty()) {
+                log.warn("Show or venue not found for event {}", eventId);
+                return;
+            }
+            // Same query as the archives, so the documents get the same cache keys
+            java.util.Map<Long, List<ReservedSeatDto>> seatsByParticipant = reservationRepository.findReservedSeatsByEventId(eventId)
+                    .stream()
+                    .filter(seat -> participantIds.contains(seat.participantId()))
+                    .collect(java.util.stream.Collectors.groupingBy(ReservedSeatDto::participantId));
+            VenueGeometry geometry = venueGeometry(venue.get());
+            for (ParticipantEntity participant : participantRepository.findByEventId(eventId)) {
+                if (participantIds.contains(participant.getParticipantId())) {
+                    List<ReservedSeatDto> seats = seatsByParticipant.getOrDefault(participant.getParticipantId(), List.of());
+                    jobsByParticipant.put(participant.getParticipantId(), documentJobs(EventArchive.TICKETS_AND_MAPS,
+                            event, participant, show.get(), venue.get(), geometry, organizer, seats));
+                }
+            }
+        });
+
+        Set<Long> remaining = new HashSet<>(jobsByParticipant.keySet());
+        int rendered = 0;
+        for (Map.Entry<Long, List<DocumentJob>> entry : jobsByParticipant.entrySet()) {
+            for (DocumentJob job : entry.getValue()) {
+                if (renderedReportCache.get(job.cacheKey()).isPresent()) {
+                    continue;
+                }
+                if (Thread.currentThread().isInterrupted() || !proceed.getAsBoolean()) {
+                    log.debug("Pre-rendering for event {} paused with {} participants left", eventId, remaining.size());
+                    return remaining;
+                }
+                try {
+                    renderedReportCache.put(job.cacheKey(), job.renderer().render());
+                    rendered++;
+                } catch (Exception e) {
+                    log.error("Error pre-rendering {} for participant {}: {}", job.kind(), entry.getKey(), e.getMessage());
+                }
+            }
+            remaining.remove(entry.getKey());
+        }
+        log.debug("Pre-rendered {} documents of {} participants of event {}", rendered, jobsByParticipant.size(), eventId);
+        return remaining;
+    }
+
+    private int writePendingDocument(ZipOutputStream zipStream, PendingDocument document, AtomicLong pendingBytes)
+            throws IOException, InterruptedException {
+        byte[] pdf;
+        try {
+            pdf = document.pdf().get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("Error generating {} for participant {}: {}", document.kind(), document.participantId(), cause.getMessage());
+            return 0;
+        }
+        try {
+            writeZipEntry(zipStream, document.fileName(), pdf);
+        } catch (ZipException e) {
+            // The archive is still intact, only this entry is left out
+            log.error("Error adding {} for participant {} to ZIP: {}", document.kind(), document.participantId(), e.getMessage());
+            return 0;
+        } finally {
+            pendingBytes.addAndGet(-pdf.length);
+        }
+        log.debug("Added {} for participant {} to ZIP", document.kind(), document.participantId());
+        return 1;
+    }
+
+    /**
+     * @return the file name, or if an entry of that name was written already, the file name with the
+     *         participant ID appended
+     */
+    private static String uniqueEntryName(Set<String> entryNames, String fileName, Long participantId) {
+        if (entryNames.add(fileName)) {
+            return fileName;
+        }
+        int extension = fileName.lastIndexOf('.');
+        String base = extension > 0 ? fileName.substring(0, extension) : fileName;
+        String suffix = extension > 0 ? fileName.substring(extension) : "";
+        String unique = base + "_" + participantId + suffix;
+        for (int i = 2; !entryNames.add(unique); i++) {
+            unique = base + "_" + participantId + "_" + i + suffix;
+        }
+        return unique;
+    }
+
+    private void writeZipEntry(ZipOutputStream zipStream, String fileName, byte[] content) throws IOException {
+        // STORED entries need size and checksum before the data is written
+        CRC32 crc = new CRC32();
+        crc.update(content);
+        ZipEntry entry = new ZipEntry(fileName);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(content.length);
+        entry.setCompressedSize(content.length);
+        entry.setCrc(crc.getValue());
+        zipStream.putNextEntry(entry);
+        zipStream.write(content);
+        zipStream.closeEntry();
+    }
+
+    /**
+     * Prepares a single PDF with the tickets of all participants of an event, one after another in
+     * participant order, to be printed as one job.
+     * <p>
+     * Like the ZIP archives, the document is produced while it is written to the response. All
+     * tickets share one set of fonts and images, so each font subset and each image is embedded
+     * once instead of once per ticket.
+     *
+     * @return the streaming document, or empty if the event does not exist or has no participants
+     */
+    public Optional<StreamingResource> generateAllParticipantTicketsPdf(Long eventId) {
+        log.info("Generating print PDF with all participant tickets for event {}", eventId);
+        if (!hasParticipants(eventId)) {
             return Optional.empty();
         }
+        UserEntity organizer = resolveOrganizer();
+        return Optional.of(new StreamingResource("participant tickets PDF of event " + eventId,
+                outputStream -> writeMergedTickets(eventId, organizer, outputStream, ReportProgressListener.NONE)));
+    }
+
+    /**
+     * Writes a single PDF with the tickets of all participants of an event to the given stream, see
+     * {@link #writeAllParticipantTicketsZip}.
+     */
+    public void writeAllParticipantTicketsPdf(Long eventId, java.io.OutputStream outputStream, ReportProgressListener progress) throws IOException {
+        writeMergedTickets(eventId, resolveOrganizer(), outputStream, progress);
+    }
+
+    /**
+     * Renders all tickets into one document and saves it to the stream.
+     * <p>
+     * A PDFBox document is not thread-safe, so the tickets are drawn one after another on the
+     * calling thread. The document is only written out once complete, so it is backed by a scratch
+     * file: page content and images beyond {@code app.report.render.scratch-memory} are kept on disk
+     * instead of the heap, and the size of the event does not bound what the heap has to hold.
+     */
+    private void writeMergedTickets(Long eventId, UserEntity organizer, java.io.OutputStream outputStream,
+                                    ReportProgressListener progress) throws IOException {
+        writeEventReport(eventId, "tickets PDF", false, data -> {
+            List<ParticipantEntity> participants = data.participants();
+            MemoryUsageSetting memory = MemoryUsageSetting.setupMixed(reportProperties.getRender().getScratchMemory().toBytes());
+            try (PDDocument document = new PDDocument(memory.streamCache)) {
+                ReportFonts fonts = fontRegistry.forDocument(document);
+                Map<PreparedImage, PDImageXObject> images = new HashMap<>();
+                int total = participants.size();
+                int written = 0;
+                progress.onProgress(0, total);
+                for (int i = 0; i < total; i++) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException("Document rendering interrupted");
+                    }
+                    ParticipantEntity participant = participants.get(i);
+                    int firstPage = document.getNumberOfPages();
+                    try {
+                        List<ReservedSeatDto> seats = data.seatsByParticipant().getOrDefault(participant.getParticipantId(), List.of());
+                        addTicketPages(document, fonts, images,
+                                prepareTicketData(data.event(), participant, data.show(), data.venue(), organizer, seats));
+                        written++;
+                    } catch (IOException | RuntimeException e) {
+                        log.error("Error generating ticket for participant {}: {}", participant.getParticipantId(), e.getMessage());
+                        // Drop whatever part of the ticket was already drawn
+                        while (document.getNumberOfPages() > firstPage) {
+                            document.removePage(document.getNumberOfPages() - 1);
+                        }
+                    }
+                    progress.onProgress(i + 1, total);
+                }
+                // Not closed: that would close the servlet output stream underneath
+                document.save(StreamUtils.nonClosing(outputStream));
+                log.info("Successfully streamed tickets PDF with {} pages for {} of {} participants of event {}",
+                        document.getNumberOfPages(), written, total, eventId);
+            }
+        });
     }
 
     /**
@@ -1387,15 +1846,7 @@ public class ReportService {
                 return String.format("participant_ticket_%s_event_%d.pdf", participantId, eventId);
             }
             
-            ShowEntity show = showOpt.get();
-            
-            // Generate filename: participant_name_date_show_name.pdf
-            String participantName = sanitizeFilename(participant.getName() != null ? participant.getName() : "unknown");
-            String showName = sanitizeFilename(show.getName() != null ? show.getName() : "unknown_show");
-            String date = event.getDateTime() != null ? 
-                event.getDateTime().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) : "unknown_date";
-            
-            return String.format("%s_%s_%s.pdf", participantName, date, showName);
+            return buildTicketFilename(event, participant, showOpt.get());
             
         } catch (Exception e) {
             log.error("Error generating filename for participant ticket: {}", e.getMessage());
@@ -1404,6 +1855,16 @@ public class ReportService {
         }
     }
 
+    private String buildTicketFilename(EventEntity event, ParticipantEntity participant, ShowEntity show) {
+        // Generate filename: participant_name_date_show_name.pdf
+        String participantName = sanitizeFilename(participant.getName() != null ? participant.getName() : "unknown");
+        String showName = sanitizeFilename(show.getName() != null ? show.getName() : "unknown_show");
+        String date = event.getDateTime() != null ? 
+            event.getDateTime().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) : "unknown_date";
+        
+        return String.format("%s_%s_%s.pdf", participantName, date, showName);
+    }
+
     /**
      * Generates a standardized filename for the ZIP file containing all participant tickets
      * @param eventId the event ID
@@ -1430,6 +1891,33 @@ public class ReportService {
             return String.format("event_%d.zip", eventId);
         }
     }
+
+    /**
+     * Generates a standardized filename for the ZIP file containing all participant maps
+     * @param eventId the event ID
+     * @return formatted filename for the ZIP file
+     */
+    public String generateParticipantMapsZipFilename(Long eventId) {
+        return generateParticipantTicketsZipFilename(eventId).replaceFirst("\\.zip$", "_maps.zip");
+    }
+
+    /**
+     * Generates a standardized filename for the ZIP file containing all participant tickets and maps
+     * @param eventId the event ID
+     * @return formatted filename for the ZIP file
+     */
+    public String generateParticipantDocumentsZipFilename(Long eventId) {
+        return generateParticipantTicketsZipFilename(eventId).replaceFirst("\\.zip$", "_tickets_maps.zip");
+    }
+
+    /**
+     * Generates a standardized filename for the print PDF containing all participant tickets
+     * @param eventId the event ID
+     * @return formatted filename for the PDF file
+     */
+    public String generateParticipantTicketsPdfFilename(Long eventId) {
+        return generateParticipantTicketsZipFilename(eventId).replaceFirst("\\.zip$", "_tickets.pdf");
+    }
     
     private float addOrganizerTextOnly(PDPageContentStream contentStream, PDFont bodyFont, float margin, float yPosition, float lineHeight, UserEntity organizer) throws IOException {
         // Organizer name
@@ -1450,41 +1938,6 @@ public class ReportService {
         return yPosition;
     }
 
-    private static class Point {
-        final double x, y;
-        Point(double x, double y) { this.x = x; this.y = y; }
-    }
-
-    private List<Point> getConvexHull(List<Point> points) {
-        if (points.size() <= 2) return points;
-        List<Point> sortedPoints = new java.util.ArrayList<>(points);
-        sortedPoints.sort((a, b) -> a.x != b.x ? Double.compare(a.x, b.x) : Double.compare(a.y, b.y));
-        List<Point> upper = new java.util.ArrayList<>();
-        List<Point> lower = new java.util.ArrayList<>();
-        for (Point p : sortedPoints) {
-            while (upper.size() >= 2 && cross(upper.get(upper.size() - 2), upper.get(upper.size() - 1), p) <= 0) {
-                upper.remove(upper.size() - 1);
-            }
-            upper.add(p);
-        }
-        for (int i = sortedPoints.size() - 1; i >= 0; i--) {
-            Point p = sortedPoints.get(i);
-            while (lower.size() >= 2 && cross(lower.get(lower.size() - 2), lower.get(lower.size() - 1), p) <= 0) {
-                lower.remove(lower.size() - 1);
-            }
-            lower.add(p);
-        }
-        upper.remove(upper.size() - 1);
-        lower.remove(lower.size() - 1);
-        List<Point> hull = new java.util.ArrayList<>(upper);
-        hull.addAll(lower);
-        return hull;
-    }
-
-    private double cross(Point o, Point a, Point b) {
-        return (a.x - o.x) * (b.y - o.y) - (a.y - o.y) * (b.x - o.x);
-    }
-
     @Transactional(readOnly = true)
     public Optional<byte[]> generateParticipantMap(Long eventId, Long participantId) {
         log.info("Generating PDF map for participant {} in event {}", participantId, eventId);
@@ -1529,8 +1982,17 @@ public class ReportService {
                 .map(ReservationEntity::getSeatId)
                 .collect(java.util.stream.Collectors.toSet());
 
+            VenueGeometry geometry = venueGeometry(venue);
+            String cacheKey = mapFingerprint(event, participant, show, venue, geometry, participantSeatIds, organizer);
+            Optional<byte[]> cached = renderedReportCache.get(cacheKey);
+            if (cached.isPresent()) {
+                log.debug("Serving map for participant {} from cache", participantId);
+                return cached;
+            }
+
             // Generate PDF
-            byte[] pdfBytes = createPdfMap(event, participant, show, venue, participantSeatIds, organizer);
+            byte[] pdfBytes = createPdfMap(event, participant, show, venue, geometry, participantSeatIds, organizer);
+            renderedReportCache.put(cacheKey, pdfBytes);
             return Optional.of(pdfBytes);
             
         } catch (Exception e) {
@@ -1539,7 +2001,165 @@ public class ReportService {
         }
     }
 
-    private byte[] createPdfMap(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue, java.util.Set<Long> participantSeatIds, UserEntity organizer) throws IOException {
+    /**
+     * Renders the overview of a participant map as an image about {@code width} pixels wide, for
+     * viewing on screen instead of downloading the PDF; see {@link MapPreviewRenderer#previewWidth}.
+     * <p>
+     * The preview only shows which sectors the participant has seats in, so participants with seats
+     * in the same sectors get the same image; previews are cached by the highlighted sectors rather
+     * than by participant.
+     *
+     * @return the encoded image, or empty if the event or participant does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> generateParticipantMapPreview(Long eventId, Long participantId, int width, MapPreviewRenderer.Format format) {
+        log.debug("Generating {} map preview for participant {} in event {}", format, participantId, eventId);
+
+        try {
+            Optional<EventEntity> eventOpt = eventRepository.findById(eventId);
+            if (eventOpt.isEmpty() || !participantRepository.existsByParticipantIdAndEventId(participantId, eventId)) {
+                log.warn("Event or participant not found - eventId: {}, participantId: {}", eventId, participantId);
+                return Optional.empty();
+            }
+            Optional<VenueEntity> venueOpt = venueRepository.findById(eventOpt.get().getVenueId());
+            if (venueOpt.isEmpty()) {
+                log.warn("Venue not found for event {}", eventId);
+                return Optional.empty();
+            }
+            VenueEntity venue = venueOpt.get();
+            double venueWidth = venue.getWidth() != null ? venue.getWidth() : 3000.0;
+            double venueHeight = venue.getHeight() != null ? venue.getHeight() : 1500.0;
+
+            java.util.Set<Long> participantSeatIds = reservationRepository.findByEventIdAndParticipantId(eventId, participantId).stream()
+                    .map(ReservationEntity::getSeatId)
+                    .collect(java.util.stream.Collectors.toSet());
+            VenueGeometry geometry = venueGeometry(venue);
+            List<SectorGeometry> highlighted = geometry.getSectors().stream()
+                    .filter(sector -> sector.containsAny(participantSeatIds))
+                    .toList();
+
+            ReportFingerprint fingerprint = ReportFingerprint.of("map-preview")
+                    .add(geometry.getFingerprint()).add(venueWidth).add(venueHeight)
+                    .add(MapPreviewRenderer.previewWidth(width)).add(format.name()).add(highlighted.size());
+            highlighted.forEach(sector -> fingerprint.add(sector.getSectorId()));
+            String cacheKey = fingerprint.build();
+            Optional<byte[]> cached = renderedReportCache.get(cacheKey);
+            if (cached.isPresent()) {
+                return cached;
+            }
+
+            byte[] image = mapPreviewRenderer.render(geometry, venueWidth, venueHeight, highlighted, width, format);
+            renderedReportCache.put(cacheKey, image);
+            return Optional.of(image);
+
+        } catch (Exception e) {
+            log.error("Error generating participant map preview: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * SVG map of the event's venue with the participant's seats in their seat colour, streamed to
+     * the response. The venue layout and reservations are loaded here; the document is written from
+     * them without further queries.
+     *
+     * @return the map, or empty if the event or participant does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<StreamingResource> generateParticipantMapSvg(Long eventId, Long participantId) {
+        log.debug("Generating SVG map for participant {} in event {}", participantId, eventId);
+
+        try {
+            Optional<EventEntity> eventOpt = eventRepository.findById(eventId);
+            Optional<ParticipantEntity> participantOpt = participantRepository.findByParticipantIdAndEventId(participantId, eventId);
+            if (eventOpt.isEmpty() || participantOpt.isEmpty()) {
+                log.warn("Event or participant not found - eventId: {}, participantId: {}", eventId, participantId);
+                return Optional.empty();
+            }
+            String color = SvgMapWriter.seatColor(participantOpt.get().getSeatColor());
+            Map<Long, String> seatColors = new HashMap<>();
+            for (ReservationEntity reservation : reservationRepository.findByEventIdAndParticipantId(eventId, participantId)) {
+                seatColors.put(reservation.getSeatId(), color);
+            }
+            return mapSvg(eventOpt.get(), seatColors, "SVG map of participant " + participantId + " in event " + eventId);
+
+        } catch (Exception e) {
+            log.error("Error generating participant SVG map: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * SVG map of the event's venue with the seats of every participant in their seat colour.
+     *
+     * @return the map, or empty if the event does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<StreamingResource> generateEventMapSvg(Long eventId) {
+        log.debug("Generating SVG map for event {}", eventId);
+
+        try {
+            Optional<EventEntity> eventOpt = eventRepository.findById(eventId);
+            if (eventOpt.isEmpty()) {
+                log.warn("Event not found: {}", eventId);
+                return Optional.empty();
+            }
+            Map<Long, String> participantColors = new HashMap<>();
+            for (ParticipantEntity participant : participantRepository.findByEventId(eventId)) {
+                participantColors.put(participant.getParticipantId(), SvgMapWriter.seatColor(participant.getSeatColor()));
+            }
+            Map<Long, String> seatColors = new HashMap<>();
+            for (ReservationEntity reservation : reservationRepository.findByEventId(eventId)) {
+                seatColors.put(reservation.getSeatId(),
+                        participantColors.getOrDefault(reservation.getParticipantId(), SvgMapWriter.DEFAULT_SEAT_COLOR));
+            }
+            return mapSvg(eventOpt.get(), seatColors, "SVG map of event " + eventId);
+
+        } catch (Exception e) {
+            log.error("Error generating event SVG map: {}", e.getMessage(), e);
+            return Optional.empty();
+        }
+    }
+
+    private Optional<StreamingResource> mapSvg(EventEntity event, Map<Long, String> seatColors, String description) {
+        Optional<VenueEntity> venueOpt = venueRepository.findById(event.getVenueId());
+        if (venueOpt.isEmpty()) {
+            log.warn("Venue not found for event {}", event.getEventId());
+            return Optional.empty();
+        }
+        VenueEntity venue = venueOpt.get();
+        double venueWidth = venue.getWidth() != null ? venue.getWidth() : 3000.0;
+        double venueHeight = venue.getHeight() != null ? venue.getHeight() : 1500.0;
+        VenueGeometry geometry = venueGeometry(venue);
+        return Optional.of(new StreamingResource(description,
+                outputStream -> SvgMapWriter.write(geometry, venueWidth, venueHeight, seatColors, outputStream)));
+    }
+
+    /**
+     * The venue layout shared by all participant maps, built from a single seat query on first use.
+     */
+    private VenueGeometry venueGeometry(VenueEntity venue) {
+        return venueGeometryCache.get(venue.getVenueId(), () -> VenueGeometry.build(venue.getVenueId(),
+                venue.getSectors() != null ? venue.getSectors() : List.of(),
+                seatRepository.findAllByVenueIdWithRowAndSector(venue.getVenueId())));
+    }
+
+    /**
+     * Fingerprint of everything that ends up on a participant map, including the geometry of the
+     * whole venue (all sectors are drawn on the overview page).
+     */
+    private String mapFingerprint(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue,
+                                  VenueGeometry geometry, java.util.Set<Long> participantSeatIds, UserEntity organizer) {
+        ReportFingerprint fingerprint = ReportFingerprint.of("map");
+        addEventShowVenue(fingerprint, event, show, venue);
+        addParticipant(fingerprint, participant);
+        addOrganizer(fingerprint, organizer);
+        new java.util.TreeSet<>(participantSeatIds).forEach(fingerprint::add);
+        fingerprint.add(geometry.getFingerprint());
+        return fingerprint.build();
+    }
+
+    private byte[] createPdfMap(EventEntity event, ParticipantEntity participant, ShowEntity show, VenueEntity venue, VenueGeometry geometry, java.util.Set<Long> participantSeatIds, UserEntity organizer) throws IOException {
         try (PDDocument document = new PDDocument()) {
             // Determine orientation based on venue layout
             double venueWidth = venue.getWidth() != null ? venue.getWidth() : 3000.0;
@@ -1553,13 +2173,16 @@ public class ReportService {
             PDPage page = new PDPage(pageSize);
             document.addPage(page);
             
-            Set<SectorEntity> participantSectors = new java.util.LinkedHashSet<>();
+            List<SectorGeometry> participantSectors = new ArrayList<>();
+            ReportFonts fonts = fontRegistry.forDocument(document);
+            Map<String, PDFormXObject> forms = new HashMap<>();
+            PDImageXObject organizerLogo = null;
+            float maxLogoSize = 60;
             PDPageContentStream contentStream = new PDPageContentStream(document, page);
             try {
-                // Set up fonts
-                PDFont headerFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-bold.ttf"));
-                PDFont bodyFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-regular.ttf"));
-                PDFont serifFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/ptserif-regular.ttf"));
+                PDFont headerFont = fonts.header();
+                PDFont bodyFont = fonts.body();
+                PDFont serifFont = fonts.serif();
 
                 float margin = 50;
                 float pageWidth = page.getMediaBox().getWidth();
@@ -1567,24 +2190,24 @@ public class ReportService {
                 float yPosition = pageHeight - margin;
 
                 // --- Logo (Top Right) ---
+                // A single image object is shared by the overview and all sector pages
                 if (organizer != null && organizer.getThumbnail() != null) {
                     try {
-                        PDImageXObject logoImage = PDImageXObject.createFromByteArray(document, organizer.getThumbnail(), "organizer_logo");
-                        
-                        if (logoImage != null) {
-                            float maxLogoSize = 60; 
-                            float logoScale = Math.min(maxLogoSize / logoImage.getWidth(), maxLogoSize / logoImage.getHeight());
-                            float lWidth = logoImage.getWidth() * logoScale;
-                            float lHeight = logoImage.getHeight() * logoScale;
-                            float logoX = pageWidth - margin - lWidth;
-                            float logoY = yPosition - lHeight + 18; // Moved slightly higher to align with text top
-                            
-                            contentStream.drawImage(logoImage, logoX, logoY, lWidth, lHeight);
-                        }
+                        organizerLogo = reportImageCache.toXObject(document, organizerImageOwner(organizer),
+                                organizer.getThumbnail(), maxLogoSize, maxLogoSize);
                     } catch (Exception e) {
                         log.warn("Could not load organizer logo for map: {}", e.getMessage());
                     }
                 }
+                if (organizerLogo != null) {
+                    float logoScale = Math.min(maxLogoSize / organizerLogo.getWidth(), maxLogoSize / organizerLogo.getHeight());
+                    float lWidth = organizerLogo.getWidth() * logoScale;
+                    float lHeight = organizerLogo.getHeight() * logoScale;
+                    float logoX = pageWidth - margin - lWidth;
+                    float logoY = yPosition - lHeight + 18; // Moved slightly higher to align with text top
+                    
+                    contentStream.drawImage(organizerLogo, logoX, logoY, lWidth, lHeight);
+                }
 
                 // Title and Event Information (Top Left) in Polish
                 contentStream.setFont(headerFont, 16);
@@ -1638,30 +2261,18 @@ public class ReportService {
                 float drawX = margin + offsetX;
                 float drawY = margin + offsetY;
 
-                // Fetch sectors for map
-                List<SectorEntity> sectors = venue.getSectors();
-                if (sectors != null) {
-                    for (SectorEntity sector : sectors) {
-                        boolean sectorHasParticipantSeats = false;
-                        if (sector.getSeatRows() != null) {
-                            for (SeatRowEntity row : sector.getSeatRows()) {
-                                if (row.getSeats() != null) {
-                                    for (SeatEntity seat : row.getSeats()) {
-                                        if (participantSeatIds.contains(seat.getSeatId())) {
-                                            sectorHasParticipantSeats = true;
-                                            break;
-                                        }
-                                    }
-                                }
-                                if (sectorHasParticipantSeats) break;
+                // All sectors in grey come from the layout's template, the participant's sectors are
+                // drawn highlighted on top of it
+                contentStream.drawForm(mapForm(document, fonts, forms, geometry,
+                        "overview:" + venueWidth + "x" + venueHeight, pageSize, (templateStream, templateFonts) -> {
+                            for (SectorGeometry sector : geometry.getSectors()) {
+                                drawSector(templateStream, sector, false, scale, drawX, drawY, (float)venueHeight, templateFonts.body());
                             }
-                        }
-                        
-                        drawSector(contentStream, sector, scale, drawX, drawY, (float)venueHeight, participantSeatIds, bodyFont);
-                        
-                        if (sectorHasParticipantSeats) {
-                            participantSectors.add(sector);
-                        }
+                        }));
+                for (SectorGeometry sector : geometry.getSectors()) {
+                    if (sector.containsAny(participantSeatIds)) {
+                        drawSector(contentStream, sector, true, scale, drawX, drawY, (float)venueHeight, bodyFont);
+                        participantSectors.add(sector);
                     }
                 }
 
@@ -1669,13 +2280,9 @@ public class ReportService {
                 contentStream.close();
             }
 
-            // Add detail pages for each sector the participant has seats in
-            PDFont sectorTitleFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/ptserif-regular.ttf"));
-            PDFont sectorRowFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-bold.ttf"));
-            PDFont sectorSeatFont = PDType0Font.load(document, getClass().getResourceAsStream("/fonts/arimo-regular.ttf"));
-            
-            for (SectorEntity sector : participantSectors) {
-                addSectorDetailPage(document, sector, participantSeatIds, sectorTitleFont, sectorRowFont, sectorSeatFont, organizer);
+            // Add detail pages for each sector the participant has seats in, reusing the document fonts
+            for (SectorGeometry sector : participantSectors) {
+                addSectorDetailPage(document, fonts, forms, geometry, sector, participantSeatIds, organizerLogo);
             }
             
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
@@ -1684,71 +2291,8 @@ public class ReportService {
         }
     }
 
-    private void drawSector(PDPageContentStream contentStream, SectorEntity sector, float scale, float drawX, float drawY, float venueHeight, java.util.Set<Long> participantSeatIds, PDFont font) throws IOException {
-        boolean hasParticipantSeats = false;
-        List<Point> points = new java.util.ArrayList<>();
-        
-        List<SeatRowEntity> rows = sector.getSeatRows();
-        if (rows != null) {
-            for (SeatRowEntity row : rows) {
-                List<SeatEntity> seats = row.getSeats();
-                if (seats != null) {
-                    for (SeatEntity seat : seats) {
-                        if (participantSeatIds.contains(seat.getSeatId())) {
-                            hasParticipantSeats = true;
-                        }
-                        if (seat.getPositionX() != null && seat.getPositionY() != null) {
-                            points.add(new Point(seat.getPositionX() * 0.4, seat.getPositionY() * 0.4));
-                        }
-                    }
-                }
-            }
-        }
-        
-        if (points.isEmpty()) return;
-
-        // Flip Y logic to match frontend (venue-map-edit.component.ts)
-        long negativeYCount = points.stream().filter(p -> p.y < 0).count();
-        long positiveYCount = points.stream().filter(p -> p.y > 0).count();
-        if (negativeYCount > positiveYCount) {
-             double maxY = points.stream().mapToDouble(p -> p.y).max().orElse(0);
-             List<Point> flippedPoints = new java.util.ArrayList<>();
-             for (Point p : points) {
-                 flippedPoints.add(new Point(p.x, maxY - p.y));
-             }
-             points = flippedPoints;
-        }
-
-        List<Point> hull = getConvexHull(points);
-        if (hull.size() < 2) {
-            double minX = points.stream().mapToDouble(p -> p.x).min().orElse(0);
-            double maxX = points.stream().mapToDouble(p -> p.x).max().orElse(0);
-            double minY = points.stream().mapToDouble(p -> p.y).min().orElse(0);
-            double maxY = points.stream().mapToDouble(p -> p.y).max().orElse(0);
-            double padding = 8.0; // Padded for small sectors
-            hull = java.util.Arrays.asList(
-                new Point(minX - padding, minY - padding),
-                new Point(maxX + padding, minY - padding),
-                new Point(maxX + padding, maxY + padding),
-                new Point(minX - padding, maxY + padding)
-            );
-        }
-
-        double sectorX = sector.getPositionX() != null ? sector.getPositionX() : 0;
-        double sectorY = sector.getPositionY() != null ? sector.getPositionY() : 0;
-        double rotationRad = Math.toRadians(sector.getRotation() != null ? sector.getRotation() : 0);
-
-        List<Point> transformedHull = new java.util.ArrayList<>();
-        for (Point p : hull) {
-            double rx = p.x * Math.cos(rotationRad) - p.y * Math.sin(rotationRad);
-            double ry = p.x * Math.sin(rotationRad) + p.y * Math.cos(rotationRad);
-            double tx = rx + sectorX;
-            double ty = ry + sectorY;
-            
-            float pPdfX = drawX + (float)tx * scale;
-            float pPdfY = drawY + (venueHeight - (float)ty) * scale;
-            transformedHull.add(new Point(pPdfX, pPdfY));
-        }
+    private void drawSector(PDPageContentStream contentStream, SectorGeometry sector, boolean hasParticipantSeats, float scale, float drawX, float drawY, float venueHeight, PDFont font) throws IOException {
+        if (!sector.hasOutline()) return;
 
         if (hasParticipantSeats) {
             // Blue for participant sectors
@@ -1762,87 +2306,31 @@ public class ReportService {
             contentStream.setLineWidth(1.5f);
         }
 
-        contentStream.moveTo((float)transformedHull.get(0).x, (float)transformedHull.get(0).y);
-        for (int i = 1; i < transformedHull.size(); i++) {
-            contentStream.lineTo((float)transformedHull.get(i).x, (float)transformedHull.get(i).y);
+        // Outline is in venue space, y pointing down
+        contentStream.moveTo(drawX + (float)sector.outlineX(0) * scale, drawY + (venueHeight - (float)sector.outlineY(0)) * scale);
+        for (int i = 1; i < sector.outlineSize(); i++) {
+            contentStream.lineTo(drawX + (float)sector.outlineX(i) * scale, drawY + (venueHeight - (float)sector.outlineY(i)) * scale);
         }
         contentStream.closePath();
         contentStream.fillAndStroke();
 
-        // Calculate Centroid of the original (scaled 0.4) shape to match frontend anchor
-        double centroidX, centroidY;
-        if (hull.size() > 2) {
-             double area = 0, cx = 0, cy = 0;
-             for (int i = 0; i < hull.size(); i++) {
-                 Point p0 = hull.get(i);
-                 Point p1 = hull.get((i + 1) % hull.size());
-                 double cross = p0.x * p1.y - p1.x * p0.y;
-                 area += cross;
-                 cx += (p0.x + p1.x) * cross;
-                 cy += (p0.y + p1.y) * cross;
-             }
-             area = area / 2.0;
-             if (Math.abs(area) > 1e-7) {
-                 centroidX = cx / (6 * area);
-                 centroidY = cy / (6 * area);
-             } else {
-                 centroidX = hull.stream().mapToDouble(p -> p.x).average().orElse(0);
-                 centroidY = hull.stream().mapToDouble(p -> p.y).average().orElse(0);
-             }
-        } else {
-             centroidX = points.stream().mapToDouble(p -> p.x).average().orElse(0);
-             centroidY = points.stream().mapToDouble(p -> p.y).average().orElse(0);
-        }
-
-        // Label Logic
-        float finalFontSize;
-        float textRotation = 0;
-
-        // Apply offsets from DB (additive to centroid, already in scaled units)
-        double labelOffsetX = (sector.getLabelPositionX() != null) ? sector.getLabelPositionX() : 0;
-        double labelOffsetY = (sector.getLabelPositionY() != null) ? sector.getLabelPositionY() : 0;
-        
-        double lLocalX = centroidX + labelOffsetX;
-        double lLocalY = centroidY + labelOffsetY;
-        
-        // Apply Sector Rotation
-        double rx = lLocalX * Math.cos(rotationRad) - lLocalY * Math.sin(rotationRad);
-        double ry = lLocalX * Math.sin(rotationRad) + lLocalY * Math.cos(rotationRad);
-        
-        // Translate to Venue Space
-        double tx = rx + sectorX;
-        double ty = ry + sectorY;
-        
-        // Scale to PDF
-        float labelGlobalX = drawX + (float)tx * scale;
-        float labelGlobalY = drawY + (venueHeight - (float)ty) * scale;
+        // Label anchor (centroid plus label offset) scaled to PDF
+        float labelGlobalX = drawX + (float)sector.getLabelX() * scale;
+        float labelGlobalY = drawY + (venueHeight - (float)sector.getLabelY()) * scale;
         
+        float finalFontSize;
         if (sector.getLabelFontSize() != null) {
             // Heuristic multiplier - reduced further to be smaller
             finalFontSize = sector.getLabelFontSize() * scale; 
         } else {
             finalFontSize = Math.max(6, 12 * scale);
         }
-             
-        if (sector.getLabelRotation() != null) {
-            // Combined rotation: Sector + Label
-            double labelRot = sector.getLabelRotation();
-            double sectorRot = (sector.getRotation() != null) ? sector.getRotation() : 0;
-            // Negate for PDF coordinate system
-            textRotation = (float)Math.toRadians(-(sectorRot + labelRot)); 
-        } else {
-            // Just sector rotation? Frontend rotates labelGroup by labelRot (def 0)
-            // inside SectorGroup (rotated by sectorRot).
-            double sectorRot = (sector.getRotation() != null) ? sector.getRotation() : 0;
-            textRotation = (float)Math.toRadians(-sectorRot);
-        }
+        float textRotation = sector.getLabelRotation();
 
         contentStream.beginText();
         contentStream.setFont(font, finalFontSize);
         contentStream.setNonStrokingColor(java.awt.Color.BLACK);
-        String name = sector.getName() != null ? sector.getName() : "Sektor";
-        
-        name = name.replaceAll("[\\n\\r]", " ");
+        String name = sector.getLabel();
         float textWidth = font.getStringWidth(name) / 1000 * finalFontSize;
         
         org.apache.pdfbox.util.Matrix matrix = org.apache.pdfbox.util.Matrix.getTranslateInstance(labelGlobalX, labelGlobalY);
@@ -1863,239 +2351,198 @@ public class ReportService {
         contentStream.endText();
     }
 
-    private void addSectorDetailPage(PDDocument document, SectorEntity sector, Set<Long> participantSeatIds, PDFont titleFont, PDFont rowFont, PDFont seatFont, UserEntity organizer) throws IOException {
-        
-        // --- 1. PRE-CALCULATE DIMENSIONS TO DECIDE ORIENTATION ---
-        double rotationRad = Math.toRadians(sector.getRotation() != null ? sector.getRotation() : 0);
-        List<SeatEntity> allSeats = new ArrayList<>();
-        if (sector.getSeatRows() != null) {
-            for (SeatRowEntity row : sector.getSeatRows()) {
-                if (row.getSeats() != null) {
-                    allSeats.addAll(row.getSeats());
-                }
-            }
+    /**
+     * Form XObject of a map template of the layout, recorded once per layout and created once per
+     * document.
+     */
+    private PDFormXObject mapForm(PDDocument document, ReportFonts fonts, Map<String, PDFormXObject> documentForms,
+                                  VenueGeometry geometry, String key, PDRectangle pageSize, PdfTemplate.Drawing drawing) throws IOException {
+        PDFormXObject form = documentForms.get(key);
+        if (form == null) {
+            PdfTemplate template = mapTemplateCache.get(geometry, key, () -> PdfTemplate.record(fontRegistry, pageSize, drawing));
+            form = template.toForm(document, fonts);
+            documentForms.put(key, form);
         }
-        
-        if (allSeats.isEmpty()) return;
+        return form;
+    }
 
-        // Calculate transformed coordinates (rotated just like in the map)
-        List<Point> transformedPoints = new ArrayList<>();
-        List<Point> seatCenters = new ArrayList<>(); 
-        double borderPadding = 8.0; // Reduced padding
+    /**
+     * Placement of a sector on its detail page, the same for every participant.
+     */
+    private record SectorPageLayout(PDRectangle pageSize, float margin, float yPosition, double minX, double minY,
+                                    double contentHeight, double hullPadding, float drawX, float drawY, float scale,
+                                    float displayRadius) {
 
-        for (SeatEntity seat : allSeats) {
-            if (seat.getPositionX() == null || seat.getPositionY() == null) continue;
-            double sx = seat.getPositionX() * 0.4;
-            double sy = seat.getPositionY() * 0.4;
-            
-            // Rotation
-            double rx = sx * Math.cos(rotationRad) - sy * Math.sin(rotationRad);
-            double ry = sx * Math.sin(rotationRad) + sy * Math.cos(rotationRad);
-            
-            Point center = new Point(rx, ry);
-            seatCenters.add(center);
-            transformedPoints.add(center);
-            // Add points around the seat to push the hull out (padding)
-            transformedPoints.add(new Point(rx - borderPadding, ry - borderPadding));
-            transformedPoints.add(new Point(rx + borderPadding, ry - borderPadding));
-            transformedPoints.add(new Point(rx + borderPadding, ry + borderPadding));
-            transformedPoints.add(new Point(rx - borderPadding, ry + borderPadding));
-        }
-
-        // Model coordinates bounding box after rotation
-        double minX = transformedPoints.stream().mapToDouble(p -> p.x).min().orElse(0);
-        double maxX = transformedPoints.stream().mapToDouble(p -> p.x).max().orElse(0);
-        double minY = transformedPoints.stream().mapToDouble(p -> p.y).min().orElse(0);
-        double maxY = transformedPoints.stream().mapToDouble(p -> p.y).max().orElse(0);
+        float x(double modelX) {
+            return drawX + (float)(modelX - minX + hullPadding) * scale;
+        }
+
+        float y(double modelY) {
+            return drawY + (float)(contentHeight - (modelY - minY + hullPadding)) * scale;
+        }
+    }
 
+    private SectorPageLayout sectorPageLayout(SectorGeometry sector) {
+        // --- 1. DIMENSIONS (precomputed, rotated like in the map) DECIDE ORIENTATION ---
+        double minX = sector.getMinX();
+        double minY = sector.getMinY();
         double hullPadding = 10.0; // Reduced hull padding
-        double contentWidth = maxX - minX + 2 * hullPadding;
-        double contentHeight = maxY - minY + 2 * hullPadding;
+        double contentWidth = sector.getMaxX() - minX + 2 * hullPadding;
+        double contentHeight = sector.getMaxY() - minY + 2 * hullPadding;
 
         // Decide orientation: if wide, use Landscape
         boolean landscape = contentWidth > contentHeight * 1.2; // slight bias towards portrait unless clearly wide
-        
-        PDPage page = landscape 
-            ? new PDPage(new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth())) 
-            : new PDPage(PDRectangle.A4);
+        PDRectangle pageSize = landscape
+            ? new PDRectangle(PDRectangle.A4.getHeight(), PDRectangle.A4.getWidth())
+            : PDRectangle.A4;
+
+        // Reduced margin to use more page space (User Request: large margins issue)
+        float margin = 30;
+        float pageWidth = pageSize.getWidth();
+        float pageHeight = pageSize.getHeight();
+        // Title and ticket count above the map
+        float yPosition = pageHeight - margin;
+        float mapMaxWidth = pageWidth - 2 * margin;
+        float mapMaxHeight = yPosition - 18 - 30 - margin;
+
+        float scale = Math.min(mapMaxWidth / (float)contentWidth, mapMaxHeight / (float)contentHeight);
+
+        float offsetX = (mapMaxWidth - (float)contentWidth * scale) / 2;
+        float offsetY = (mapMaxHeight - (float)contentHeight * scale) / 2;
+
+        // Use precomputed non-overlapping radius scaled to PDF
+        float displayRadius = Math.max(1.5f, Math.min(12.0f, sector.getSeatRadius() * scale));
+        return new SectorPageLayout(pageSize, margin, yPosition, minX, minY, contentHeight, hullPadding,
+                margin + offsetX, margin + offsetY, scale, displayRadius);
+    }
+
+    private void addSectorDetailPage(PDDocument document, ReportFonts fonts, Map<String, PDFormXObject> forms, VenueGeometry geometry,
+                                     SectorGeometry sector, Set<Long> participantSeatIds, PDImageXObject organizerLogo) throws IOException {
+        if (!sector.hasSeats()) return;
+
+        SectorPageLayout layout = sectorPageLayout(sector);
+        PDPage page = new PDPage(layout.pageSize());
         document.addPage(page);
-        
+
+        // The title, outline and all seats in grey are the same on every participant's page
+        PDFormXObject sectorForm = mapForm(document, fonts, forms, geometry, "sector:" + sector.getSectorId(), layout.pageSize(),
+                (templateStream, templateFonts) -> drawSectorDetail(templateStream, sector, layout,
+                        templateFonts.header(), templateFonts.body()));
+
         try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-            // Reduced margin to use more page space (User Request: large margins issue)
-            float margin = 30;
-            float pageWidth = page.getMediaBox().getWidth();
-            float pageHeight = page.getMediaBox().getHeight();
-            float yPosition = pageHeight - margin;
+            contentStream.drawForm(sectorForm);
+
+            float margin = layout.margin();
+            float pageWidth = layout.pageSize().getWidth();
+            float yPosition = layout.yPosition();
 
             // --- Logo (Top Right) ---
-            if (organizer != null && organizer.getThumbnail() != null) {
-                try {
-                    PDImageXObject logoImage = PDImageXObject.createFromByteArray(document, organizer.getThumbnail(), "organizer_logo_sector_" + sector.getSectorId());
-                    if (logoImage != null) {
-                        float maxLogoSize = 60; 
-                        float logoScale = Math.min(maxLogoSize / logoImage.getWidth(), maxLogoSize / logoImage.getHeight());
-                        float lWidth = logoImage.getWidth() * logoScale;
-                        float lHeight = logoImage.getHeight() * logoScale;
-                        float logoX = pageWidth - margin - lWidth;
-                        float logoY = yPosition - lHeight + 18; 
-                        contentStream.drawImage(logoImage, logoX, logoY, lWidth, lHeight);
-                    }
-                } catch (Exception e) {
-                    log.warn("Could not load organizer logo for sector page: {}", e.getMessage());
-                }
+            if (organizerLogo != null) {
+                float maxLogoSize = 60; 
+                float logoScale = Math.min(maxLogoSize / organizerLogo.getWidth(), maxLogoSize / organizerLogo.getHeight());
+                float lWidth = organizerLogo.getWidth() * logoScale;
+                float lHeight = organizerLogo.getHeight() * logoScale;
+                float logoX = pageWidth - margin - lWidth;
+                float logoY = yPosition - lHeight + 18; 
+                contentStream.drawImage(organizerLogo, logoX, logoY, lWidth, lHeight);
             }
-
-            // Title (Sector Name) formatted like event name on first page
-            contentStream.setFont(rowFont, 16); // Arimo Bold
-            contentStream.beginText();
-            contentStream.newLineAtOffset(margin, yPosition);
-            safeShowText(contentStream, "Sektor: " + (sector.getName() != null ? sector.getName() : "N/A"));
-            contentStream.endText();
             yPosition -= 18;
 
             // Liczba biletów calculation and display
-            long ticketCountInSector = 0;
-            if (sector.getSeatRows() != null) {
-                for (SeatRowEntity row : sector.getSeatRows()) {
-                    if (row.getSeats() != null) {
-                        ticketCountInSector += row.getSeats().stream()
-                            .filter(s -> participantSeatIds.contains(s.getSeatId()))
-                            .count();
-                    }
-                }
-            }
+            long ticketCountInSector = sector.countOf(participantSeatIds);
 
-            contentStream.setFont(titleFont, 11); // PT Serif Regular
+            contentStream.setFont(fonts.serif(), 11); // PT Serif Regular
             contentStream.beginText();
             contentStream.newLineAtOffset(margin, yPosition);
             safeShowText(contentStream, "Liczba biletów: " + ticketCountInSector);
             contentStream.endText();
-            yPosition -= 30;
 
-            float mapMaxWidth = pageWidth - 2 * margin;
-            float mapMaxHeight = yPosition - margin;
-            
-            float scale = Math.min(mapMaxWidth / (float)contentWidth, mapMaxHeight / (float)contentHeight);
-            
-            float offsetX = (mapMaxWidth - (float)contentWidth * scale) / 2;
-            float offsetY = (mapMaxHeight - (float)contentHeight * scale) / 2;
-
-            float drawX = margin + offsetX;
-            float drawY = margin + offsetY;
-
-            // Draw Hull
-            List<Point> hull = getConvexHull(transformedPoints);
-            if (hull.size() < 2) {
-                hull = Arrays.asList(
-                    new Point(minX - 8, minY - 8),
-                    new Point(maxX + 8, minY - 8),
-                    new Point(maxX + 8, maxY + 8),
-                    new Point(minX - 8, maxY + 8)
-                );
+            // The participant's seats over the grey ones
+            for (int seat = 0; seat < sector.seatCount(); seat++) {
+                if (participantSeatIds.contains(sector.seatId(seat))) {
+                    drawSeat(contentStream, sector, seat, layout, true, fonts.body());
+                }
             }
+        }
+    }
 
-            contentStream.setStrokingColor(java.awt.Color.DARK_GRAY);
-            contentStream.setLineWidth(2.0f);
-            
-            // Draw hull (rotated)
-            float startX = drawX + (float)(hull.get(0).x - minX + hullPadding) * scale;
-            float startY = drawY + (float)(contentHeight - (hull.get(0).y - minY + hullPadding)) * scale;
-            contentStream.moveTo(startX, startY);
-            for (int i = 1; i < hull.size(); i++) {
-                float px = drawX + (float)(hull.get(i).x - minX + hullPadding) * scale;
-                float py = drawY + (float)(contentHeight - (hull.get(i).y - minY + hullPadding)) * scale;
-                contentStream.lineTo(px, py);
-            }
-            contentStream.closePath();
-            contentStream.stroke();
-
-            // Calculate dynamic radius to prevent overlap
-            double minDistanceSq = Double.MAX_VALUE;
-            if (seatCenters.size() > 1) {
-                for (int i = 0; i < seatCenters.size(); i++) {
-                     Point p1 = seatCenters.get(i);
-                     for (int j = i + 1; j < seatCenters.size(); j++) {
-                         Point p2 = seatCenters.get(j);
-                         double dSq = (p1.x - p2.x)*(p1.x - p2.x) + (p1.y - p2.y)*(p1.y - p2.y);
-                         if (dSq < minDistanceSq) {
-                             minDistanceSq = dSq;
-                         }
-                     }
+    private void drawSectorDetail(PDPageContentStream contentStream, SectorGeometry sector, SectorPageLayout layout,
+                                  PDFont rowFont, PDFont seatFont) throws IOException {
+        // Title (Sector Name) formatted like event name on first page
+        contentStream.setFont(rowFont, 16); // Arimo Bold
+        contentStream.beginText();
+        contentStream.newLineAtOffset(layout.margin(), layout.yPosition());
+        safeShowText(contentStream, "Sektor: " + (sector.getName() != null ? sector.getName() : "N/A"));
+        contentStream.endText();
+
+        contentStream.setStrokingColor(java.awt.Color.DARK_GRAY);
+        contentStream.setLineWidth(2.0f);
+
+        // Draw hull (rotated)
+        contentStream.moveTo(layout.x(sector.detailOutlineX(0)), layout.y(sector.detailOutlineY(0)));
+        for (int i = 1; i < sector.detailOutlineSize(); i++) {
+            contentStream.lineTo(layout.x(sector.detailOutlineX(i)), layout.y(sector.detailOutlineY(i)));
+        }
+        contentStream.closePath();
+        contentStream.stroke();
+
+        // Draw Seats and Row Labels
+        float displayRadius = layout.displayRadius();
+        for (int row = 0; row < sector.rowCount(); row++) {
+            float leftmostX = Float.MAX_VALUE;
+            float leftmostY = 0;
+            for (int seat = sector.rowStart(row); seat < sector.rowEnd(row); seat++) {
+                float px = layout.x(sector.seatX(seat));
+                if (px < leftmostX) {
+                    leftmostX = px;
+                    leftmostY = layout.y(sector.seatY(seat));
                 }
+                drawSeat(contentStream, sector, seat, layout, false, seatFont);
             }
-            
-            float optimalRadius = 5.5f;
-            if (minDistanceSq != Double.MAX_VALUE && minDistanceSq > 0) {
-                 float dist = (float)Math.sqrt(minDistanceSq);
-                 // Use 45% of distance for radius to ensure no overlap
-                 optimalRadius = Math.min(5.5f, dist * 0.45f);
+
+            // Add row label (name) slightly to the left of the leftmost seat of the row
+            String rowName = sector.rowName(row);
+            if (sector.rowEnd(row) > sector.rowStart(row) && rowName != null) {
+                contentStream.beginText();
+                float rowFontSize = Math.max(8, displayRadius * 1.5f);
+                contentStream.setFont(rowFont, rowFontSize);
+                contentStream.setNonStrokingColor(java.awt.Color.BLACK);
+                float rw = rowFont.getStringWidth(rowName) / 1000 * rowFontSize;
+                contentStream.newLineAtOffset(leftmostX - rw - displayRadius * 2, leftmostY - rowFontSize / 3);
+                safeShowText(contentStream, rowName);
+                contentStream.endText();
             }
+        }
+    }
 
-            // Draw Seats and Row Labels
-            float seatRadius = optimalRadius; 
-            // Use calculated non-overlapping radius scaled to PDF
-            float displayRadius = Math.max(1.5f, Math.min(12.0f, seatRadius * scale));
-
-            if (sector.getSeatRows() != null) {
-                for (SeatRowEntity row : sector.getSeatRows()) {
-                    List<SeatEntity> rowSeats = row.getSeats();
-                    if (rowSeats == null || rowSeats.isEmpty()) continue;
-
-                    List<Point> rowPoints = new ArrayList<>();
-                    for (SeatEntity seat : rowSeats) {
-                        if (seat.getPositionX() == null || seat.getPositionY() == null) continue;
-                        double sx = seat.getPositionX() * 0.4;
-                        double sy = seat.getPositionY() * 0.4;
-                        double rx = sx * Math.cos(rotationRad) - sy * Math.sin(rotationRad);
-                        double ry = sx * Math.sin(rotationRad) + sy * Math.cos(rotationRad);
-                        
-                        float px = drawX + (float)(rx - minX + hullPadding) * scale;
-                        float py = drawY + (float)(contentHeight - (ry - minY + hullPadding)) * scale;
-                        rowPoints.add(new Point(px, py));
-
-                        // Draw Seat
-                        if (participantSeatIds.contains(seat.getSeatId())) {
-                            contentStream.setNonStrokingColor(new java.awt.Color(33, 150, 243));
-                            contentStream.setStrokingColor(new java.awt.Color(25, 118, 210)); // Darker blue border
-                        } else {
-                            contentStream.setNonStrokingColor(new java.awt.Color(230, 230, 230));
-                            contentStream.setStrokingColor(java.awt.Color.GRAY); // Thin grey border
-                        }
-                        contentStream.setLineWidth(0.5f); // Thin border
-                        drawCircle(contentStream, px, py, displayRadius);
+    private void drawSeat(PDPageContentStream contentStream, SectorGeometry sector, int seat, SectorPageLayout layout,
+                          boolean highlighted, PDFont seatFont) throws IOException {
+        float px = layout.x(sector.seatX(seat));
+        float py = layout.y(sector.seatY(seat));
+        float displayRadius = layout.displayRadius();
 
-                        // Seat number
-                        if (scale > 0.35f) {
-                            contentStream.beginText();
-                            float labelFontSize = displayRadius * 1.1f;
-                            contentStream.setFont(seatFont, labelFontSize);
-                            contentStream.setNonStrokingColor(java.awt.Color.BLACK);
-                            String label = seat.getOrderNumber() != null ? seat.getOrderNumber().toString() : "";
-                            float tw = seatFont.getStringWidth(label) / 1000 * labelFontSize;
-                            contentStream.newLineAtOffset(px - tw / 2, py - labelFontSize / 3);
-                            safeShowText(contentStream, label);
-                            contentStream.endText();
-                        }
-                    }
+        // Draw Seat
+        if (highlighted) {
+            contentStream.setNonStrokingColor(new java.awt.Color(33, 150, 243));
+            contentStream.setStrokingColor(new java.awt.Color(25, 118, 210)); // Darker blue border
+        } else {
+            contentStream.setNonStrokingColor(new java.awt.Color(230, 230, 230));
+            contentStream.setStrokingColor(java.awt.Color.GRAY); // Thin grey border
+        }
+        contentStream.setLineWidth(0.5f); // Thin border
+        drawCircle(contentStream, px, py, displayRadius);
 
-                    // Add row label (name) at the left side of the row
-                    if (!rowPoints.isEmpty() && row.getName() != null) {
-                        // Find the leftmost point in the row to place the label
-                        Point leftmost = rowPoints.stream().min((p1, p2) -> Double.compare(p1.x, p2.x)).get();
-                        
-                        contentStream.beginText();
-                        float rowFontSize = Math.max(8, displayRadius * 1.5f);
-                        contentStream.setFont(rowFont, rowFontSize);
-                        contentStream.setNonStrokingColor(java.awt.Color.BLACK);
-                        String rowName = row.getName();
-                        float rw = rowFont.getStringWidth(rowName) / 1000 * rowFontSize;
-                        // Place it slightly to the left of the leftmost seat
-                        contentStream.newLineAtOffset((float)leftmost.x - rw - displayRadius * 2, (float)leftmost.y - rowFontSize / 3);
-                        safeShowText(contentStream, rowName);
-                        contentStream.endText();
-                    }
-                }
-            }
+        // Seat number
+        if (layout.scale() > 0.35f) {
+            contentStream.beginText();
+            float labelFontSize = displayRadius * 1.1f;
+            contentStream.setFont(seatFont, labelFontSize);
+            contentStream.setNonStrokingColor(java.awt.Color.BLACK);
+            String label = sector.seatLabel(seat);
+            float tw = seatFont.getStringWidth(label) / 1000 * labelFontSize;
+            contentStream.newLineAtOffset(px - tw / 2, py - labelFontSize / 3);
+            safeShowText(contentStream, label);
+            contentStream.endText();
         }
     }
 
@@ -2129,15 +2576,7 @@ public class ReportService {
                 return String.format("participant_map_%s_event_%d.pdf", participantId, eventId);
             }
             
-            ShowEntity show = showOpt.get();
-            
-            // Generate filename: participant_name_date_show_name_map.pdf
-            String participantName = sanitizeFilename(participant.getName() != null ? participant.getName() : "unknown");
-            String showName = sanitizeFilename(show.getName() != null ? show.getName() : "unknown_show");
-            String date = event.getDateTime() != null ? 
-                event.getDateTime().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) : "unknown_date";
-            
-            return String.format("%s_%s_%s_map.pdf", participantName, date, showName);
+            return buildMapFilename(event, participant, showOpt.get());
             
         } catch (Exception e) {
             log.error("Error generating filename for participant map: {}", e.getMessage());
@@ -2145,4 +2584,14 @@ public class ReportService {
             return String.format("participant_map_%s_event_%d.pdf", participantId, eventId);
         }
     }
+
+    private String buildMapFilename(EventEntity event, ParticipantEntity participant, ShowEntity show) {
+        // Generate filename: participant_name_date_show_name_map.pdf
+        String participantName = sanitizeFilename(participant.getName() != null ? participant.getName() : "unknown");
+        String showName = sanitizeFilename(show.getName() != null ? show.getName() : "unknown_show");
+        String date = event.getDateTime() != null ? 
+            event.getDateTime().format(DateTimeFormatter.ofPattern("yyyy_MM_dd")) : "unknown_date";
+        
+        return String.format("%s_%s_%s_map.pdf", participantName, date, showName);
+    }
 }
@@ -2,22 +2,28 @@ package dev.knightcore.proeventiq.service;
 
 import dev.knightcore.proeventiq.api.model.Reservation;
 import dev.knightcore.proeventiq.api.model.ReservationInput;
-import dev.knightcore.proeventiq.entity.ParticipantEntity;
 import dev.knightcore.proeventiq.entity.ReservationEntity;
 import dev.knightcore.proeventiq.repository.EventRepository;
 import dev.knightcore.proeventiq.repository.ParticipantRepository;
 import dev.knightcore.proeventiq.repository.ReservationRepository;
-import dev.knightcore.proeventiq.repository.SeatRepository;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex.Occupancy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Statement;
 import java.util.ArrayList;
-
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 
 @Service
 public class ReservationService {
@@ -27,19 +33,25 @@ public class ReservationService {
     private final ReservationRepository reservationRepository;
     private final EventRepository eventRepository;
     private final ParticipantRepository participantRepository;
-    private final SeatRepository seatRepository;
-    private final EntityManager entityManager;
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+    private final ReportPrerenderService reportPrerenderService;
     
     public ReservationService(ReservationRepository reservationRepository,
                              EventRepository eventRepository,
                              ParticipantRepository participantRepository,
-                             SeatRepository seatRepository,
-                             EntityManager entityManager) {
+                             SeatOccupancyIndex seatOccupancyIndex,
+                             JdbcTemplate jdbcTemplate,
+                             @Value("${app.reservation.batch-size:500}") int batchSize,
+                             ReportPrerenderService reportPrerenderService) {
         this.reservationRepository = reservationRepository;
         this.eventRepository = eventRepository;
         this.participantRepository = participantRepository;
-        this.seatRepository = seatRepository;
-        this.entityManager = entityManager;
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+        this.reportPrerenderService = reportPrerenderService;
     }
     
     @Transactional(readOnly = true)
@@ -67,14 +79,26 @@ public class ReservationService {
             throw new IllegalArgumentException("Reservation inputs list cannot be empty");
         }
         
-        // Verify event exists
-        if (!eventRepository.existsById(eventId)) {
+        // Verify event exists; its occupancy is read before anything else, see SeatOccupancyIndex#get
+        Optional<Occupancy> occupancy = seatOccupancyIndex.get(eventId);
+        if (occupancy.isEmpty()) {
             log.warn("Event with ID {} not found", eventId);
             throw new IllegalArgumentException("Event not found");
         }
         
+        return updateReservation(occupancy.get(), inputs);
+    }
+    
+    /**
+     * Updates reservations of the event of an occupancy that the caller read at the start of its
+     * transaction.
+     */
+    @Transactional
+    public List<Reservation> updateReservation(Occupancy occupancy, List<ReservationInput> inputs) {
+        Long eventId = occupancy.getEventId();
+        
         // Validate all inputs first
-        validateAllInputs(eventId, inputs);
+        validateAllInputs(eventId, occupancy, inputs);
         
         // Group operations
         List<ReservationInput> toInsert = new ArrayList<>();
@@ -96,6 +120,8 @@ public class ReservationService {
             }
         }
         
+        checkSeatsFree(occupancy, toInsert, toDelete, toUpdate);
+
         // Perform batch operations
         if (!toInsert.isEmpty()) {
             batchInsertReservations(eventId, toInsert);
@@ -114,64 +140,104 @@ public class ReservationService {
         
     log.debug("Successfully processed {} reservations for event ID: {}", inputs.size(), eventId);
 
+    // Both the old and the new holder of a seat get different documents
+    Set<Long> affectedParticipants = new HashSet<>();
+    for (ReservationInput input : inputs) {
+        affectedParticipants.add(input.getParticipantId());
+        affectedParticipants.add(input.getOldParticipantId());
+    }
+    reportPrerenderService.participantsChanged(eventId, affectedParticipants);
+
     // Return the full, current list of reservations for the event so callers always
     // receive the authoritative state after the update operations.
     List<ReservationEntity> allEntities = reservationRepository.findByEventId(eventId);
+    seatOccupancyIndex.reservationsWritten(occupancy, allEntities);
     return allEntities.stream().map(this::toDto).toList();
     }
     
-    private void validateAllInputs(Long eventId, List<ReservationInput> inputs) {
+    /**
+     * Checks that all referenced participants belong to the event and all seats to its venue, with
+     * one query for the participant IDs of the event however many inputs there are; seats are looked
+     * up in the occupancy of the event.
+     */
+    private void validateAllInputs(Long eventId, Occupancy occupancy, List<ReservationInput> inputs) {
+        long[] eventParticipantIds = sortedIds(participantRepository.findParticipantIdsByEventId(eventId));
+
         for (ReservationInput input : inputs) {
-            validateParticipant(eventId, input.getParticipantId(), "Participant");
-            validateParticipant(eventId, input.getOldParticipantId(), "Old participant");
-            validateSeat(input.getSeatId());
+            validateParticipant(eventParticipantIds, input.getParticipantId(), "Participant");
+            validateParticipant(eventParticipantIds, input.getOldParticipantId(), "Old participant");
+            validateSeat(occupancy, input.getSeatId());
         }
     }
     
-    private void validateParticipant(Long eventId, Long participantId, String participantType) {
-        if (participantId == null) {
-            return;
-        }
-        
-        Optional<ParticipantEntity> participantOpt = participantRepository.findById(participantId);
-        if (participantOpt.isEmpty() || !participantOpt.get().getEventId().equals(eventId)) {
+    private void validateParticipant(long[] eventParticipantIds, Long participantId, String participantType) {
+        if (participantId != null && Arrays.binarySearch(eventParticipantIds, participantId) < 0) {
             throw new IllegalArgumentException(participantType + " not found or doesn't belong to this event: " + participantId);
         }
     }
     
-    private void validateSeat(Long seatId) {
-        if (seatId != null && !seatRepository.existsById(seatId)) {
-            throw new IllegalArgumentException("Seat not found: " + seatId);
+    private void validateSeat(Occupancy occupancy, Long seatId) {
+        if (seatId != null && !occupancy.hasSeat(seatId)) {
+            throw new IllegalArgumentException("Seat not found or doesn't belong to the event's venue: " + seatId);
         }
     }
-    
-    private void batchInsertReservations(Long eventId, List<ReservationInput> inputs) {
-        if (inputs.isEmpty()) return;
 
-        // Build a derived table of values: SELECT p AS participant_id, s AS seat_id, e AS event_id UNION ALL ...
-        StringBuilder derived = new StringBuilder();
-        for (int i = 0; i < inputs.size(); i++) {
-            ReservationInput in = inputs.get(i);
-            if (i == 0) {
-                derived.append("SELECT ")
-                        .append(in.getParticipantId()).append(" AS participant_id, ")
-                        .append(in.getSeatId()).append(" AS seat_id, ")
-                        .append(eventId).append(" AS event_id");
-            } else {
-                derived.append(" UNION ALL SELECT ")
-                        .append(in.getParticipantId()).append(", ")
-                        .append(in.getSeatId()).append(", ")
-                        .append(eventId);
+    /**
+     * Rejects requests that would reserve a seat held by someone else before writing anything:
+     * inserts into reserved seats or into the same seat twice, and updates moving a reservation to a
+     * seat of another participant that the request does not release. Seats taken by a change
+     * committed after the occupancy was read are still caught by the unique key.
+     */
+    private void checkSeatsFree(Occupancy occupancy, List<ReservationInput> toInsert,
+                                List<ReservationInput> toDelete, List<ReservationInput> toUpdate) {
+        Set<Long> inserted = new HashSet<>();
+        for (ReservationInput input : toInsert) {
+            Long seatId = input.getSeatId();
+            if (seatId != null && (occupancy.isReserved(seatId) || !inserted.add(seatId))) {
+                throw new IllegalArgumentException("One or more seats are already reserved");
             }
         }
 
-        // Insert only those rows whose seat is not already reserved for this event.
-        String sql = "INSERT INTO seat_reservation (participant_id, seat_id, event_id) " +
-                "SELECT t.participant_id, t.seat_id, t.event_id FROM (" + derived.toString() + ") AS t " +
-                "WHERE NOT EXISTS (SELECT 1 FROM seat_reservation sr WHERE sr.event_id = " + eventId + " AND sr.seat_id = t.seat_id)";
+        Set<Long> released = new HashSet<>();
+        for (ReservationInput input : toDelete) {
+            if (input.getSeatId() == null) {
+                // Cannot tell which seats the request releases
+                return;
+            }
+            released.add(input.getSeatId());
+        }
+        for (ReservationInput input : toUpdate) {
+            Long seatId = input.getSeatId();
+            if (seatId == null || released.contains(seatId)) {
+                continue;
+            }
+            Long holder = occupancy.getParticipantId(seatId);
+            if (holder != null && !holder.equals(input.getOldParticipantId())) {
+                throw new IllegalArgumentException("One or more seats are already reserved");
+            }
+        }
+    }
 
-        int inserted = entityManager.createNativeQuery(sql).executeUpdate();
-        if (inserted != inputs.size()) {
+    private static long[] sortedIds(List<Long> ids) {
+        long[] sorted = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+    
+    private void batchInsertReservations(Long eventId, List<ReservationInput> inputs) {
+        if (inputs.isEmpty()) return;
+
+        // A seat reserved already, or twice in the same request, violates unique_seat_event
+        try {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO seat_reservation (participant_id, seat_id, event_id) VALUES (?, ?, ?)",
+                    inputs, batchSize, (ps, input) -> {
+                        ps.setObject(1, input.getParticipantId());
+                        ps.setObject(2, input.getSeatId());
+                        ps.setLong(3, eventId);
+                    });
+        } catch (DuplicateKeyException e) {
+            seatOccupancyIndex.invalidate(eventId);
             throw new IllegalArgumentException("One or more seats are already reserved");
         }
     }
@@ -179,19 +245,22 @@ public class ReservationService {
     private void batchDeleteReservations(Long eventId, List<ReservationInput> inputs) {
         if (inputs.isEmpty()) return;
 
-        // Build composite pairs (reservation_id, participant_id) and delete them in a single statement
-        List<String> idPairs = new ArrayList<>();
-        for (ReservationInput input : inputs) {
-            // Assumption: input.getId() and input.getOldParticipantId() are non-null
-            idPairs.add("(" + input.getId() + ", " + input.getOldParticipantId() + ")");
+        // Assumption: input.getId() and input.getOldParticipantId() are non-null
+        // A delete cannot be checked once it ran if the driver does not report its counts
+        if (countReservations(eventId, inputs, "reservation_id, participant_id",
+                input -> new Object[]{input.getId(), input.getOldParticipantId()}) < inputs.size()) {
+            throw new IllegalArgumentException("One or more reservation IDs not found or do not match the specified participant/event");
         }
+        int[][] counts = jdbcTemplate.batchUpdate(
+                "DELETE FROM seat_reservation WHERE event_id = ? AND reservation_id = ? AND participant_id = ?",
+                inputs, batchSize, (ps, input) -> {
+                    ps.setLong(1, eventId);
+                    ps.setObject(2, input.getId());
+                    ps.setObject(3, input.getOldParticipantId());
+                });
 
-        String sql = "DELETE FROM seat_reservation WHERE event_id = " + eventId + " " +
-                "AND (reservation_id, participant_id) IN (" + String.join(", ", idPairs) + ")";
-
-        int deleted = entityManager.createNativeQuery(sql).executeUpdate();
-
-        if (deleted < idPairs.size()) {
+        // Rows removed meanwhile by another transaction
+        if (countsReported(counts) && affectedRows(counts) < inputs.size()) {
             throw new IllegalArgumentException("One or more reservation IDs not found or do not match the specified participant/event");
         }
     }
@@ -199,49 +268,89 @@ public class ReservationService {
     private void batchUpdateReservations(Long eventId, List<ReservationInput> inputs) {
         if (inputs.isEmpty()) return;
 
-        // Only ID-based updates are supported. Build CASE expressions keyed by reservation_id.
-        List<Long> ids = new ArrayList<>();
-        java.util.Map<Long, Long> idToNewParticipant = new java.util.HashMap<>();
-        java.util.Map<Long, Long> idToNewSeat = new java.util.HashMap<>();
-
+        // Only ID-based updates are supported
         for (ReservationInput input : inputs) {
             if (input.getId() == null) {
                 throw new IllegalArgumentException("All reservation updates must include an id");
             }
-            ids.add(input.getId());
-            idToNewParticipant.put(input.getId(), input.getParticipantId());
-            idToNewSeat.put(input.getId(), input.getSeatId());
         }
 
-        StringBuilder sql = new StringBuilder();
-        sql.append("UPDATE seat_reservation sr SET ");
-
-        // participant_id CASE
-        sql.append("sr.participant_id = CASE ");
-        for (Long id : ids) {
-            sql.append(" WHEN sr.reservation_id = ").append(id)
-                    .append(" THEN ").append(idToNewParticipant.get(id));
+        int[][] counts;
+        try {
+            counts = jdbcTemplate.batchUpdate(
+                    "UPDATE seat_reservation SET participant_id = ?, seat_id = ? WHERE event_id = ? AND reservation_id = ?",
+                    inputs, batchSize, (ps, input) -> {
+                        ps.setObject(1, input.getParticipantId());
+                        ps.setObject(2, input.getSeatId());
+                        ps.setLong(3, eventId);
+                        ps.setLong(4, input.getId());
+                    });
+        } catch (DuplicateKeyException e) {
+            seatOccupancyIndex.invalidate(eventId);
+            throw new IllegalArgumentException("One or more seats are already reserved");
         }
-        sql.append(" ELSE sr.participant_id END, ");
 
-        // seat_id CASE
-        sql.append("sr.seat_id = CASE ");
-        for (Long id : ids) {
-            sql.append(" WHEN sr.reservation_id = ").append(id)
-                    .append(" THEN ").append(idToNewSeat.get(id));
+        boolean allUpdated = countsReported(counts)
+                ? affectedRows(counts) >= inputs.size()
+                : countReservations(eventId, inputs, "reservation_id, participant_id, seat_id",
+                        input -> new Object[]{input.getId(), input.getParticipantId(), input.getSeatId()}) >= inputs.size();
+        if (!allUpdated) {
+            throw new IllegalArgumentException("One or more reservation IDs were not found for update");
         }
-        sql.append(" ELSE sr.seat_id END");
+    }
 
-        sql.append(" WHERE sr.event_id = ").append(eventId)
-           .append(" AND sr.reservation_id IN (")
-           .append(ids.stream().map(String::valueOf).collect(java.util.stream.Collectors.joining(",")))
-           .append(")");
+    /**
+     * @return whether the driver reported the rows changed by every statement of a batch; with
+     *         {@code rewriteBatchedStatements} MySQL does not for inserts
+     */
+    private static boolean countsReported(int[][] counts) {
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                if (count == Statement.SUCCESS_NO_INFO) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
 
-        int updated = entityManager.createNativeQuery(sql.toString()).executeUpdate();
+    /**
+     * Rows changed by a batch whose counts the driver reported.
+     */
+    private static int affectedRows(int[][] counts) {
+        int rows = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                rows += count;
+            }
+        }
+        return rows;
+    }
 
-        if (updated < ids.size()) {
-            throw new IllegalArgumentException("One or more reservation IDs were not found for update");
+    /**
+     * Counts the reservations of the event whose {@code columns} hold the values of one of the
+     * inputs, with one query per {@code batchSize} inputs.
+     */
+    private int countReservations(Long eventId, List<ReservationInput> inputs, String columns,
+                                  Function<ReservationInput, Object[]> values) {
+        int count = 0;
+        for (int from = 0; from < inputs.size(); from += batchSize) {
+            List<ReservationInput> chunk = inputs.subList(from, Math.min(from + batchSize, inputs.size()));
+            List<Object> args = new ArrayList<>();
+            args.add(eventId);
+            String tuple = null;
+            for (ReservationInput input : chunk) {
+                Object[] row = values.apply(input);
+                tuple = "(" + String.join(", ", Collections.nCopies(row.length, "?")) + ")";
+                args.addAll(Arrays.asList(row));
+            }
+            Integer matching = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM seat_reservation WHERE event_id = ? AND (" + columns + ") IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), tuple)) + ")",
+                    Integer.class, args.toArray());
+            count += matching != null ? matching : 0;
         }
+        return count;
     }
     
     @Transactional(readOnly = true)
@@ -0,0 +1,227 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.api.model.ReservationInput;
+import dev.knightcore.proeventiq.api.model.SeatAllocation;
+import dev.knightcore.proeventiq.api.model.SeatAllocationGroup;
+import dev.knightcore.proeventiq.api.model.SeatAllocationInput;
+import dev.knightcore.proeventiq.entity.ParticipantEntity;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex.Occupancy;
+import dev.knightcore.proeventiq.api.model.SeatSuggestion;
+import dev.knightcore.proeventiq.service.allocation.BestSeatFinder;
+import dev.knightcore.proeventiq.service.allocation.SeatAllocator;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import dev.knightcore.proeventiq.service.report.ReportFingerprint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Allocates seats to the participants of an event automatically, see {@link SeatAllocator}, and
+ * finds the best free seats for a group, see {@link BestSeatFinder}. Both work on the seats and
+ * occupancy of the event kept by the {@link SeatOccupancyIndex}.
+ * <p>
+ * An allocation is computed from the current reservations and blocks, so the same request gives the
+ * same allocation until they or the participants change. It is identified by a fingerprint of its
+ * groups: a preview returns the ID, and a commit passing it back reserves the seats only if the
+ * allocation is still the same.
+ */
+@Service
+public class SeatAllocationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatAllocationService.class);
+
+    private final SeatOccupancyIndex seatOccupancyIndex;
+    private final ParticipantRepository participantRepository;
+    private final ReservationService reservationService;
+    private final double frontWeight;
+    private final double centralityWeight;
+
+    public SeatAllocationService(SeatOccupancyIndex seatOccupancyIndex,
+                                 ParticipantRepository participantRepository,
+                                 ReservationService reservationService,
+                                 @Value("${app.reservation.best-seats.front-weight:2}") double frontWeight,
+                                 @Value("${app.reservation.best-seats.centrality-weight:1}") double centralityWeight) {
+        this.seatOccupancyIndex = seatOccupancyIndex;
+        this.participantRepository = participantRepository;
+        this.reservationService = reservationService;
+        this.frontWeight = Math.max(0, frontWeight);
+        this.centralityWeight = Math.max(0, centralityWeight);
+    }
+
+    /**
+     * Allocates seats to participants with fewer seats than tickets, and reserves them if the input
+     * asks to commit.
+     *
+     * @return the allocation, or empty if the event does not exist
+     * @throws IllegalArgumentException if a participant does not belong to the event
+     * @throws IllegalStateException if committing an allocation that differs from the previewed one,
+     *                               or whose seats were reserved by another request meanwhile
+     */
+    @Transactional
+    public Optional<SeatAllocation> allocateSeats(Long eventId, SeatAllocationInput input) {
+        long start = System.nanoTime();
+        // Read before anything else of the event, see SeatOccupancyIndex#get
+        Optional<Occupancy> occupancy = seatOccupancyIndex.get(eventId);
+        if (occupancy.isEmpty()) {
+            log.warn("Event with ID {} not found", eventId);
+            return Optional.empty();
+        }
+
+        Map<Long, Integer> reservedCounts = occupancy.get().getReservedSeatCounts();
+        List<ParticipantEntity> participants = participantsToSeat(eventId, reservedCounts, input.getParticipantIds());
+        SeatLayout layout = occupancy.get().getLayout();
+        BitSet free = freeSeats(occupancy.get(), input.getSectorIds());
+        int[] sizes = new int[participants.size()];
+        for (int i = 0; i < sizes.length; i++) {
+            sizes[i] = missingSeats(participants.get(i), reservedCounts);
+        }
+        int[][] allocated = SeatAllocator.allocate(layout, free, sizes);
+
+        SeatAllocation allocation = new SeatAllocation().committed(false);
+        ReportFingerprint fingerprint = ReportFingerprint.of("seat-allocation").add(eventId);
+        List<ReservationInput> reservations = new ArrayList<>();
+        int allocatedSeats = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            Long participantId = participants.get(i).getParticipantId();
+            if (allocated[i] == null) {
+                allocation.addUnallocatedParticipantIdsItem(participantId);
+                continue;
+            }
+            SeatAllocationGroup group = new SeatAllocationGroup().participantId(participantId);
+            fingerprint.add(participantId).add(allocated[i].length);
+            for (int seat : allocated[i]) {
+                long seatId = layout.seatId(seat);
+                group.addSeatIdsItem(seatId);
+                fingerprint.add(seatId);
+                reservations.add(new ReservationInput().participantId(participantId).seatId(seatId).eventId(eventId));
+            }
+            allocatedSeats += allocated[i].length;
+            allocation.addGroupsItem(group);
+        }
+        allocation.allocationId(fingerprint.build())
+                .availableSeatCount(free.cardinality() - allocatedSeats);
+        log.debug("Allocated {} seats to {} of {} participants of event {} in {} ms", allocatedSeats,
+                allocation.getGroups().size(), participants.size(), eventId, (System.nanoTime() - start) / 1_000_000);
+
+        if (Boolean.TRUE.equals(input.getCommit())) {
+            if (input.getAllocationId() != null && !input.getAllocationId().equals(allocation.getAllocationId())) {
+                throw new IllegalStateException("Allocation changed since it was previewed");
+            }
+            if (!reservations.isEmpty()) {
+                try {
+                    reservationService.updateReservation(occupancy.get(), reservations);
+                } catch (IllegalArgumentException e) {
+                    // The reservations are built from the occupancy, so a rejected one means it changed meanwhile
+                    throw new IllegalStateException("Allocation could not be reserved: " + e.getMessage(), e);
+                }
+            }
+            allocation.committed(true);
+        }
+        return Optional.of(allocation);
+    }
+
+    /**
+     * Finds the best blocks of {@code count} adjacent free seats in a row, optionally in one sector or
+     * of one price category, scored by {@code app.reservation.best-seats.front-weight} and
+     * {@code centrality-weight}.
+     *
+     * @return up to {@code limit} blocks, best first, or empty if the event does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<SeatSuggestion>> findBestSeats(Long eventId, int count, Long sectorId, String priceCategory, int limit) {
+        if (count < 1 || limit < 1) {
+            throw new IllegalArgumentException("Seat count and limit must be at least 1");
+        }
+        Optional<Occupancy> occupancy = seatOccupancyIndex.get(eventId);
+        if (occupancy.isEmpty()) {
+            log.warn("Event with ID {} not found", eventId);
+            return Optional.empty();
+        }
+
+        SeatLayout layout = occupancy.get().getLayout();
+        BitSet free = freeSeats(occupancy.get(), sectorId != null ? Set.of(sectorId) : null);
+        if (priceCategory != null) {
+            for (int seat = free.nextSetBit(0); seat >= 0; seat = free.nextSetBit(seat + 1)) {
+                if (!priceCategory.equals(layout.priceCategory(seat))) {
+                    free.clear(seat);
+                }
+            }
+        }
+
+        List<SeatSuggestion> suggestions = new ArrayList<>();
+        for (BestSeatFinder.Candidate candidate : BestSeatFinder.find(layout, free, count, limit, frontWeight, centralityWeight)) {
+            SeatSuggestion suggestion = new SeatSuggestion()
+                    .sectorId(layout.sectorId(layout.rowSector(candidate.row())))
+                    .seatRowId(layout.rowId(candidate.row()))
+                    .score(Math.round(candidate.score() * 1000) / 1000.0);
+            for (int seat = candidate.firstSeat(); seat < candidate.firstSeat() + candidate.count(); seat++) {
+                suggestion.addSeatIdsItem(layout.seatId(seat));
+            }
+            suggestions.add(suggestion);
+        }
+        return Optional.of(suggestions);
+    }
+
+    /**
+     * @return the requested participants, or all of the event, that miss seats, by participant ID
+     */
+    private List<ParticipantEntity> participantsToSeat(Long eventId, Map<Long, Integer> reservedCounts, List<Long> participantIds) {
+        List<ParticipantEntity> eventParticipants = participantRepository.findByEventId(eventId);
+        Set<Long> requested = null;
+        if (participantIds != null && !participantIds.isEmpty()) {
+            requested = new HashSet<>(participantIds);
+            Set<Long> known = new HashSet<>();
+            eventParticipants.forEach(participant -> known.add(participant.getParticipantId()));
+            for (Long participantId : requested) {
+                if (!known.contains(participantId)) {
+                    throw new IllegalArgumentException("Participant not found or doesn't belong to this event: " + participantId);
+                }
+            }
+        }
+
+        List<ParticipantEntity> toSeat = new ArrayList<>();
+        for (ParticipantEntity participant : eventParticipants) {
+            if ((requested == null || requested.contains(participant.getParticipantId()))
+                    && missingSeats(participant, reservedCounts) > 0) {
+                toSeat.add(participant);
+            }
+        }
+        toSeat.sort(Comparator.comparing(ParticipantEntity::getParticipantId));
+        return toSeat;
+    }
+
+    private static int missingSeats(ParticipantEntity participant, Map<Long, Integer> reservedCounts) {
+        int tickets = (participant.getChildrenTicketCount() != null ? participant.getChildrenTicketCount() : 0)
+                + (participant.getGuardianTicketCount() != null ? participant.getGuardianTicketCount() : 0);
+        return tickets - reservedCounts.getOrDefault(participant.getParticipantId(), 0);
+    }
+
+    /**
+     * Free seats of the event's venue, optionally only those of some sectors.
+     */
+    private static BitSet freeSeats(Occupancy occupancy, Collection<Long> sectorIds) {
+        BitSet free = occupancy.getFreeSeats();
+        if (sectorIds != null && !sectorIds.isEmpty()) {
+            SeatLayout layout = occupancy.getLayout();
+            for (int row = 0; row < layout.rowCount(); row++) {
+                if (!sectorIds.contains(layout.sectorId(layout.rowSector(row)))) {
+                    free.clear(layout.rowStart(row), layout.rowEnd(row));
+                }
+            }
+        }
+        return free;
+    }
+}
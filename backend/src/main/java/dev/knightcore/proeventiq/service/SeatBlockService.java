@@ -5,14 +5,18 @@ import dev.knightcore.proeventiq.api.model.SeatBlockInput;
 import dev.knightcore.proeventiq.entity.SeatBlockEntity;
 import dev.knightcore.proeventiq.repository.EventRepository;
 import dev.knightcore.proeventiq.repository.SeatBlockRepository;
-import dev.knightcore.proeventiq.repository.SeatRepository;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex.Occupancy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class SeatBlockService {
@@ -21,14 +25,14 @@ public class SeatBlockService {
     
     private final SeatBlockRepository seatBlockRepository;
     private final EventRepository eventRepository;
-    private final SeatRepository seatRepository;
+    private final SeatOccupancyIndex seatOccupancyIndex;
     
     public SeatBlockService(SeatBlockRepository seatBlockRepository,
                             EventRepository eventRepository,
-                            SeatRepository seatRepository) {
+                            SeatOccupancyIndex seatOccupancyIndex) {
         this.seatBlockRepository = seatBlockRepository;
         this.eventRepository = eventRepository;
-        this.seatRepository = seatRepository;
+        this.seatOccupancyIndex = seatOccupancyIndex;
     }
     
     @Transactional(readOnly = true)
@@ -54,20 +58,29 @@ public class SeatBlockService {
             throw new IllegalArgumentException("Seat block inputs list cannot be empty");
         }
         
-        if (!eventRepository.existsById(eventId)) {
+        // Read before anything else of the event, see SeatOccupancyIndex#get
+        Optional<Occupancy> occupancy = seatOccupancyIndex.get(eventId);
+        if (occupancy.isEmpty()) {
             log.warn("Event with ID {} not found", eventId);
             throw new IllegalArgumentException("Event not found");
         }
         
-        List<SeatBlockInput> toInsert = new ArrayList<>();
-        List<SeatBlockInput> toDelete = new ArrayList<>();
+        // Each input toggles its seat; a seat listed twice is toggled once
+        Set<Long> seen = new HashSet<>();
+        List<Long> toInsert = new ArrayList<>();
+        List<Long> toDelete = new ArrayList<>();
         
         for (SeatBlockInput input : inputs) {
             Long seatId = input.getSeatId();
-            if (seatBlockRepository.existsByEventIdAndSeatId(eventId, seatId)) {
-                toDelete.add(input);
+            if (seatId == null || !seen.add(seatId)) {
+                continue;
+            }
+            if (!occupancy.get().hasSeat(seatId)) {
+                log.warn("Seat with ID {} not found in the event's venue, skipping", seatId);
+            } else if (occupancy.get().isBlocked(seatId)) {
+                toDelete.add(seatId);
             } else {
-                toInsert.add(input);
+                toInsert.add(seatId);
             }
         }
         
@@ -76,34 +89,23 @@ public class SeatBlockService {
         }
         
         if (!toDelete.isEmpty()) {
-            processDeletions(eventId, toDelete);
+            seatBlockRepository.deleteByEventIdAndSeatIds(eventId, toDelete);
         }
+        seatOccupancyIndex.blocksWritten(occupancy.get(), toInsert, toDelete);
         
         return getSeatBlocksByEvent(eventId);
     }
     
-    private void processInsertions(Long eventId, List<SeatBlockInput> inputs) {
-        for (SeatBlockInput input : inputs) {
-            Long seatId = input.getSeatId();
-            if (!seatRepository.existsById(seatId)) {
-                log.warn("Seat with ID {} not found, skipping block creation", seatId);
-                continue;
-            }
-            
-            if (seatBlockRepository.existsByEventIdAndSeatId(eventId, seatId)) {
-                log.debug("Seat {} is already blocked for event {}, skipping", seatId, eventId);
-                continue;
-            }
-            
-            SeatBlockEntity entity = new SeatBlockEntity(eventId, seatId);
-            seatBlockRepository.save(entity);
-        }
-    }
-    
-    private void processDeletions(Long eventId, List<SeatBlockInput> inputs) {
-        for (SeatBlockInput input : inputs) {
-            Long seatId = input.getSeatId();
-            seatBlockRepository.deleteByEventIdAndSeatId(eventId, seatId);
+    private void processInsertions(Long eventId, List<Long> seatIds) {
+        List<SeatBlockEntity> entities = seatIds.stream()
+                .map(seatId -> new SeatBlockEntity(eventId, seatId))
+                .toList();
+        try {
+            seatBlockRepository.saveAllAndFlush(entities);
+        } catch (DataIntegrityViolationException e) {
+            // Blocked by a change committed after the occupancy was read
+            seatOccupancyIndex.invalidate(eventId);
+            throw new IllegalArgumentException("One or more seats are already blocked");
         }
     }
     
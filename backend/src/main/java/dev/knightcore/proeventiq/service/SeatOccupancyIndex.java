@@ -0,0 +1,457 @@
+package dev.knightcore.proeventiq.service;
+
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Which seats of an event are reserved, by whom, and which are blocked, kept in memory so that
+ * availability checks and conflict detection do not need a query per seat.
+ * <p>
+ * The seats of a venue are loaded once for all events at the venue, as a {@link SeatLayout} of its
+ * sectors and rows, and numbered by their position among the sorted seat IDs. Per event, reserved
+ * and blocked seats are bitmaps over that numbering and the participants holding the seats a
+ * parallel array. The occupancy of an event is loaded on first
+ * use and kept up to date by the services that write reservations and blocks: once their transaction
+ * commits they hand in what they wrote, which is applied only if nothing else changed the event since
+ * they read its occupancy; otherwise the event is loaded again on next use. Services that delete
+ * events or participants call {@link #invalidate(Long)}; those that change seats or sectors call
+ * {@link #venueChanged(Long)}, which drops the occupancy of all events. The unique keys of the
+ * database remain the final check against double bookings. The number of cached events is bounded
+ * by {@code app.reservation.occupancy.max-events}.
+ */
+@Component
+public class SeatOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatOccupancyIndex.class);
+
+    private static final String INACTIVE = "inactive";
+
+    /**
+     * Seats of a venue: the layout, the seat IDs sorted, and for each seat of the layout its
+     * position among the sorted IDs.
+     */
+    private static final class VenueSeats {
+        private final SeatLayout layout;
+        private final long[] seatIds;
+        private final int[] ordinals;
+
+        private VenueSeats(SeatLayout layout) {
+            this.layout = layout;
+            this.seatIds = new long[layout.seatCount()];
+            for (int seat = 0; seat < seatIds.length; seat++) {
+                seatIds[seat] = layout.seatId(seat);
+            }
+            Arrays.sort(seatIds);
+            this.ordinals = new int[seatIds.length];
+            for (int seat = 0; seat < seatIds.length; seat++) {
+                ordinals[seat] = Arrays.binarySearch(seatIds, layout.seatId(seat));
+            }
+        }
+    }
+
+    /**
+     * Immutable occupancy of the seats of one event. Seats are identified by seat ID; seats that are
+     * not part of the event's venue are neither reserved nor blocked.
+     */
+    public static final class Occupancy {
+        private final Long eventId;
+        private final Long venueId;
+        private final long version;
+        private final long epoch;
+        private final VenueSeats venue;
+        private final BitSet reserved;
+        private final BitSet blocked;
+        /** Participant holding each seat, 0 for free seats */
+        private final long[] participants;
+        private final int availableCount;
+
+        private Occupancy(Long eventId, Long venueId, long version, long epoch, VenueSeats venue,
+                          BitSet reserved, BitSet blocked, long[] participants) {
+            this.eventId = eventId;
+            this.venueId = venueId;
+            this.version = version;
+            this.epoch = epoch;
+            this.venue = venue;
+            this.reserved = reserved;
+            this.blocked = blocked;
+            this.participants = participants;
+            BitSet taken = (BitSet) reserved.clone();
+            taken.or(blocked);
+            this.availableCount = venue.seatIds.length - taken.cardinality();
+        }
+
+        public Long getEventId() {
+            return eventId;
+        }
+
+        public Long getVenueId() {
+            return venueId;
+        }
+
+        /**
+         * @return whether the seat belongs to the event's venue
+         */
+        public boolean hasSeat(long seatId) {
+            return ordinal(seatId) >= 0;
+        }
+
+        public boolean isReserved(long seatId) {
+            int ordinal = ordinal(seatId);
+            return ordinal >= 0 && reserved.get(ordinal);
+        }
+
+        public boolean isBlocked(long seatId) {
+            int ordinal = ordinal(seatId);
+            return ordinal >= 0 && blocked.get(ordinal);
+        }
+
+        /**
+         * @return whether the seat belongs to the venue and is neither reserved nor blocked
+         */
+        public boolean isAvailable(long seatId) {
+            int ordinal = ordinal(seatId);
+            return ordinal >= 0 && !reserved.get(ordinal) && !blocked.get(ordinal);
+        }
+
+        /**
+         * @return the participant holding the seat, or {@code null} if it is not reserved
+         */
+        public Long getParticipantId(long seatId) {
+            int ordinal = ordinal(seatId);
+            return ordinal >= 0 && reserved.get(ordinal) ? participants[ordinal] : null;
+        }
+
+        public int getSeatCount() {
+            return venue.seatIds.length;
+        }
+
+        /**
+         * @return the sectors, rows and seats of the venue
+         */
+        public SeatLayout getLayout() {
+            return venue.layout;
+        }
+
+        /**
+         * @return the seats that can be allocated, by position in the {@link #getLayout() layout}:
+         * usable seats that are neither reserved nor blocked
+         */
+        public BitSet getFreeSeats() {
+            SeatLayout layout = venue.layout;
+            BitSet free = new BitSet(layout.seatCount());
+            for (int seat = 0; seat < layout.seatCount(); seat++) {
+                int ordinal = venue.ordinals[seat];
+                if (layout.isUsable(seat) && !reserved.get(ordinal) && !blocked.get(ordinal)) {
+                    free.set(seat);
+                }
+            }
+            return free;
+        }
+
+        public int getReservedCount() {
+            return reserved.cardinality();
+        }
+
+        public int getBlockedCount() {
+            return blocked.cardinality();
+        }
+
+        public int getAvailableCount() {
+            return availableCount;
+        }
+
+        /**
+         * @return the number of reserved seats of each participant holding any
+         */
+        public Map<Long, Integer> getReservedSeatCounts() {
+            Map<Long, Integer> counts = new HashMap<>();
+            for (int ordinal = reserved.nextSetBit(0); ordinal >= 0; ordinal = reserved.nextSetBit(ordinal + 1)) {
+                counts.merge(participants[ordinal], 1, Integer::sum);
+            }
+            return counts;
+        }
+
+        private int ordinal(long seatId) {
+            return Arrays.binarySearch(venue.seatIds, seatId);
+        }
+
+        private Occupancy withReservations(long newVersion, long[] seatIds, long[] participantIds) {
+            BitSet newReserved = new BitSet(venue.seatIds.length);
+            long[] newParticipants = new long[venue.seatIds.length];
+            for (int i = 0; i < seatIds.length; i++) {
+                int ordinal = ordinal(seatIds[i]);
+                if (ordinal >= 0) {
+                    newReserved.set(ordinal);
+                    newParticipants[ordinal] = participantIds[i];
+                }
+            }
+            return new Occupancy(eventId, venueId, newVersion, epoch, venue, newReserved, blocked, newParticipants);
+        }
+
+        private Occupancy withBlocks(long newVersion, long[] blockedSeatIds, long[] unblockedSeatIds) {
+            BitSet newBlocked = (BitSet) blocked.clone();
+            for (long seatId : blockedSeatIds) {
+                int ordinal = ordinal(seatId);
+                if (ordinal >= 0) {
+                    newBlocked.set(ordinal);
+                }
+            }
+            for (long seatId : unblockedSeatIds) {
+                int ordinal = ordinal(seatId);
+                if (ordinal >= 0) {
+                    newBlocked.clear(ordinal);
+                }
+            }
+            return new Occupancy(eventId, venueId, newVersion, epoch, venue, reserved, newBlocked, participants);
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxEvents;
+    private final LinkedHashMap<Long, Occupancy> events = new LinkedHashMap<>(16, 0.75f, true);
+    /** Seats by venue, shared by the events at the venue */
+    private final Map<Long, VenueSeats> venueSeats = new HashMap<>();
+    /** Changes of each event; an occupancy read at another version is out of date */
+    private final Map<Long, Long> versions = new HashMap<>();
+    /** Changes of the seats of any venue */
+    private long epoch;
+
+    public SeatOccupancyIndex(JdbcTemplate jdbcTemplate,
+                              @Value("${app.reservation.occupancy.max-events:256}") int maxEvents) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxEvents = maxEvents;
+    }
+
+    /**
+     * Returns the occupancy of an event, loading it if needed. A service that writes reservations or
+     * blocks has to read the occupancy before anything else of the event in its transaction, so that
+     * no change it does not see can be committed without it noticing.
+     *
+     * @return the occupancy, or empty if the event does not exist
+     */
+    public Optional<Occupancy> get(Long eventId) {
+        long version;
+        long readEpoch;
+        synchronized (this) {
+            Occupancy occupancy = events.get(eventId);
+            if (occupancy != null) {
+                return Optional.of(occupancy);
+            }
+            version = versions.getOrDefault(eventId, 0L);
+            readEpoch = epoch;
+        }
+        long start = System.nanoTime();
+        Optional<Occupancy> loaded = load(eventId, version, readEpoch);
+        loaded.ifPresent(occupancy -> {
+            log.debug("Loaded occupancy of event {} ({} seats, {} reserved, {} blocked) in {} ms", eventId,
+                    occupancy.getSeatCount(), occupancy.getReservedCount(), occupancy.getBlockedCount(),
+                    (System.nanoTime() - start) / 1_000_000);
+            synchronized (this) {
+                if (isCurrent(occupancy)) {
+                    store(occupancy);
+                }
+            }
+        });
+        return loaded;
+    }
+
+    /**
+     * Records the reservations of an event after a transaction changed them, once it commits.
+     *
+     * @param read         the occupancy the transaction read before its changes
+     * @param reservations all reservations of the event as the transaction sees them after its changes
+     */
+    public void reservationsWritten(Occupancy read, Collection<ReservationEntity> reservations) {
+        long[] seatIds = new long[reservations.size()];
+        long[] participantIds = new long[reservations.size()];
+        int i = 0;
+        for (ReservationEntity reservation : reservations) {
+            seatIds[i] = reservation.getSeatId();
+            participantIds[i] = reservation.getParticipantId();
+            i++;
+        }
+        afterCommit(() -> written(read, version -> read.withReservations(version, seatIds, participantIds)));
+    }
+
+    /**
+     * Records the seats a transaction blocked and unblocked for an event, once it commits.
+     *
+     * @param read the occupancy the transaction read before its changes
+     */
+    public void blocksWritten(Occupancy read, Collection<Long> blocked, Collection<Long> unblocked) {
+        long[] blockedSeatIds = blocked.stream().mapToLong(Long::longValue).toArray();
+        long[] unblockedSeatIds = unblocked.stream().mapToLong(Long::longValue).toArray();
+        afterCommit(() -> written(read, version -> read.withBlocks(version, blockedSeatIds, unblockedSeatIds)));
+    }
+
+    /**
+     * Drops the occupancy of an event, because its reservations or blocks changed in a way the index
+     * is not told about or its venue changed.
+     */
+    public void invalidate(Long eventId) {
+        if (eventId == null) {
+            return;
+        }
+        evictEvent(eventId);
+        afterCompletion(() -> evictEvent(eventId));
+    }
+
+    /**
+     * Drops the seats of a venue because its sectors or seats changed, and with them the occupancy
+     * of all events.
+     */
+    public void venueChanged(Long venueId) {
+        if (venueId == null) {
+            return;
+        }
+        evictVenue(venueId);
+        afterCompletion(() -> evictVenue(venueId));
+    }
+
+    private Optional<Occupancy> load(Long eventId, long version, long readEpoch) {
+        List<Long> venueIds = jdbcTemplate.queryForList("SELECT venue_id FROM event WHERE event_id = ?", Long.class, eventId);
+        if (venueIds.isEmpty()) {
+            return Optional.empty();
+        }
+        Long venueId = venueIds.get(0);
+        VenueSeats venue = venueSeats(venueId, readEpoch);
+        long[] seatIds = venue.seatIds;
+
+        BitSet reserved = new BitSet(seatIds.length);
+        long[] participants = new long[seatIds.length];
+        jdbcTemplate.query("SELECT seat_id, participant_id FROM seat_reservation WHERE event_id = ?",
+                (RowCallbackHandler) rs -> {
+                    int ordinal = Arrays.binarySearch(seatIds, rs.getLong(1));
+                    if (ordinal >= 0) {
+                        reserved.set(ordinal);
+                        participants[ordinal] = rs.getLong(2);
+                    }
+                }, eventId);
+        BitSet blocked = new BitSet(seatIds.length);
+        jdbcTemplate.query("SELECT seat_id FROM seat_block WHERE event_id = ?",
+                (RowCallbackHandler) rs -> {
+                    int ordinal = Arrays.binarySearch(seatIds, rs.getLong(1));
+                    if (ordinal >= 0) {
+                        blocked.set(ordinal);
+                    }
+                }, eventId);
+        return Optional.of(new Occupancy(eventId, venueId, version, readEpoch, venue, reserved, blocked, participants));
+    }
+
+    private VenueSeats venueSeats(Long venueId, long readEpoch) {
+        synchronized (this) {
+            VenueSeats venue = venueSeats.get(venueId);
+            if (venue != null) {
+                return venue;
+            }
+        }
+        SeatLayout.Builder layout = SeatLayout.builder();
+        jdbcTemplate.query("SELECT sec.sector_id, sec.status, sec.price_category, r.seat_row_id, s.seat_id, s.status, s.price_category "
+                        + "FROM seat s JOIN seat_row r ON r.seat_row_id = s.seat_row_id JOIN sector sec ON sec.sector_id = r.sector_id "
+                        + "WHERE sec.venue_id = ? "
+                        + "ORDER BY sec.order_number, sec.sector_id, r.order_number, r.seat_row_id, s.order_number, s.seat_id",
+                (RowCallbackHandler) rs -> {
+                    boolean usable = !INACTIVE.equals(rs.getString(2)) && !INACTIVE.equals(rs.getString(6));
+                    String priceCategory = rs.getString(7) != null ? rs.getString(7) : rs.getString(3);
+                    layout.seat(rs.getLong(1), rs.getLong(4), rs.getLong(5), usable, priceCategory);
+                }, venueId);
+        VenueSeats venue = new VenueSeats(layout.build());
+        synchronized (this) {
+            if (maxEvents > 0 && epoch == readEpoch) {
+                venueSeats.put(venueId, venue);
+            }
+        }
+        return venue;
+    }
+
+    private interface Update {
+        Occupancy apply(long version);
+    }
+
+    /**
+     * Applies a committed change to the occupancy it was based on, if that is still the current one;
+     * otherwise the event is loaded again on next use.
+     */
+    private synchronized void written(Occupancy read, Update update) {
+        if (isCurrent(read)) {
+            long version = nextVersion(read.eventId);
+            store(update.apply(version));
+        } else {
+            log.debug("Occupancy of event {} changed concurrently, dropping it", read.eventId);
+            nextVersion(read.eventId);
+            events.remove(read.eventId);
+        }
+    }
+
+    private boolean isCurrent(Occupancy occupancy) {
+        return versions.getOrDefault(occupancy.eventId, 0L) == occupancy.version && epoch == occupancy.epoch;
+    }
+
+    private long nextVersion(Long eventId) {
+        return versions.merge(eventId, 1L, Long::sum);
+    }
+
+    private void store(Occupancy occupancy) {
+        if (maxEvents <= 0) {
+            return;
+        }
+        events.put(occupancy.eventId, occupancy);
+        if (events.size() > maxEvents) {
+            events.remove(events.keySet().iterator().next());
+        }
+    }
+
+    private synchronized void evictEvent(Long eventId) {
+        nextVersion(eventId);
+        events.remove(eventId);
+    }
+
+    private synchronized void evictVenue(Long venueId) {
+        // Seat edits are rare; occupancies being loaded or written meanwhile are dropped as well
+        epoch++;
+        venueSeats.remove(venueId);
+        events.clear();
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static void afterCompletion(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Loads between now and the end of the transaction still read the old rows
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -8,6 +8,7 @@ import dev.knightcore.proeventiq.entity.SectorEntity;
 import dev.knightcore.proeventiq.repository.SeatRepository;
 import dev.knightcore.proeventiq.repository.SeatRowRepository;
 import dev.knightcore.proeventiq.repository.SectorRepository;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
@@ -26,16 +27,22 @@ public class SeatService {
     private final SeatRepository seatRepository;
     private final SeatRowRepository seatRowRepository;
     private final SectorRepository sectorRepository;
+    private final VenueGeometryCache venueGeometryCache;
+    private final SeatOccupancyIndex seatOccupancyIndex;
 
     @PersistenceContext
     private EntityManager entityManager;
 
     public SeatService(SeatRepository seatRepository, 
                       SeatRowRepository seatRowRepository,
-                      SectorRepository sectorRepository) {
+                      SectorRepository sectorRepository,
+                      VenueGeometryCache venueGeometryCache,
+                      SeatOccupancyIndex seatOccupancyIndex) {
         this.seatRepository = seatRepository;
         this.seatRowRepository = seatRowRepository;
         this.sectorRepository = sectorRepository;
+        this.venueGeometryCache = venueGeometryCache;
+        this.seatOccupancyIndex = seatOccupancyIndex;
     }
 
     @Transactional
@@ -46,6 +53,8 @@ public class SeatService {
                 .orElseThrow(() -> new IllegalArgumentException("Sector not found"));
 
         mergeRows(sector, rowInputs);
+        venueGeometryCache.invalidate(sector.getVenue() != null ? sector.getVenue().getVenueId() : null);
+        seatOccupancyIndex.venueChanged(sector.getVenue() != null ? sector.getVenue().getVenueId() : null);
         
         logger.info("Successfully updated sector seats for sector ID: {}", sectorId);
     }
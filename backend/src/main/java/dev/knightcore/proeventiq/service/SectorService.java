@@ -10,6 +10,7 @@ import dev.knightcore.proeventiq.entity.SectorEntity;
 import dev.knightcore.proeventiq.entity.VenueEntity;
 import dev.knightcore.proeventiq.repository.SectorRepository;
 import dev.knightcore.proeventiq.repository.VenueRepository;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +23,16 @@ import java.util.Optional;
 public class SectorService {
     private final SectorRepository sectorRepository;
     private final VenueRepository venueRepository;
+    private final VenueGeometryCache venueGeometryCache;
+    private final SeatOccupancyIndex seatOccupancyIndex;
 
-    public SectorService(SectorRepository sectorRepository, VenueRepository venueRepository) {
+    public SectorService(SectorRepository sectorRepository, VenueRepository venueRepository,
+                         VenueGeometryCache venueGeometryCache,
+                         SeatOccupancyIndex seatOccupancyIndex) {
         this.sectorRepository = sectorRepository;
         this.venueRepository = venueRepository;
+        this.venueGeometryCache = venueGeometryCache;
+        this.seatOccupancyIndex = seatOccupancyIndex;
     }
 
     @Transactional(readOnly = true)
@@ -53,10 +60,12 @@ public class SectorService {
         entity.setLabelFontSize(input.labelFontSize());
         entity.setVenue(venue);
         SectorEntity saved = sectorRepository.saveAndFlush(entity);
+        venueGeometryCache.invalidate(venueId);
         // If a sourceSectorId is provided, copy seat layout from source sector using stored procedure.
         // @Modifying added to repository method to avoid ResultSet navigation errors.
         if (input.sourceSectorId() != null) {
             sectorRepository.copySectorSeats(input.sourceSectorId(), saved.getSectorId());
+            seatOccupancyIndex.venueChanged(venueId);
         }
         return toDTO(saved);
     }
@@ -80,13 +89,19 @@ public class SectorService {
             entity.setLabelPositionY(input.labelPositionY());
             entity.setLabelRotation(input.labelRotation());
             entity.setLabelFontSize(input.labelFontSize());
+            venueGeometryCache.invalidate(entity.getVenue() != null ? entity.getVenue().getVenueId() : null);
+            // Status and price category of the sector apply to its seats
+            seatOccupancyIndex.venueChanged(entity.getVenue() != null ? entity.getVenue().getVenueId() : null);
             return toDTO(sectorRepository.save(entity));
         });
     }
 
     @Transactional
     public boolean deleteSector(Long sectorId) {
-        if (sectorRepository.existsById(sectorId)) {
+        Optional<SectorEntity> sector = sectorRepository.findById(sectorId);
+        if (sector.isPresent()) {
+            venueGeometryCache.invalidate(sector.get().getVenue() != null ? sector.get().getVenue().getVenueId() : null);
+            seatOccupancyIndex.venueChanged(sector.get().getVenue() != null ? sector.get().getVenue().getVenueId() : null);
             sectorRepository.deleteById(sectorId);
             return true;
         }
@@ -9,6 +9,7 @@ import dev.knightcore.proeventiq.entity.SectorEntity;
 import dev.knightcore.proeventiq.entity.SeatRowEntity;
 import dev.knightcore.proeventiq.entity.SeatEntity;
 import dev.knightcore.proeventiq.repository.VenueRepository;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
 import dev.knightcore.proeventiq.api.model.Sector;
 import dev.knightcore.proeventiq.api.model.SeatRow;
 import dev.knightcore.proeventiq.api.model.Seat;
@@ -31,13 +32,19 @@ public class VenueService {
     private final VenueRepository venueRepository;
     private final dev.knightcore.proeventiq.repository.SectorRepository sectorRepository;
     private final KeycloakUserService keycloakUserService;
+    private final VenueGeometryCache venueGeometryCache;
+    private final SeatOccupancyIndex seatOccupancyIndex;
 
     public VenueService(VenueRepository venueRepository, 
                        dev.knightcore.proeventiq.repository.SectorRepository sectorRepository,
-                       KeycloakUserService keycloakUserService) {
+                       KeycloakUserService keycloakUserService,
+                       VenueGeometryCache venueGeometryCache,
+                       SeatOccupancyIndex seatOccupancyIndex) {
         this.venueRepository = venueRepository;
         this.sectorRepository = sectorRepository;
         this.keycloakUserService = keycloakUserService;
+        this.venueGeometryCache = venueGeometryCache;
+        this.seatOccupancyIndex = seatOccupancyIndex;
     }
     
     @Transactional(readOnly = true)
@@ -158,6 +165,8 @@ public class VenueService {
         Optional<VenueEntity> entityOpt = venueRepository.findById(venueId);
         if (entityOpt.isPresent() && currentUsername.equals(entityOpt.get().getUserName())) {
             venueRepository.deleteById(venueId);
+            venueGeometryCache.invalidate(venueId);
+            seatOccupancyIndex.venueChanged(venueId);
             return true;
         }
         return false;
@@ -0,0 +1,86 @@
+package dev.knightcore.proeventiq.service.allocation;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Finds the best blocks of adjacent free seats in a {@link SeatLayout}.
+ * <p>
+ * Every run of neighbouring free seats in a row long enough for the block offers one candidate:
+ * the block of the run closest to the middle of the row. Candidates are scored from 0 to 1, higher
+ * is better, by a weighted mix of how close their row is to the front of the sector and how close
+ * the block is to the middle of the row. The search is a single pass over the seats of the layout.
+ */
+public final class BestSeatFinder {
+
+    /**
+     * A block of {@code count} adjacent free seats starting at layout position {@code firstSeat}.
+     */
+    public record Candidate(int row, int firstSeat, int count, double score) {
+    }
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::score).reversed()
+            .thenComparingInt(Candidate::firstSeat);
+
+    private BestSeatFinder() {
+    }
+
+    /**
+     * @param free             free seats by layout position
+     * @param count            seats per block
+     * @param limit            maximum number of blocks returned
+     * @param frontWeight      weight of the distance to the front row of the sector
+     * @param centralityWeight weight of the distance to the middle of the row
+     * @return up to {@code limit} blocks, best first; none overlap
+     */
+    public static List<Candidate> find(SeatLayout layout, BitSet free, int count, int limit,
+                                       double frontWeight, double centralityWeight) {
+        double totalWeight = frontWeight + centralityWeight;
+        List<Candidate> best = new ArrayList<>(limit + 1);
+        for (int row = 0; row < layout.rowCount(); row++) {
+            int rowStart = layout.rowStart(row);
+            int rowEnd = layout.rowEnd(row);
+            if (rowEnd - rowStart < count) {
+                continue;
+            }
+            int sector = layout.rowSector(row);
+            int sectorRows = layout.sectorRowCount(sector);
+            double front = sectorRows > 1 ? (double) (row - layout.sectorFirstRow(sector)) / (sectorRows - 1) : 0;
+            // Block start that centres the block in the row, and the furthest a start can be from it
+            double centredStart = rowStart + (rowEnd - rowStart - count) / 2.0;
+            double maxOffset = (rowEnd - rowStart - count) / 2.0;
+
+            int seat = free.nextSetBit(rowStart);
+            while (seat >= 0 && seat < rowEnd) {
+                int runEnd = Math.min(free.nextClearBit(seat), rowEnd);
+                if (runEnd - seat >= count) {
+                    int first = (int) Math.max(seat, Math.min(runEnd - count, Math.round(centredStart)));
+                    double centrality = maxOffset > 0 ? Math.abs(first - centredStart) / maxOffset : 0;
+                    double penalty = totalWeight > 0 ? (frontWeight * front + centralityWeight * Math.min(1, centrality)) / totalWeight : 0;
+                    offer(best, new Candidate(row, first, count, 1 - penalty), limit);
+                }
+                seat = free.nextSetBit(runEnd);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the {@code limit} best candidates, sorted best first.
+     */
+    private static void offer(List<Candidate> best, Candidate candidate, int limit) {
+        if (best.size() == limit && BEST_FIRST.compare(candidate, best.get(limit - 1)) >= 0) {
+            return;
+        }
+        int index = 0;
+        while (index < best.size() && BEST_FIRST.compare(best.get(index), candidate) <= 0) {
+            index++;
+        }
+        best.add(index, candidate);
+        if (best.size() > limit) {
+            best.remove(limit);
+        }
+    }
+}
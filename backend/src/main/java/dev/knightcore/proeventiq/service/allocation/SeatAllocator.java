@@ -0,0 +1,169 @@
+package dev.knightcore.proeventiq.service.allocation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Allocates groups of free seats in a {@link SeatLayout}, keeping each group together.
+ * <p>
+ * The free seats of every row are kept as runs of neighbouring seats. Groups are placed largest
+ * first; a group goes to the shortest run it fits in, the first one in layout order among equally
+ * short runs, and takes the seats from the run's start, so runs only ever shrink. A group no run
+ * fits in is spread over the fewest adjacent rows of a sector that have room for it together,
+ * taking the longest run of each row and the shortest fitting run of the last one. Groups that
+ * cannot be placed either way are left out.
+ * <p>
+ * Runs, rows and results are primitive arrays; placing a group costs one pass over the runs, so
+ * a venue of 10,000 seats with 1,000 groups is allocated in milliseconds.
+ */
+public final class SeatAllocator {
+
+    private final SeatLayout layout;
+    private final int[] runStart;
+    private final int[] runLength;
+    /** First run of each row, plus the run count at the end */
+    private final int[] rowRuns;
+
+    private SeatAllocator(SeatLayout layout, BitSet free) {
+        this.layout = layout;
+        int[] starts = new int[free.cardinality()];
+        int[] lengths = new int[starts.length];
+        int[] rowFirstRuns = new int[layout.rowCount() + 1];
+        int runs = 0;
+        for (int row = 0; row < layout.rowCount(); row++) {
+            rowFirstRuns[row] = runs;
+            int seat = layout.rowStart(row);
+            while (seat < layout.rowEnd(row)) {
+                if (!free.get(seat)) {
+                    seat++;
+                    continue;
+                }
+                int start = seat;
+                while (seat < layout.rowEnd(row) && free.get(seat)) {
+                    seat++;
+                }
+                starts[runs] = start;
+                lengths[runs] = seat - start;
+                runs++;
+            }
+        }
+        rowFirstRuns[layout.rowCount()] = runs;
+        this.runStart = Arrays.copyOf(starts, runs);
+        this.runLength = Arrays.copyOf(lengths, runs);
+        this.rowRuns = rowFirstRuns;
+    }
+
+    /**
+     * Allocates seats for groups of the given sizes among the free seats, which are not changed.
+     *
+     * @param free free seats by layout position
+     * @return for each group, the layout positions of its seats in layout order, or {@code null} if
+     * the group could not be placed
+     */
+    public static int[][] allocate(SeatLayout layout, BitSet free, int[] groupSizes) {
+        SeatAllocator allocator = new SeatAllocator(layout, free);
+        Integer[] order = new Integer[groupSizes.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        // Largest groups first, the order of the input among equal ones
+        Arrays.sort(order, (a, b) -> groupSizes[a] != groupSizes[b] ? Integer.compare(groupSizes[b], groupSizes[a]) : Integer.compare(a, b));
+
+        int[][] result = new int[groupSizes.length][];
+        for (int group : order) {
+            if (groupSizes[group] > 0) {
+                result[group] = allocator.place(groupSizes[group]);
+            }
+        }
+        return result;
+    }
+
+    private int[] place(int size) {
+        int run = bestFit(0, runStart.length, size);
+        if (run >= 0) {
+            int[] seats = new int[size];
+            take(run, size, seats, 0);
+            return seats;
+        }
+        return spread(size);
+    }
+
+    /**
+     * @return the shortest run among {@code [from, to)} with at least {@code size} seats, or -1
+     */
+    private int bestFit(int from, int to, int size) {
+        int best = -1;
+        for (int run = from; run < to; run++) {
+            int length = runLength[run];
+            if (length >= size && (best < 0 || length < runLength[best])) {
+                best = run;
+                if (length == size) {
+                    break;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * @return the longest run of a row, or -1 if the row has no free seats
+     */
+    private int longestRun(int row) {
+        int best = -1;
+        for (int run = rowRuns[row]; run < rowRuns[row + 1]; run++) {
+            if (runLength[run] > 0 && (best < 0 || runLength[run] > runLength[best])) {
+                best = run;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Places a group over adjacent rows of one sector: the fewest rows whose longest runs together
+     * hold the group, the first such rows in layout order.
+     */
+    private int[] spread(int size) {
+        int bestFirst = -1;
+        int bestRows = Integer.MAX_VALUE;
+        for (int first = 0; first < layout.rowCount(); first++) {
+            int sum = 0;
+            for (int row = first; row < layout.rowCount() && row - first + 1 < bestRows
+                    && layout.rowSector(row) == layout.rowSector(first); row++) {
+                int run = longestRun(row);
+                if (run < 0) {
+                    break;
+                }
+                sum += runLength[run];
+                if (sum >= size) {
+                    bestFirst = first;
+                    bestRows = row - first + 1;
+                    break;
+                }
+            }
+        }
+        if (bestFirst < 0) {
+            return null;
+        }
+
+        int[] seats = new int[size];
+        int taken = 0;
+        for (int row = bestFirst; row < bestFirst + bestRows - 1; row++) {
+            int run = longestRun(row);
+            int length = runLength[run];
+            take(run, length, seats, taken);
+            taken += length;
+        }
+        int lastRow = bestFirst + bestRows - 1;
+        int run = bestFit(rowRuns[lastRow], rowRuns[lastRow + 1], size - taken);
+        take(run, size - taken, seats, taken);
+        return seats;
+    }
+
+    private void take(int run, int count, int[] seats, int offset) {
+        for (int i = 0; i < count; i++) {
+            seats[offset + i] = runStart[run] + i;
+        }
+        runStart[run] += count;
+        runLength[run] -= count;
+    }
+}
@@ -0,0 +1,172 @@
+package dev.knightcore.proeventiq.service.allocation;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Seats of a venue in layout order: sector by sector, row by row, seat by seat. Seats next to each
+ * other in a row are next to each other in the layout; rows of a sector follow each other in row
+ * order, the first row of a sector being its front row. Seats are addressed by their position in
+ * the layout; which of them are free is kept apart from the layout, see
+ * {@code SeatOccupancyIndex.Occupancy#getFreeSeats()}.
+ */
+public final class SeatLayout {
+
+    private final long[] seatIds;
+    /** Active seats in active sectors */
+    private final BitSet usable;
+    private final String[] priceCategories;
+    /** First seat of each row, plus the seat count at the end */
+    private final int[] rowStarts;
+    private final long[] rowIds;
+    /** Sector of each row, numbered in layout order */
+    private final int[] rowSectors;
+    /** First row of each sector, plus the row count at the end */
+    private final int[] sectorRows;
+    private final long[] sectorIds;
+
+    private SeatLayout(long[] seatIds, BitSet usable, String[] priceCategories, int[] rowStarts, long[] rowIds,
+                       int[] rowSectors, int[] sectorRows, long[] sectorIds) {
+        this.seatIds = seatIds;
+        this.usable = usable;
+        this.priceCategories = priceCategories;
+        this.rowStarts = rowStarts;
+        this.rowIds = rowIds;
+        this.rowSectors = rowSectors;
+        this.sectorRows = sectorRows;
+        this.sectorIds = sectorIds;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int seatCount() {
+        return seatIds.length;
+    }
+
+    public long seatId(int seat) {
+        return seatIds[seat];
+    }
+
+    /**
+     * @return whether the seat can be allocated at all: it and its sector are active
+     */
+    public boolean isUsable(int seat) {
+        return usable.get(seat);
+    }
+
+    /**
+     * @return the price category of the seat, or of its sector if the seat has none
+     */
+    public String priceCategory(int seat) {
+        return priceCategories[seat];
+    }
+
+    public int rowCount() {
+        return rowSectors.length;
+    }
+
+    public int rowStart(int row) {
+        return rowStarts[row];
+    }
+
+    public int rowEnd(int row) {
+        return rowStarts[row + 1];
+    }
+
+    public long rowId(int row) {
+        return rowIds[row];
+    }
+
+    public int rowSector(int row) {
+        return rowSectors[row];
+    }
+
+    public int sectorCount() {
+        return sectorIds.length;
+    }
+
+    public long sectorId(int sector) {
+        return sectorIds[sector];
+    }
+
+    public int sectorFirstRow(int sector) {
+        return sectorRows[sector];
+    }
+
+    public int sectorRowCount(int sector) {
+        return sectorRows[sector + 1] - sectorRows[sector];
+    }
+
+    /**
+     * Collects the seats of a layout; seats have to be added in layout order.
+     */
+    public static final class Builder {
+        private long[] seatIds = new long[1024];
+        private final BitSet usable = new BitSet();
+        private String[] priceCategories = new String[1024];
+        private int[] rowStarts = new int[64];
+        private long[] rowIds = new long[64];
+        private int[] rowSectors = new int[64];
+        private int[] sectorRows = new int[16];
+        private long[] sectorIds = new long[16];
+        private int seats;
+        private int rows;
+        private int sectors;
+
+        private Builder() {
+        }
+
+        public Builder seat(long sectorId, long rowId, long seatId, boolean isUsable, String priceCategory) {
+            if (sectors == 0 || sectorId != sectorIds[sectors - 1]) {
+                startSector(sectorId);
+                startRow(rowId);
+            } else if (rowId != rowIds[rows - 1]) {
+                startRow(rowId);
+            }
+            if (seats == seatIds.length) {
+                seatIds = Arrays.copyOf(seatIds, seats * 2);
+                priceCategories = Arrays.copyOf(priceCategories, seats * 2);
+            }
+            seatIds[seats] = seatId;
+            priceCategories[seats] = priceCategory;
+            if (isUsable) {
+                usable.set(seats);
+            }
+            seats++;
+            return this;
+        }
+
+        private void startSector(long sectorId) {
+            if (sectors + 1 >= sectorRows.length) {
+                sectorRows = Arrays.copyOf(sectorRows, sectorRows.length * 2);
+                sectorIds = Arrays.copyOf(sectorIds, sectorIds.length * 2);
+            }
+            sectorRows[sectors] = rows;
+            sectorIds[sectors] = sectorId;
+            sectors++;
+        }
+
+        private void startRow(long rowId) {
+            if (rows + 1 >= rowStarts.length) {
+                rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+                rowIds = Arrays.copyOf(rowIds, rowIds.length * 2);
+                rowSectors = Arrays.copyOf(rowSectors, rowSectors.length * 2);
+            }
+            rowStarts[rows] = seats;
+            rowIds[rows] = rowId;
+            rowSectors[rows] = sectors - 1;
+            rows++;
+        }
+
+        public SeatLayout build() {
+            int[] starts = Arrays.copyOf(rowStarts, rows + 1);
+            starts[rows] = seats;
+            int[] firstRows = Arrays.copyOf(sectorRows, sectors + 1);
+            firstRows[sectors] = rows;
+            return new SeatLayout(Arrays.copyOf(seatIds, seats), (BitSet) usable.clone(), Arrays.copyOf(priceCategories, seats),
+                    starts, Arrays.copyOf(rowIds, rows), Arrays.copyOf(rowSectors, rows), firstRows, Arrays.copyOf(sectorIds, sectors));
+        }
+    }
+}
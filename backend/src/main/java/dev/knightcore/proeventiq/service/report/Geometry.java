@@ -0,0 +1,350 @@
+package dev.knightcore.proeventiq.service.report;
+
+import java.util.Arrays;
+
+/**
+ * Plane geometry on primitive coordinate arrays, used to precompute the venue maps.
+ * <p>
+ * Points are stored interleaved in a {@code double[]} as {@code x0, y0, x1, y1, ...}, together with
+ * the number of points in use, so seat layouts of any size are handled without a boxed object per
+ * point. Methods either work in place or return a new, exactly sized array; none of them keep
+ * references to their arguments.
+ */
+public final class Geometry {
+
+    private Geometry() {
+    }
+
+    /**
+     * Convex hull (Andrew's monotone chain) of the first {@code n} points, counter-clockwise in a
+     * y-up frame, starting from the leftmost point and without collinear points.
+     * <p>
+     * Points strictly inside the polygon of the eight extreme points (min/max of x, y, x + y and
+     * x - y) cannot be on the hull and are dropped before sorting; for seat layouts that is nearly
+     * all of them. As with the previous list based implementation, two or fewer points are returned
+     * as they are.
+     *
+     * @param points interleaved coordinates; not modified
+     * @return interleaved hull coordinates
+     */
+    public static double[] convexHull(double[] points, int n) {
+        if (n <= 2) {
+            return Arrays.copyOf(points, 2 * n);
+        }
+        int[] order = hullCandidates(points, n);
+        int m = order.length;
+        sortByXThenY(points, order, m);
+
+        // Upper and lower chains share the work array; each holds at most m points
+        int[] hull = new int[2 * m];
+        int upper = 0;
+        for (int i = 0; i < m; i++) {
+            int p = order[i];
+            while (upper >= 2 && cross(points, hull[upper - 2], hull[upper - 1], p) <= 0) {
+                upper--;
+            }
+            hull[upper++] = p;
+        }
+        int lowerStart = upper;
+        int lower = upper;
+        for (int i = m - 1; i >= 0; i--) {
+            int p = order[i];
+            while (lower - lowerStart >= 2 && cross(points, hull[lower - 2], hull[lower - 1], p) <= 0) {
+                lower--;
+            }
+            hull[lower++] = p;
+        }
+        // The last point of each chain is the first point of the other one
+        int upperCount = upper - 1;
+        int lowerCount = lower - lowerStart - 1;
+        double[] result = new double[2 * (upperCount + lowerCount)];
+        int k = 0;
+        for (int i = 0; i < upperCount; i++) {
+            result[k++] = points[2 * hull[i]];
+            result[k++] = points[2 * hull[i] + 1];
+        }
+        for (int i = lowerStart; i < lowerStart + lowerCount; i++) {
+            result[k++] = points[2 * hull[i]];
+            result[k++] = points[2 * hull[i] + 1];
+        }
+        return result;
+    }
+
+    /**
+     * Convex hull of squares of half size {@code padding} centred on the first {@code n} points.
+     * <p>
+     * Same result as the hull of all points plus their four padded corners, but only the corners of
+     * the hull vertices of the centres are considered (the hull of a Minkowski sum is the sum of the
+     * hulls), so nothing is allocated per point.
+     */
+    public static double[] paddedHull(double[] points, int n, double padding) {
+        if (n == 0) {
+            return new double[0];
+        }
+        double[] centres = convexHull(points, n);
+        int m = centres.length / 2;
+        double[] corners = new double[8 * m];
+        for (int i = 0; i < m; i++) {
+            double x = centres[2 * i];
+            double y = centres[2 * i + 1];
+            int c = 8 * i;
+            corners[c] = x - padding;
+            corners[c + 1] = y - padding;
+            corners[c + 2] = x + padding;
+            corners[c + 3] = y - padding;
+            corners[c + 4] = x + padding;
+            corners[c + 5] = y + padding;
+            corners[c + 6] = x - padding;
+            corners[c + 7] = y + padding;
+        }
+        return convexHull(corners, 4 * m);
+    }
+
+    /**
+     * @return {@code minX, minY, maxX, maxY} of the first {@code n} points, all zero if there are none
+     */
+    public static double[] bounds(double[] points, int n) {
+        if (n == 0) {
+            return new double[4];
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double x = points[2 * i];
+            double y = points[2 * i + 1];
+            if (x < minX) minX = x;
+            if (x > maxX) maxX = x;
+            if (y < minY) minY = y;
+            if (y > maxY) maxY = y;
+        }
+        return new double[]{minX, minY, maxX, maxY};
+    }
+
+    /**
+     * The four corners of the bounds of the points grown by {@code padding}, in hull order.
+     */
+    public static double[] paddedBox(double[] points, int n, double padding) {
+        double[] b = bounds(points, n);
+        return new double[]{
+                b[0] - padding, b[1] - padding,
+                b[2] + padding, b[1] - padding,
+                b[2] + padding, b[3] + padding,
+                b[0] - padding, b[3] + padding};
+    }
+
+    /**
+     * Scales the first {@code n} points in place.
+     */
+    public static void scale(double[] points, int n, double factor) {
+        for (int i = 0; i < 2 * n; i++) {
+            points[i] *= factor;
+        }
+    }
+
+    /**
+     * Rotates the first {@code n} points in place around the origin, then translates them.
+     */
+    public static void rotateTranslate(double[] points, int n, double radians, double dx, double dy) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        for (int i = 0; i < n; i++) {
+            double x = points[2 * i];
+            double y = points[2 * i + 1];
+            points[2 * i] = x * cos - y * sin + dx;
+            points[2 * i + 1] = x * sin + y * cos + dy;
+        }
+    }
+
+    /**
+     * Mirrors the first {@code n} points in place: {@code y' = axis - y}.
+     */
+    public static void flipY(double[] points, int n, double axis) {
+        for (int i = 0; i < n; i++) {
+            points[2 * i + 1] = axis - points[2 * i + 1];
+        }
+    }
+
+    /**
+     * Area centroid of a polygon, or the vertex average if the polygon is degenerate.
+     *
+     * @return {@code x, y}
+     */
+    public static double[] centroid(double[] polygon) {
+        int n = polygon.length / 2;
+        double area = 0, cx = 0, cy = 0;
+        for (int i = 0; i < n; i++) {
+            int j = (i + 1) % n;
+            double x0 = polygon[2 * i], y0 = polygon[2 * i + 1];
+            double x1 = polygon[2 * j], y1 = polygon[2 * j + 1];
+            double cross = x0 * y1 - x1 * y0;
+            area += cross;
+            cx += (x0 + x1) * cross;
+            cy += (y0 + y1) * cross;
+        }
+        area = area / 2.0;
+        if (Math.abs(area) > 1e-7) {
+            return new double[]{cx / (6 * area), cy / (6 * area)};
+        }
+        return average(polygon, n);
+    }
+
+    /**
+     * @return {@code x, y} average of the first {@code n} points, zero if there are none
+     */
+    public static double[] average(double[] points, int n) {
+        if (n == 0) {
+            return new double[2];
+        }
+        double sx = 0, sy = 0;
+        for (int i = 0; i < n; i++) {
+            sx += points[2 * i];
+            sy += points[2 * i + 1];
+        }
+        return new double[]{sx / n, sy / n};
+    }
+
+    /**
+     * Smallest squared distance between any two of the first {@code n} points, or
+     * {@link Double#MAX_VALUE} for fewer than two points.
+     * <p>
+     * Sweeps the points in x order and stops comparing once the x gap alone exceeds the best distance,
+     * which is close to linear for seat layouts instead of comparing every pair.
+     */
+    public static double minDistanceSquared(double[] points, int n) {
+        double best = Double.MAX_VALUE;
+        if (n < 2) {
+            return best;
+        }
+        int[] order = identity(n);
+        sortByXThenY(points, order, n);
+        for (int i = 0; i < n; i++) {
+            double xi = points[2 * order[i]];
+            double yi = points[2 * order[i] + 1];
+            for (int j = i + 1; j < n; j++) {
+                double dx = points[2 * order[j]] - xi;
+                if (dx * dx >= best) {
+                    break;
+                }
+                double dy = points[2 * order[j] + 1] - yi;
+                double d = dx * dx + dy * dy;
+                if (d < best) {
+                    best = d;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Indices of the points that are not strictly inside the polygon of the extreme points.
+     */
+    private static int[] hullCandidates(double[] p, int n) {
+        // Counter-clockwise: min x, min x+y, min y, max x-y, max x, max x+y, max y, min x-y
+        int[] extreme = new int[8];
+        for (int i = 1; i < n; i++) {
+            double x = p[2 * i];
+            double y = p[2 * i + 1];
+            if (x < p[2 * extreme[0]]) extreme[0] = i;
+            if (x + y < p[2 * extreme[1]] + p[2 * extreme[1] + 1]) extreme[1] = i;
+            if (y < p[2 * extreme[2] + 1]) extreme[2] = i;
+            if (x - y > p[2 * extreme[3]] - p[2 * extreme[3] + 1]) extreme[3] = i;
+            if (x > p[2 * extreme[4]]) extreme[4] = i;
+            if (x + y > p[2 * extreme[5]] + p[2 * extreme[5] + 1]) extreme[5] = i;
+            if (y > p[2 * extreme[6] + 1]) extreme[6] = i;
+            if (x - y < p[2 * extreme[7]] - p[2 * extreme[7] + 1]) extreme[7] = i;
+        }
+        int[] polygon = new int[8];
+        int sides = 0;
+        for (int i = 0; i < 8; i++) {
+            int e = extreme[i];
+            if (sides == 0 || !samePoint(p, polygon[sides - 1], e) && !samePoint(p, polygon[0], e)) {
+                polygon[sides++] = e;
+            }
+        }
+        if (sides < 3) {
+            return identity(n);
+        }
+
+        int[] candidates = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            boolean inside = true;
+            for (int s = 0; s < sides && inside; s++) {
+                inside = cross(p, polygon[s], polygon[(s + 1) % sides], i) > 0;
+            }
+            if (!inside) {
+                candidates[count++] = i;
+            }
+        }
+        return Arrays.copyOf(candidates, count);
+    }
+
+    private static boolean samePoint(double[] p, int a, int b) {
+        return p[2 * a] == p[2 * b] && p[2 * a + 1] == p[2 * b + 1];
+    }
+
+    private static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static double cross(double[] p, int o, int a, int b) {
+        double ox = p[2 * o], oy = p[2 * o + 1];
+        return (p[2 * a] - ox) * (p[2 * b + 1] - oy) - (p[2 * a + 1] - oy) * (p[2 * b] - ox);
+    }
+
+    /**
+     * Sorts the first {@code n} point indices in {@code order} by x, then y: a bottom-up merge sort
+     * that skips merging runs already in order, so rows of seats laid out left to right cost little.
+     */
+    static void sortByXThenY(double[] p, int[] order, int n) {
+        final int run = 16;
+        for (int start = 0; start < n; start += run) {
+            int end = Math.min(start + run, n);
+            for (int i = start + 1; i < end; i++) {
+                int v = order[i];
+                int j = i - 1;
+                while (j >= start && less(p, v, order[j])) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = v;
+            }
+        }
+        int[] src = order;
+        int[] dst = new int[n];
+        for (int width = run; width < n; width *= 2) {
+            for (int lo = 0; lo < n; lo += 2 * width) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + 2 * width, n);
+                if (mid == hi || !less(p, src[mid], src[mid - 1])) {
+                    System.arraycopy(src, lo, dst, lo, hi - lo);
+                    continue;
+                }
+                int i = lo, j = mid, k = lo;
+                while (i < mid && j < hi) {
+                    dst[k++] = less(p, src[j], src[i]) ? src[j++] : src[i++];
+                }
+                System.arraycopy(src, i, dst, k, mid - i);
+                System.arraycopy(src, j, dst, k + mid - i, hi - j);
+            }
+            int[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        if (src != order) {
+            System.arraycopy(src, 0, order, 0, n);
+        }
+    }
+
+    private static boolean less(double[] p, int a, int b) {
+        return p[2 * a] != p[2 * b]
+                ? Double.compare(p[2 * a], p[2 * b]) < 0
+                : Double.compare(p[2 * a + 1], p[2 * b + 1]) < 0;
+    }
+}
@@ -0,0 +1,243 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.service.report.ReportFontRegistry.ReportFont;
+import dev.knightcore.proeventiq.service.report.VenueGeometry.SectorGeometry;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * Raster previews of the overview page of participant maps: all sectors of the venue in grey with
+ * the participant's sectors highlighted, drawn like on the PDF map.
+ * <p>
+ * The grey layout is the same for every participant, so it is rendered once per venue layout and
+ * image size and kept as a base raster; a preview copies it and only draws the highlighted sectors
+ * on top before encoding. Base rasters are held per {@link VenueGeometry} instance, weakly, like
+ * the map templates, and only the most recently used sizes of each layout are kept.
+ * <p>
+ * Previews are only rendered at a few fixed widths, see {@link #previewWidth}: screens of slightly
+ * different widths then share the base rasters instead of each rendering and evicting its own.
+ */
+@Component
+public class MapPreviewRenderer {
+
+    public enum Format {
+        PNG("png", "image/png"),
+        WEBP("webp", "image/webp");
+
+        private final String imageIoName;
+        private final String mediaType;
+
+        Format(String imageIoName, String mediaType) {
+            this.imageIoName = imageIoName;
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * @return the format with the given name (case-insensitive), or empty if there is none
+         */
+        public static Optional<Format> of(String name) {
+            for (Format format : values()) {
+                if (format.imageIoName.equals(name.toLowerCase(Locale.ROOT))) {
+                    return Optional.of(format);
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    /** Images taller than this are drawn at a smaller scale, centred horizontally. */
+    private static final int MAX_HEIGHT = 2000;
+    private static final int BASE_RASTERS_PER_LAYOUT = 4;
+    /** Widths previews are rendered at, ascending. */
+    private static final int[] PREVIEW_WIDTHS = {320, 480, 640, 800, 1200, 1600, 2000};
+    /** Width of the map on the PDF overview page in points; line widths and margins scale from it. */
+    private static final float PDF_MAP_WIDTH = 742;
+    private static final float MARGIN = 8;
+
+    private static final Color SECTOR_FILL = new Color(245, 245, 245);
+    private static final Color SECTOR_BORDER = Color.DARK_GRAY;
+    private static final Color HIGHLIGHT_FILL = new Color(33, 150, 243);
+    private static final Color HIGHLIGHT_BORDER = new Color(25, 118, 210);
+
+    /**
+     * Placement of the venue on an image: venue coordinates times {@code scale} plus the offset
+     * give pixels, {@code unit} is the size of a point of the PDF map in pixels.
+     */
+    private record Frame(int width, int height, double scale, double offsetX, double offsetY, float unit) {
+
+        static Frame of(int width, double venueWidth, double venueHeight) {
+            float unit = width / PDF_MAP_WIDTH;
+            double margin = MARGIN * unit;
+            double scale = Math.min((width - 2 * margin) / venueWidth, (MAX_HEIGHT - 2 * margin) / venueHeight);
+            int height = (int) Math.ceil(venueHeight * scale + 2 * margin);
+            return new Frame(width, height, scale, (width - venueWidth * scale) / 2, margin, unit);
+        }
+    }
+
+    private final ReportFontRegistry fontRegistry;
+    private final Map<VenueGeometry, Map<String, BufferedImage>> baseRasters =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    public MapPreviewRenderer(ReportFontRegistry fontRegistry) {
+        this.fontRegistry = fontRegistry;
+    }
+
+    /**
+     * @return the width a preview requested {@code width} pixels wide is rendered at: the next of
+     *         the fixed preview widths, or the largest one
+     */
+    public static int previewWidth(int width) {
+        for (int previewWidth : PREVIEW_WIDTHS) {
+            if (previewWidth >= width) {
+                return previewWidth;
+            }
+        }
+        return PREVIEW_WIDTHS[PREVIEW_WIDTHS.length - 1];
+    }
+
+    /**
+     * Renders the overview of the venue with the given sectors highlighted, {@link #previewWidth}
+     * pixels wide for the requested {@code width}.
+     *
+     * @return the encoded image
+     */
+    public byte[] render(VenueGeometry geometry, double venueWidth, double venueHeight,
+                         Collection<SectorGeometry> highlighted, int width, Format format) throws IOException {
+        Frame frame = Frame.of(previewWidth(width), venueWidth, venueHeight);
+        BufferedImage base = baseRaster(geometry, venueWidth, venueHeight, frame);
+        BufferedImage image = new BufferedImage(base.getColorModel(), base.copyData(null), false, null);
+
+        Graphics2D g = graphics(image);
+        try {
+            for (SectorGeometry sector : highlighted) {
+                drawSector(g, sector, true, frame);
+            }
+        } finally {
+            g.dispose();
+        }
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(format.imageIoName);
+        if (!writers.hasNext()) {
+            throw new IOException("No image writer for " + format);
+        }
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        // Previews are small, so they are encoded in memory rather than through a temporary file
+        try (ImageOutputStream imageOut = new MemoryCacheImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(image);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private BufferedImage baseRaster(VenueGeometry geometry, double venueWidth, double venueHeight, Frame frame) {
+        String key = frame.width() + "x" + frame.height() + ":" + venueWidth + "x" + venueHeight;
+        Map<String, BufferedImage> rasters = baseRasters.computeIfAbsent(geometry, g -> new LinkedHashMap<>(8, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > BASE_RASTERS_PER_LAYOUT;
+            }
+        });
+        synchronized (rasters) {
+            BufferedImage base = rasters.get(key);
+            if (base != null) {
+                return base;
+            }
+        }
+        // Concurrent first requests for a size may each draw it
+        BufferedImage base = new BufferedImage(frame.width(), frame.height(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = graphics(base);
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, frame.width(), frame.height());
+            for (SectorGeometry sector : geometry.getSectors()) {
+                drawSector(g, sector, false, frame);
+            }
+        } finally {
+            g.dispose();
+        }
+        synchronized (rasters) {
+            rasters.putIfAbsent(key, base);
+        }
+        return base;
+    }
+
+    private static Graphics2D graphics(BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setRenderingHint(RenderingHints.KEY_FRACTIONALMETRICS, RenderingHints.VALUE_FRACTIONALMETRICS_ON);
+        return g;
+    }
+
+    /**
+     * Draws a sector outline and its label, see {@code ReportService.drawSector} for the PDF
+     * counterpart. Venue space has y pointing down like the image, so only the label rotation
+     * changes sign.
+     */
+    private void drawSector(Graphics2D g, SectorGeometry sector, boolean highlighted, Frame frame) {
+        if (!sector.hasOutline()) {
+            return;
+        }
+        Path2D.Double outline = new Path2D.Double(Path2D.WIND_NON_ZERO, sector.outlineSize());
+        outline.moveTo(frame.offsetX() + sector.outlineX(0) * frame.scale(), frame.offsetY() + sector.outlineY(0) * frame.scale());
+        for (int i = 1; i < sector.outlineSize(); i++) {
+            outline.lineTo(frame.offsetX() + sector.outlineX(i) * frame.scale(), frame.offsetY() + sector.outlineY(i) * frame.scale());
+        }
+        outline.closePath();
+        g.setColor(highlighted ? HIGHLIGHT_FILL : SECTOR_FILL);
+        g.fill(outline);
+        g.setColor(highlighted ? HIGHLIGHT_BORDER : SECTOR_BORDER);
+        g.setStroke(new BasicStroke((highlighted ? 2.0f : 1.5f) * frame.unit()));
+        g.draw(outline);
+
+        float fontSize = sector.getLabelFontSize() != null
+                ? (float) (sector.getLabelFontSize() * frame.scale())
+                : Math.max(6 * frame.unit(), (float) (12 * frame.scale()));
+        Font font = fontRegistry.awtFont(ReportFont.ARIMO_REGULAR).deriveFont(fontSize);
+        String label = sector.getLabel();
+        double textWidth = font.getStringBounds(label, g.getFontRenderContext()).getWidth();
+        Graphics2D labelGraphics = (Graphics2D) g.create();
+        try {
+            labelGraphics.translate(frame.offsetX() + sector.getLabelX() * frame.scale(),
+                    frame.offsetY() + sector.getLabelY() * frame.scale());
+            if (sector.getLabelRotation() != 0) {
+                labelGraphics.rotate(-sector.getLabelRotation());
+            }
+            // Baseline 20 venue units above the anchor less the font size, as on the PDF
+            float yShift = (float) (20 * frame.scale()) - fontSize;
+            labelGraphics.setFont(font);
+            labelGraphics.setColor(Color.BLACK);
+            labelGraphics.drawString(label, (float) (-textWidth / 2), -yShift);
+        } finally {
+            labelGraphics.dispose();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Static map page content ({@link PdfTemplate}s) per venue layout.
+ * <p>
+ * Templates are held per {@link VenueGeometry} instance, weakly: when the geometry of a venue is
+ * evicted from the {@link VenueGeometryCache} after an edit, its templates go with it and the next
+ * render records new ones from the new layout.
+ */
+@Component
+public class MapTemplateCache {
+
+    @FunctionalInterface
+    public interface TemplateLoader {
+        PdfTemplate load() throws IOException;
+    }
+
+    private final Map<VenueGeometry, Map<String, PdfTemplate>> templates =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * Returns the template stored under {@code key} for the layout, recording it with {@code loader}
+     * if needed. Concurrent first requests for a template may each record it.
+     */
+    public PdfTemplate get(VenueGeometry geometry, String key, TemplateLoader loader) throws IOException {
+        Map<String, PdfTemplate> layoutTemplates = templates.computeIfAbsent(geometry, g -> new ConcurrentHashMap<>());
+        PdfTemplate template = layoutTemplates.get(key);
+        if (template == null) {
+            template = loader.load();
+            layoutTemplates.putIfAbsent(key, template);
+        }
+        return template;
+    }
+}
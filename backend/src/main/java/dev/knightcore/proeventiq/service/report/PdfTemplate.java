@@ -0,0 +1,185 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.service.report.ReportFontRegistry.ReportFont;
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.contentstream.operator.OperatorName;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Static page content drawn once and placed into any number of documents as a form XObject.
+ * <p>
+ * The drawing is recorded against a scratch document with the report fonts and kept as compressed
+ * content stream bytes, so no document-bound objects are retained. {@link #toForm} wraps those bytes
+ * in a form of the target document and binds the font resource names to that document's fonts. The
+ * fonts are embedded as subsets when a document is saved, so the glyphs the recorded text uses are
+ * registered with them as well; glyph IDs are what the text operators contain, and the font's
+ * ToUnicode map is derived from them.
+ */
+public final class PdfTemplate {
+
+    /**
+     * Draws the static content with the given stream and fonts.
+     */
+    @FunctionalInterface
+    public interface Drawing {
+        void draw(PDPageContentStream contentStream, ReportFonts fonts) throws IOException;
+    }
+
+    private record FontUse(ReportFont font, boolean subset, Set<Integer> glyphIds) {
+    }
+
+    private final byte[] content;
+    private final PDRectangle bbox;
+    private final Map<COSName, FontUse> fonts;
+
+    private PdfTemplate(byte[] content, PDRectangle bbox, Map<COSName, FontUse> fonts) {
+        this.content = content;
+        this.bbox = bbox;
+        this.fonts = fonts;
+    }
+
+    /**
+     * Records a drawing in the coordinate space of {@code bbox} (usually the media box of the page it
+     * is placed on).
+     */
+    public static PdfTemplate record(ReportFontRegistry fontRegistry, PDRectangle bbox, Drawing drawing) throws IOException {
+        try (PDDocument scratch = new PDDocument()) {
+            ReportFonts fonts = fontRegistry.forDocument(scratch);
+            PDAppearanceStream form = new PDAppearanceStream(scratch);
+            form.setBBox(bbox);
+            form.setResources(new PDResources());
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (PDPageContentStream contentStream = new PDPageContentStream(scratch, form, out)) {
+                drawing.draw(contentStream, fonts);
+            }
+            byte[] content = out.toByteArray();
+
+            Map<COSName, FontUse> fontUses = new HashMap<>();
+            COSDictionary fontResources = form.getResources().getCOSObject().getCOSDictionary(COSName.FONT);
+            if (fontResources != null) {
+                for (COSName name : fontResources.keySet()) {
+                    COSBase font = fontResources.getDictionaryObject(name);
+                    for (ReportFont reportFont : ReportFont.values()) {
+                        PDFont candidate = fonts.get(reportFont);
+                        if (candidate.getCOSObject() == font) {
+                            fontUses.put(name, new FontUse(reportFont, candidate.willBeSubset(), new HashSet<>()));
+                            break;
+                        }
+                    }
+                }
+            }
+            collectGlyphIds(content, fontUses);
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+            try (DeflaterOutputStream deflater = new DeflaterOutputStream(compressed)) {
+                deflater.write(content);
+            }
+            return new PdfTemplate(compressed.toByteArray(), new PDRectangle(bbox.getLowerLeftX(),
+                    bbox.getLowerLeftY(), bbox.getWidth(), bbox.getHeight()), Map.copyOf(fontUses));
+        }
+    }
+
+    /**
+     * Creates a form XObject of the template in {@code document}, using the document's report fonts.
+     * The form can be drawn on any number of pages of that document.
+     */
+    public PDFormXObject toForm(PDDocument document, ReportFonts documentFonts) throws IOException {
+        PDAppearanceStream form = new PDAppearanceStream(document);
+        COSStream stream = form.getCOSObject();
+        stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+        try (OutputStream out = stream.createRawOutputStream()) {
+            out.write(content);
+        }
+        form.setBBox(new PDRectangle(bbox.getLowerLeftX(), bbox.getLowerLeftY(), bbox.getWidth(), bbox.getHeight()));
+
+        PDResources resources = new PDResources();
+        for (Map.Entry<COSName, FontUse> entry : fonts.entrySet()) {
+            resources.put(entry.getKey(), documentFonts.get(entry.getValue().font()));
+        }
+        form.setResources(resources);
+
+        // Selecting the fonts on a stream of the form registers them for subsetting with the document;
+        // the fonts are already in the form's resources, so their names are kept
+        try (PDPageContentStream registration = new PDPageContentStream(document, form, OutputStream.nullOutputStream())) {
+            for (FontUse use : fonts.values()) {
+                PDFont font = documentFonts.get(use.font());
+                registration.setFont(font, 1);
+                if (use.subset() && font.willBeSubset() && font instanceof PDType0Font type0Font) {
+                    type0Font.addGlyphsToSubset(use.glyphIds());
+                }
+            }
+        }
+        return form;
+    }
+
+    /**
+     * Collects the glyph IDs shown with each subset font. Report fonts are Type 0 fonts with
+     * Identity-H encoding, so every two bytes of a shown string are one glyph ID.
+     */
+    private static void collectGlyphIds(byte[] content, Map<COSName, FontUse> fontUses) throws IOException {
+        PDFStreamParser parser = new PDFStreamParser(content);
+        List<COSBase> operands = new ArrayList<>();
+        FontUse current = null;
+        for (Object token = parser.parseNextToken(); token != null; token = parser.parseNextToken()) {
+            if (!(token instanceof Operator operator)) {
+                if (token instanceof COSBase operand) {
+                    operands.add(operand);
+                }
+                continue;
+            }
+            switch (operator.getName()) {
+                case OperatorName.SET_FONT_AND_SIZE ->
+                        current = !operands.isEmpty() && operands.get(0) instanceof COSName name ? fontUses.get(name) : null;
+                case OperatorName.SHOW_TEXT, OperatorName.SHOW_TEXT_LINE, OperatorName.SHOW_TEXT_LINE_AND_SPACE,
+                     OperatorName.SHOW_TEXT_ADJUSTED -> {
+                    if (current != null && current.subset()) {
+                        for (COSBase operand : operands) {
+                            addGlyphIds(operand, current.glyphIds());
+                        }
+                    }
+                }
+                default -> {
+                }
+            }
+            operands.clear();
+        }
+    }
+
+    private static void addGlyphIds(COSBase operand, Set<Integer> glyphIds) {
+        if (operand instanceof COSString string) {
+            byte[] bytes = string.getBytes();
+            for (int i = 0; i + 1 < bytes.length; i += 2) {
+                glyphIds.add(((bytes[i] & 0xff) << 8) | (bytes[i + 1] & 0xff));
+            }
+        } else if (operand instanceof COSArray array) {
+            for (COSBase element : array) {
+                addGlyphIds(element, glyphIds);
+            }
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceCMYK;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.Deflater;
+
+/**
+ * An image already encoded the way PDF stores it (DCT for JPEG, Flate for raw pixels), so it can be
+ * embedded into any number of documents without decoding or re-compressing it again.
+ * <p>
+ * Instances are immutable and can be shared between threads; {@link #toXObject(PDDocument)} copies
+ * the encoded bytes into a new image stream of the target document.
+ */
+public final class PreparedImage {
+
+    private final COSName filter;
+    private final byte[] data;
+    private final int width;
+    private final int height;
+    private final int components;
+    private final byte[] alpha;
+
+    private PreparedImage(COSName filter, byte[] data, int width, int height, int components, byte[] alpha) {
+        this.filter = filter;
+        this.data = data;
+        this.width = width;
+        this.height = height;
+        this.components = components;
+        this.alpha = alpha;
+    }
+
+    /**
+     * Wraps JPEG file data as-is.
+     *
+     * @param components number of colour components of the JPEG (1, 3 or 4)
+     */
+    public static PreparedImage jpeg(byte[] jpegData, int width, int height, int components) {
+        if (components != 1 && components != 3 && components != 4) {
+            throw new IllegalArgumentException("Unsupported number of JPEG components: " + components);
+        }
+        return new PreparedImage(COSName.DCT_DECODE, jpegData, width, height, components, null);
+    }
+
+    /**
+     * Encodes an opaque decoded image as JPEG (grey or RGB). Any alpha channel is dropped.
+     *
+     * @param quality JPEG compression quality between 0 and 1
+     */
+    public static PreparedImage jpeg(BufferedImage image, float quality) throws IOException {
+        boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+        BufferedImage source = image;
+        if (!gray && image.getType() != BufferedImage.TYPE_INT_RGB && image.getType() != BufferedImage.TYPE_3BYTE_BGR) {
+            // The JPEG writer misinterprets alpha and indexed images, draw them onto plain RGB first
+            source = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = source.createGraphics();
+            try {
+                g.drawImage(image, 0, 0, Color.WHITE, null);
+            } finally {
+                g.dispose();
+            }
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(source, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new PreparedImage(COSName.DCT_DECODE, out.toByteArray(), image.getWidth(), image.getHeight(),
+                gray ? 1 : 3, null);
+    }
+
+    /**
+     * Encodes the pixels of a decoded image losslessly (8 bit RGB or grey, Flate compressed). Alpha is
+     * kept as a soft mask, but only if the image actually contains non-opaque pixels.
+     */
+    public static PreparedImage lossless(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        boolean gray = image.getType() == BufferedImage.TYPE_BYTE_GRAY;
+        boolean hasAlpha = image.getColorModel().hasAlpha();
+        int components = gray ? 1 : 3;
+
+        byte[] pixels = new byte[width * height * components];
+        byte[] alpha = hasAlpha ? new byte[width * height] : null;
+        boolean translucent = false;
+        int[] row = new int[width];
+        int p = 0;
+        int a = 0;
+        for (int y = 0; y < height; y++) {
+            if (gray) {
+                // Read samples directly, getRGB would apply a gamma conversion to grey images
+                image.getRaster().getSamples(0, y, width, 1, 0, row);
+                for (int x = 0; x < width; x++) {
+                    pixels[p++] = (byte) row[x];
+                }
+                continue;
+            }
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                int argb = row[x];
+                pixels[p++] = (byte) (argb >> 16);
+                pixels[p++] = (byte) (argb >> 8);
+                pixels[p++] = (byte) argb;
+                if (alpha != null) {
+                    int value = argb >>> 24;
+                    alpha[a++] = (byte) value;
+                    translucent |= value != 0xFF;
+                }
+            }
+        }
+        return new PreparedImage(COSName.FLATE_DECODE, deflate(pixels), width, height, components,
+                translucent ? deflate(alpha) : null);
+    }
+
+    public PDImageXObject toXObject(PDDocument document) throws IOException {
+        PDImageXObject image = new PDImageXObject(document, new ByteArrayInputStream(data), filter,
+                width, height, 8, colorSpace());
+        if (filter == COSName.DCT_DECODE && components == 4) {
+            // Adobe CMYK JPEGs are stored inverted, same as JPEGFactory does
+            COSArray decode = new COSArray();
+            for (int i = 0; i < 4; i++) {
+                decode.add(COSInteger.ONE);
+                decode.add(COSInteger.ZERO);
+            }
+            image.setDecode(decode);
+        }
+        if (alpha != null) {
+            PDImageXObject mask = new PDImageXObject(document, new ByteArrayInputStream(alpha),
+                    COSName.FLATE_DECODE, width, height, 8, PDDeviceGray.INSTANCE);
+            image.getCOSObject().setItem(COSName.SMASK, mask);
+        }
+        return image;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return size of the encoded data in bytes
+     */
+    public int size() {
+        return data.length + (alpha != null ? alpha.length : 0);
+    }
+
+    private PDColorSpace colorSpace() {
+        return switch (components) {
+            case 1 -> PDDeviceGray.INSTANCE;
+            case 4 -> PDDeviceCMYK.INSTANCE;
+            default -> PDDeviceRGB.INSTANCE;
+        };
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[16384];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
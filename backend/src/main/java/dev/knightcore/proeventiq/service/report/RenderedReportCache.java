@@ -0,0 +1,93 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory LRU cache of rendered report documents, keyed by {@link ReportFingerprint}.
+ * <p>
+ * As keys are derived from all rendering inputs, entries never need explicit invalidation: a change
+ * to any input produces a new key and the stale entry simply ages out. The cache is bounded by the
+ * total size of the cached documents ({@code app.report.cache.max-size}, 0 disables it).
+ * Cached arrays are shared between callers and must not be modified.
+ * <p>
+ * Exposes {@code report.cache.requests} (tagged hit/miss), {@code report.cache.hit.ratio},
+ * {@code report.cache.size} and {@code report.cache.entries}.
+ */
+@Component
+public class RenderedReportCache {
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, byte[]> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private long currentBytes;
+
+    public RenderedReportCache(ReportProperties reportProperties, MeterRegistry meterRegistry) {
+        this.maxBytes = reportProperties.getCache().getMaxSize().toBytes();
+
+        FunctionCounter.builder("report.cache.requests", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .description("Rendered report lookups served from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("report.cache.requests", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .description("Rendered report lookups that required rendering")
+                .register(meterRegistry);
+        Gauge.builder("report.cache.hit.ratio", this, RenderedReportCache::hitRatio)
+                .description("Share of rendered report lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("report.cache.size", this, RenderedReportCache::sizeInBytes)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("report.cache.entries", this, RenderedReportCache::entryCount)
+                .register(meterRegistry);
+    }
+
+    public Optional<byte[]> get(String key) {
+        byte[] document;
+        synchronized (this) {
+            document = entries.get(key);
+        }
+        (document != null ? hits : misses).incrementAndGet();
+        return Optional.ofNullable(document);
+    }
+
+    public void put(String key, byte[] document) {
+        if (document.length > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            byte[] previous = entries.put(key, document);
+            currentBytes += document.length - (previous != null ? previous.length : 0);
+            Iterator<Map.Entry<String, byte[]>> eldest = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                currentBytes -= eldest.next().getValue().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    public double hitRatio() {
+        long h = hits.get();
+        long total = h + misses.get();
+        return total == 0 ? 0.0 : (double) h / total;
+    }
+
+    private synchronized long sizeInBytes() {
+        return currentBytes;
+    }
+
+    private synchronized int entryCount() {
+        return entries.size();
+    }
+}
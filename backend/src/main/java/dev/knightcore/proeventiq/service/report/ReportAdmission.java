@@ -0,0 +1,194 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.api.model.ReportJobType;
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.service.KeycloakUserService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bulkhead for reports generated on behalf of requests.
+ * <p>
+ * Rendering allocates heavily, so only {@code app.report.admission.max-concurrent} reports are
+ * generated at once. A request that finds all slots taken waits for one, up to
+ * {@code max-wait}; when {@code queue-capacity} requests are waiting already, or a user has
+ * {@code max-per-user} reports running or waiting, it is rejected immediately with an
+ * {@link AdmissionRejectedException} carrying the delay the client should retry after. Rejecting
+ * early keeps a burst of report downloads from driving the JVM into long collections that would
+ * stall every other endpoint as well.
+ * <p>
+ * Exposes {@code report.admission.active}, {@code report.admission.queue},
+ * {@code report.admission.wait} and {@code report.render} (per report type) and
+ * {@code report.admission.rejected} (per report type and reason).
+ */
+@Component
+public class ReportAdmission {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportAdmission.class);
+    /** Requests without a user email share one per-user limit. */
+    private static final String ANONYMOUS = "";
+
+    /**
+     * Thrown when a report cannot be admitted; the request should be retried after {@link #getRetryAfter()}.
+     */
+    public static class AdmissionRejectedException extends RejectedExecutionException {
+
+        private final Duration retryAfter;
+
+        public AdmissionRejectedException(String message, Duration retryAfter) {
+            super(message);
+            this.retryAfter = retryAfter;
+        }
+
+        public Duration getRetryAfter() {
+            return retryAfter;
+        }
+    }
+
+    /**
+     * A slot held while a report is generated. Closing it frees the slot and records the render
+     * time; closing it again has no effect.
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final ReportJobType type;
+        private final String user;
+        private final long admittedAt = System.nanoTime();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Permit(ReportJobType type, String user) {
+            this.type = type;
+            this.user = user;
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                renderTimer(type).record(System.nanoTime() - admittedAt, TimeUnit.NANOSECONDS);
+                release(user);
+                slots.release();
+            }
+        }
+    }
+
+    private final KeycloakUserService keycloakUserService;
+    private final MeterRegistry meterRegistry;
+    private final int maxConcurrent;
+    private final int queueCapacity;
+    private final int maxPerUser;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final Semaphore slots;
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final Map<String, Integer> perUser = new ConcurrentHashMap<>();
+
+    public ReportAdmission(ReportProperties reportProperties, KeycloakUserService keycloakUserService,
+                           MeterRegistry meterRegistry) {
+        ReportProperties.Admission admission = reportProperties.getAdmission();
+        this.keycloakUserService = keycloakUserService;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrent = Math.max(1, admission.getMaxConcurrent());
+        this.queueCapacity = Math.max(0, admission.getQueueCapacity());
+        this.maxPerUser = Math.max(1, admission.getMaxPerUser());
+        this.maxWait = admission.getMaxWait();
+        this.retryAfter = admission.getRetryAfter();
+        this.slots = new Semaphore(maxConcurrent, true);
+
+        Gauge.builder("report.admission.active", this, ReportAdmission::activeCount)
+                .description("Reports being generated for requests")
+                .register(meterRegistry);
+        Gauge.builder("report.admission.queue", waiting, AtomicInteger::get)
+                .description("Report requests waiting for a free slot")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a slot for a report of the given type for the current user, waiting up to
+     * {@code max-wait} if all slots are taken. The permit must be closed once the report is
+     * generated, or written out for streamed reports.
+     *
+     * @throws AdmissionRejectedException if the user or the service is at its limit
+     */
+    public Permit acquire(ReportJobType type) {
+        String user = keycloakUserService.getCurrentUserEmail().orElse(ANONYMOUS);
+        if (perUser.merge(user, 1, Integer::sum) > maxPerUser) {
+            release(user);
+            throw reject(type, "user", "Too many reports in progress for the current user");
+        }
+
+        long start = System.nanoTime();
+        boolean admitted = slots.tryAcquire();
+        if (!admitted) {
+            if (waiting.incrementAndGet() > queueCapacity) {
+                waiting.decrementAndGet();
+                release(user);
+                throw reject(type, "queue", "Too many reports waiting to be generated");
+            }
+            try {
+                admitted = slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!admitted) {
+                release(user);
+                throw reject(type, "timeout", "No report slot became free in time");
+            }
+        }
+        Timer.builder("report.admission.wait")
+                .tag("type", type.getValue())
+                .description("Time report requests waited for a free slot")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new Permit(type, user);
+    }
+
+    private AdmissionRejectedException reject(ReportJobType type, String reason, String message) {
+        Counter.builder("report.admission.rejected")
+                .tag("type", type.getValue())
+                .tag("reason", reason)
+                .description("Report requests rejected by admission control")
+                .register(meterRegistry)
+                .increment();
+        log.warn("Rejecting {} report request: {}", type, message);
+        return new AdmissionRejectedException(message, retryAfter);
+    }
+
+    /**
+     * @return whether no report is being generated or waiting for a slot; background work that
+     *         competes with requests for CPU should only run while this holds
+     */
+    public boolean isIdle() {
+        return activeCount() == 0 && waiting.get() == 0;
+    }
+
+    private Timer renderTimer(ReportJobType type) {
+        return Timer.builder("report.render")
+                .tag("type", type.getValue())
+                .description("Time from admission until a report was generated or written out")
+                .register(meterRegistry);
+    }
+
+    private void release(String user) {
+        perUser.computeIfPresent(user, (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private int activeCount() {
+        return maxConcurrent - slots.availablePermits();
+    }
+}
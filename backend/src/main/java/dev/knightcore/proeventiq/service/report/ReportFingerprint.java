@@ -0,0 +1,82 @@
+package dev.knightcore.proeventiq.service.report;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Builds a SHA-256 fingerprint over all inputs that influence a rendered report.
+ * <p>
+ * Values are written with a type tag and, for variable-length values, a length prefix, so that
+ * different sequences of values can never produce the same byte stream. Two reports with equal
+ * fingerprints render to the same document, which makes the fingerprint usable as a cache key:
+ * whenever any input changes, the key changes with it.
+ */
+public final class ReportFingerprint {
+
+    private final MessageDigest digest;
+
+    private ReportFingerprint(String kind) {
+        try {
+            this.digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        add(kind);
+    }
+
+    /**
+     * @param kind report type, keeps fingerprints of different report types apart
+     */
+    public static ReportFingerprint of(String kind) {
+        return new ReportFingerprint(kind);
+    }
+
+    public ReportFingerprint add(String value) {
+        if (value == null) {
+            return addNull();
+        }
+        digest.update((byte) 's');
+        return addBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public ReportFingerprint add(Number value) {
+        if (value == null) {
+            return addNull();
+        }
+        digest.update((byte) 'n');
+        return addBytes(value.toString().getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public ReportFingerprint add(Object value) {
+        return add(value != null ? value.toString() : null);
+    }
+
+    public ReportFingerprint add(byte[] value) {
+        if (value == null) {
+            return addNull();
+        }
+        digest.update((byte) 'b');
+        return addBytes(value);
+    }
+
+    /**
+     * @return the fingerprint as a lower-case hex string; the builder must not be used afterwards
+     */
+    public String build() {
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private ReportFingerprint addNull() {
+        digest.update((byte) 0);
+        return this;
+    }
+
+    private ReportFingerprint addBytes(byte[] bytes) {
+        int length = bytes.length;
+        digest.update(new byte[] {(byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+        digest.update(bytes);
+        return this;
+    }
+}
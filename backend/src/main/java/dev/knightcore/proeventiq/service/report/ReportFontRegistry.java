@@ -0,0 +1,135 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide registry of the TrueType fonts used by the PDF reports.
+ * <p>
+ * The TTF files are read and parsed once at startup. Documents only get a lightweight
+ * {@link PDType0Font} wrapper around the shared {@link TrueTypeFont}, so creating a ticket
+ * no longer re-reads and re-parses the font programs from the classpath.
+ * <p>
+ * Fonts are parsed from an in-memory {@link RandomAccessReadBuffer}; fontbox copies the data
+ * into its own buffer whose {@code close()} is a no-op, so the subsetter closing the font
+ * after a document is saved does not invalidate it for the next document. Table reads in
+ * fontbox are synchronized, and all tables are loaded eagerly here, which makes the parsed
+ * fonts safe to share between rendering threads.
+ */
+@Component
+public class ReportFontRegistry {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFontRegistry.class);
+
+    public enum ReportFont {
+        ARIMO_REGULAR("/fonts/arimo-regular.ttf", Standard14Fonts.FontName.HELVETICA),
+        ARIMO_BOLD("/fonts/arimo-bold.ttf", Standard14Fonts.FontName.HELVETICA_BOLD),
+        PTSERIF_REGULAR("/fonts/ptserif-regular.ttf", Standard14Fonts.FontName.TIMES_ROMAN),
+        PTSERIF_BOLD("/fonts/ptserif-bold.ttf", Standard14Fonts.FontName.TIMES_BOLD);
+
+        private final String resource;
+        private final Standard14Fonts.FontName fallback;
+
+        ReportFont(String resource, Standard14Fonts.FontName fallback) {
+            this.resource = resource;
+            this.fallback = fallback;
+        }
+    }
+
+    private final Map<ReportFont, TrueTypeFont> fonts = new EnumMap<>(ReportFont.class);
+    private final Map<ReportFont, Font> awtFonts = new ConcurrentHashMap<>();
+
+    public ReportFontRegistry() {
+        for (ReportFont font : ReportFont.values()) {
+            try {
+                fonts.put(font, parse(font.resource));
+            } catch (Exception e) {
+                log.error("Could not load report font {} from {}, falling back to {}: {}",
+                        font, font.resource, font.fallback, e.getMessage());
+            }
+        }
+        log.info("Loaded {} of {} report fonts", fonts.size(), ReportFont.values().length);
+    }
+
+    /**
+     * Returns a document-bound font backed by the shared parsed font program.
+     * The font is embedded as a subset when the document is saved.
+     */
+    public PDFont load(PDDocument document, ReportFont font) throws IOException {
+        TrueTypeFont ttf = fonts.get(font);
+        if (ttf == null) {
+            return new PDType1Font(font.fallback);
+        }
+        return PDType0Font.load(document, ttf, true);
+    }
+
+    /**
+     * Creates the standard set of report fonts for a single document.
+     */
+    public ReportFonts forDocument(PDDocument document) throws IOException {
+        return new ReportFonts(
+                load(document, ReportFont.ARIMO_REGULAR),
+                load(document, ReportFont.ARIMO_BOLD),
+                load(document, ReportFont.PTSERIF_REGULAR),
+                load(document, ReportFont.PTSERIF_BOLD));
+    }
+
+    /**
+     * Returns the font for drawing with Java2D (raster previews), at size 1. Loaded on first use;
+     * falls back to the logical SansSerif or Serif font if the font file cannot be read.
+     */
+    public Font awtFont(ReportFont font) {
+        return awtFonts.computeIfAbsent(font, f -> {
+            try (InputStream in = ReportFontRegistry.class.getResourceAsStream(f.resource)) {
+                if (in == null) {
+                    throw new IOException("Font resource not found: " + f.resource);
+                }
+                return Font.createFont(Font.TRUETYPE_FONT, in);
+            } catch (IOException | FontFormatException e) {
+                log.error("Could not load report font {} for Java2D: {}", f, e.getMessage());
+                boolean serif = f == ReportFont.PTSERIF_REGULAR || f == ReportFont.PTSERIF_BOLD;
+                boolean bold = f == ReportFont.ARIMO_BOLD || f == ReportFont.PTSERIF_BOLD;
+                return new Font(serif ? Font.SERIF : Font.SANS_SERIF, bold ? Font.BOLD : Font.PLAIN, 1);
+            }
+        });
+    }
+
+    private TrueTypeFont parse(String resource) throws IOException {
+        try (InputStream in = ReportFontRegistry.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IOException("Font resource not found: " + resource);
+            }
+            TrueTypeFont ttf = new TTFParser().parse(new RandomAccessReadBuffer(in.readAllBytes()));
+            // Touch the lazily read tables up front so concurrent documents only ever read them
+            ttf.getHeader();
+            ttf.getHorizontalHeader();
+            ttf.getHorizontalMetrics();
+            ttf.getMaximumProfile();
+            ttf.getOS2Windows();
+            ttf.getPostScript();
+            ttf.getNaming();
+            ttf.getIndexToLocation();
+            ttf.getGlyph();
+            ttf.getUnicodeCmapLookup();
+            ttf.getGsubData();
+            return ttf;
+        }
+    }
+}
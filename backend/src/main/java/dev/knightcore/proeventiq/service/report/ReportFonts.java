@@ -0,0 +1,18 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+/**
+ * The fonts used by one report document: Arimo for body/header text, PT Serif for letter text.
+ */
+public record ReportFonts(PDFont body, PDFont header, PDFont serif, PDFont serifBold) {
+
+    public PDFont get(ReportFontRegistry.ReportFont font) {
+        return switch (font) {
+            case ARIMO_REGULAR -> body;
+            case ARIMO_BOLD -> header;
+            case PTSERIF_REGULAR -> serif;
+            case PTSERIF_BOLD -> serifBold;
+        };
+    }
+}
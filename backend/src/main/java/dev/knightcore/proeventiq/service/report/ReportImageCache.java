@@ -0,0 +1,347 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import org.apache.batik.transcoder.TranscoderException;
+import org.apache.batik.transcoder.TranscoderInput;
+import org.apache.batik.transcoder.TranscoderOutput;
+import org.apache.batik.transcoder.image.PNGTranscoder;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of report images (show thumbnails, organizer logos) in their {@link PreparedImage} form.
+ * <p>
+ * Images are keyed by owner (e.g. {@code show:12}), a hash of their content and the box they are
+ * drawn in, so each uploaded image is decoded once per box size and re-decoded only after it
+ * changes, instead of once per document.
+ * <p>
+ * Uploads are usually far larger than the few centimetres they occupy on a ticket, so images are
+ * downscaled to {@code app.report.images.dpi} for the box they are drawn in. The encoding is then
+ * chosen by content: photographs become JPEG, while images with transparency or few colours (logos,
+ * line art) are stored as losslessly compressed pixels. A JPEG that does not need downscaling is
+ * passed through unchanged. Images that cannot be decoded are remembered as such. The cache is
+ * bounded by the size of the encoded data ({@code app.report.images.cache-size}).
+ */
+@Component
+public class ReportImageCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportImageCache.class);
+
+    /** Images with at most this many distinct colours compress better losslessly than as JPEG. */
+    private static final int LOSSLESS_MAX_COLORS = 256;
+    private static final float POINTS_PER_INCH = 72f;
+
+    private final long maxBytes;
+    private final int dpi;
+    private final float jpegQuality;
+    private final LinkedHashMap<String, Optional<PreparedImage>> entries = new LinkedHashMap<>(32, 0.75f, true);
+    private final Map<String, Object> loadLocks = new ConcurrentHashMap<>();
+    private final Map<String, ContentHash> lastHashes = new ConcurrentHashMap<>();
+    private long currentBytes;
+
+    public ReportImageCache(ReportProperties reportProperties) {
+        ReportProperties.Images images = reportProperties.getImages();
+        this.maxBytes = images.getCacheSize().toBytes();
+        this.dpi = images.getDpi();
+        this.jpegQuality = images.getJpegQuality();
+    }
+
+    /**
+     * Returns the prepared form of an image, decoding it on first use.
+     *
+     * @param owner     identifies the entity the image belongs to, e.g. {@code "show:12"}
+     * @param data      the image file as uploaded
+     * @param maxWidth  largest width the image is drawn at, in points; may be infinite
+     * @param maxHeight largest height the image is drawn at, in points; may be infinite
+     * @return the prepared image, or empty if there is no image or it cannot be decoded
+     */
+    public Optional<PreparedImage> get(String owner, byte[] data, float maxWidth, float maxHeight) {
+        if (data == null || data.length == 0) {
+            return Optional.empty();
+        }
+        String key = owner + ":" + contentHash(owner, data) + ":" + maxWidth + "x" + maxHeight;
+        Optional<PreparedImage> image = lookup(key);
+        if (image != null) {
+            return image;
+        }
+        // Only one thread decodes a given image, the others wait for its result
+        Object lock = loadLocks.computeIfAbsent(key, k -> new Object());
+        try {
+            synchronized (lock) {
+                image = lookup(key);
+                if (image == null) {
+                    image = Optional.ofNullable(prepare(owner, data, maxWidth, maxHeight));
+                    store(key, image);
+                }
+                return image;
+            }
+        } finally {
+            loadLocks.remove(key, lock);
+        }
+    }
+
+    /**
+     * Convenience for adding a cached image to a document.
+     *
+     * @return the image XObject for the document, or null if there is no usable image
+     */
+    public PDImageXObject toXObject(PDDocument document, String owner, byte[] data,
+                                    float maxWidth, float maxHeight) throws IOException {
+        Optional<PreparedImage> image = get(owner, data, maxWidth, maxHeight);
+        return image.isPresent() ? image.get().toXObject(document) : null;
+    }
+
+    /**
+     * Adds a cached image to a document once: later calls for the same image reuse the XObject kept in
+     * {@code documentImages}, so an image drawn on many pages of the document is embedded only once.
+     *
+     * @param documentImages the images already added to {@code document}
+     * @return the image XObject for the document, or null if there is no usable image
+     */
+    public PDImageXObject toXObject(PDDocument document, Map<PreparedImage, PDImageXObject> documentImages, String owner,
+                                    byte[] data, float maxWidth, float maxHeight) throws IOException {
+        Optional<PreparedImage> image = get(owner, data, maxWidth, maxHeight);
+        if (image.isEmpty()) {
+            return null;
+        }
+        PDImageXObject xObject = documentImages.get(image.get());
+        if (xObject == null) {
+            xObject = image.get().toXObject(document);
+            documentImages.put(image.get(), xObject);
+        }
+        return xObject;
+    }
+
+    private synchronized Optional<PreparedImage> lookup(String key) {
+        return entries.get(key);
+    }
+
+    private synchronized void store(String key, Optional<PreparedImage> image) {
+        int size = image.map(PreparedImage::size).orElse(0);
+        if (size > maxBytes) {
+            return;
+        }
+        entries.put(key, image);
+        currentBytes += size;
+        Iterator<Optional<PreparedImage>> eldest = entries.values().iterator();
+        while (currentBytes > maxBytes && eldest.hasNext()) {
+            currentBytes -= eldest.next().map(PreparedImage::size).orElse(0);
+            eldest.remove();
+        }
+    }
+
+    private PreparedImage prepare(String owner, byte[] data, float maxWidth, float maxHeight) {
+        long start = System.nanoTime();
+        PreparedImage image = null;
+        try {
+            if (isJpeg(data)) {
+                image = prepareJpeg(data, maxWidth, maxHeight);
+            } else {
+                BufferedImage decoded = decode(data);
+                if (decoded != null) {
+                    image = encode(downscale(decoded, maxWidth, maxHeight));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Could not prepare image of {}: {}", owner, e.getMessage());
+        }
+        if (image == null) {
+            log.warn("Image of {} could not be decoded and is left out of reports", owner);
+        } else {
+            log.debug("Prepared image of {} ({}x{}, {} bytes) in {} ms", owner, image.getWidth(), image.getHeight(),
+                    image.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+        return image;
+    }
+
+    private PreparedImage prepareJpeg(byte[] data, float maxWidth, float maxHeight) throws IOException {
+        // JPEGFactory only reads the header; reuse its size and colour space detection
+        PreparedImage original;
+        try (PDDocument scratch = new PDDocument()) {
+            PDImageXObject probe = JPEGFactory.createFromByteArray(scratch, data);
+            original = PreparedImage.jpeg(data, probe.getWidth(), probe.getHeight(),
+                    probe.getColorSpace().getNumberOfComponents());
+        }
+        if (targetScale(original.getWidth(), original.getHeight(), maxWidth, maxHeight) >= 1) {
+            return original;
+        }
+        // ImageIO cannot read CMYK JPEGs, those are embedded at their original size
+        BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(data));
+        if (decoded == null) {
+            return original;
+        }
+        return PreparedImage.jpeg(downscale(decoded, maxWidth, maxHeight), jpegQuality);
+    }
+
+    private PreparedImage encode(BufferedImage image) throws IOException {
+        // JPEG has no transparency and smears the flat colours and hard edges of logos
+        if (isTranslucent(image) || countColors(image, LOSSLESS_MAX_COLORS) <= LOSSLESS_MAX_COLORS) {
+            return PreparedImage.lossless(image);
+        }
+        return PreparedImage.jpeg(image, jpegQuality);
+    }
+
+    /**
+     * @return the factor the image has to be scaled by to match the configured resolution when drawn
+     * at most {@code maxWidth} x {@code maxHeight} points with its aspect ratio kept
+     */
+    private float targetScale(int width, int height, float maxWidth, float maxHeight) {
+        float drawScale = Math.min(maxWidth / width, maxHeight / height);
+        return drawScale * dpi / POINTS_PER_INCH;
+    }
+
+    private BufferedImage downscale(BufferedImage image, float maxWidth, float maxHeight) {
+        float scale = targetScale(image.getWidth(), image.getHeight(), maxWidth, maxHeight);
+        if (scale >= 1) {
+            return image;
+        }
+        int targetWidth = Math.max(1, Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, Math.round(image.getHeight() * scale));
+        int type = image.getType() == BufferedImage.TYPE_BYTE_GRAY ? BufferedImage.TYPE_BYTE_GRAY
+                : image.getColorModel().hasAlpha() ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        // Halve with bilinear filtering until close to the target; a single bilinear step from a much
+        // larger image would skip most source pixels and alias
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static boolean isTranslucent(BufferedImage image) {
+        WritableRaster alpha = image.getAlphaRaster();
+        if (alpha == null) {
+            return false;
+        }
+        int max = (1 << alpha.getSampleModel().getSampleSize(0)) - 1;
+        int[] row = new int[alpha.getWidth()];
+        for (int y = 0; y < alpha.getHeight(); y++) {
+            alpha.getSamples(0, y, row.length, 1, 0, row);
+            for (int value : row) {
+                if (value != max) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the distinct opaque colours of an image, stopping once {@code limit} is exceeded.
+     */
+    private static int countColors(BufferedImage image, int limit) {
+        Set<Integer> colors = new HashSet<>();
+        int width = image.getWidth();
+        int[] row = new int[width];
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int x = 0; x < width; x++) {
+                if (colors.add(row[x] | 0xFF000000) && colors.size() > limit) {
+                    return colors.size();
+                }
+            }
+        }
+        return colors.size();
+    }
+
+    private BufferedImage decode(byte[] data) {
+        // Try ImageIO first (handles PNG, JPEG, GIF, WebP etc.)
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(data)) {
+            BufferedImage img = ImageIO.read(bais);
+            if (img != null) return img;
+        } catch (IOException ignored) {}
+
+        // If ImageIO could not decode, try to treat as SVG and rasterize via Batik
+        try {
+            return rasterizeSvg(data);
+        } catch (Exception e) {
+            log.debug("SVG rasterization failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private BufferedImage rasterizeSvg(byte[] svgBytes) throws TranscoderException, IOException {
+        PNGTranscoder transcoder = new PNGTranscoder();
+        try (ByteArrayInputStream bais = new ByteArrayInputStream(svgBytes);
+             ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
+            transcoder.transcode(new TranscoderInput(bais), new TranscoderOutput(baos));
+            try (ByteArrayInputStream pngIn = new ByteArrayInputStream(baos.toByteArray())) {
+                return ImageIO.read(pngIn);
+            }
+        }
+    }
+
+    /**
+     * Hashes the image content, reusing the last hash of the owner when the very same array is passed
+     * again. All tickets of one batch share the loaded show and organizer entities, so large uploads
+     * are hashed once per batch instead of once per document.
+     *
+     * @return the SHA-256 of the image as a hex string, or null if there is no image
+     */
+    public String contentHash(String owner, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        ContentHash last = lastHashes.get(owner);
+        if (last != null && last.data().get() == data) {
+            return last.hash();
+        }
+        String hash = sha256(data);
+        // Weakly referenced, the upload itself must not be kept alive by the cache
+        lastHashes.put(owner, new ContentHash(new WeakReference<>(data), hash));
+        return hash;
+    }
+
+    private record ContentHash(WeakReference<byte[]> data, String hash) {
+    }
+
+    private static boolean isJpeg(byte[] data) {
+        return data.length > 3 && (data[0] & 0xFF) == 0xFF && (data[1] & 0xFF) == 0xD8 && (data[2] & 0xFF) == 0xFF;
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
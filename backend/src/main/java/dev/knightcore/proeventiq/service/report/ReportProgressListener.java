@@ -0,0 +1,16 @@
+package dev.knightcore.proeventiq.service.report;
+
+/**
+ * Receives progress updates while a multi-document report is being generated.
+ */
+@FunctionalInterface
+public interface ReportProgressListener {
+
+    ReportProgressListener NONE = (done, total) -> { };
+
+    /**
+     * @param done  number of documents processed so far (successfully or not)
+     * @param total number of documents the report consists of
+     */
+    void onProgress(int done, int total);
+}
@@ -0,0 +1,50 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A resource whose content is produced on demand by writing it straight to the response body.
+ * <p>
+ * Used for large downloads (e.g. ZIP archives of tickets) that should not be materialised in
+ * memory first. It can only be written once, by
+ * {@link dev.knightcore.proeventiq.config.StreamingResourceHttpMessageConverter}; its length is
+ * not known up front and it cannot be read as an {@link InputStream}.
+ */
+public class StreamingResource extends AbstractResource {
+
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(OutputStream outputStream) throws IOException;
+    }
+
+    private final String description;
+    private final ContentWriter writer;
+
+    public StreamingResource(String description, ContentWriter writer) {
+        this.description = description;
+        this.writer = writer;
+    }
+
+    public void writeTo(OutputStream outputStream) throws IOException {
+        writer.writeTo(outputStream);
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        throw new IOException("Length of streaming resource is not known: " + description);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        throw new IOException("Streaming resource can only be written to a response: " + description);
+    }
+}
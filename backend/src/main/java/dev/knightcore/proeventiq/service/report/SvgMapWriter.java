@@ -0,0 +1,205 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.service.report.VenueGeometry.SectorGeometry;
+
+import java.awt.Color;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Writes the overview of a venue as SVG: sector outlines and labels as on the PDF map (see
+ * {@code ReportService.drawSector}), plus every seat, with reserved seats in their participant's
+ * seat colour.
+ * <p>
+ * The document is written element by element straight to the output, without building a DOM, so
+ * the whole map costs one pass over the {@link VenueGeometry}. Coordinates are in venue space (the
+ * view box is the venue canvas, y pointing down), rounded to a tenth of a unit; styling is shared
+ * through classes, with strokes that do not scale so the map can be zoomed on the client.
+ */
+public final class SvgMapWriter {
+
+    public static final String MEDIA_TYPE = "image/svg+xml";
+    /** Seat colour of participants without a valid one, the highlight colour of the PDF map. */
+    public static final String DEFAULT_SEAT_COLOR = "#2196f3";
+
+    private static final Pattern HEX_COLOR = Pattern.compile("#[0-9a-fA-F]{6}");
+    private static final String STYLE = ".sector{fill:#f5f5f5;stroke:#404040;stroke-width:1.5;vector-effect:non-scaling-stroke}"
+            + ".sector.reserved{fill:#2196f3;fill-opacity:.25;stroke:#1976d2;stroke-width:2}"
+            + ".seats circle{fill:#e6e6e6;stroke:#808080;stroke-width:.5;vector-effect:non-scaling-stroke}"
+            + ".label{font-family:Arimo,Arial,sans-serif;fill:#000}";
+
+    private final Writer out;
+
+    private SvgMapWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Writes the map of the venue. The output stream is flushed but not closed.
+     *
+     * @param seatColors colours of the reserved seats by seat ID, as {@code #rrggbb}; seats not in the
+     *                   map are drawn as free
+     */
+    public static void write(VenueGeometry geometry, double venueWidth, double venueHeight,
+                             Map<Long, String> seatColors, OutputStream outputStream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), 16 * 1024);
+        new SvgMapWriter(writer).writeMap(geometry, venueWidth, venueHeight, seatColors);
+        writer.flush();
+    }
+
+    /**
+     * @return the seat colour if it is a valid {@code #rrggbb} colour, otherwise the default
+     */
+    public static String seatColor(String color) {
+        return color != null && HEX_COLOR.matcher(color).matches() ? color.toLowerCase(Locale.ROOT) : DEFAULT_SEAT_COLOR;
+    }
+
+    private void writeMap(VenueGeometry geometry, double venueWidth, double venueHeight, Map<Long, String> seatColors) throws IOException {
+        // One class per seat colour, in order of first use
+        Map<String, String> colorClasses = new LinkedHashMap<>();
+        for (String color : seatColors.values()) {
+            colorClasses.computeIfAbsent(color, c -> "p" + colorClasses.size());
+        }
+        Map<Long, String> seatClasses = new HashMap<>(seatColors.size() * 4 / 3 + 1);
+        seatColors.forEach((seatId, color) -> seatClasses.put(seatId, colorClasses.get(color)));
+
+        out.write("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 ");
+        number(venueWidth);
+        out.write(' ');
+        number(venueHeight);
+        out.write("\" width=\"");
+        number(venueWidth);
+        out.write("\" height=\"");
+        number(venueHeight);
+        out.write("\">\n<style>");
+        out.write(STYLE);
+        for (Map.Entry<String, String> colorClass : colorClasses.entrySet()) {
+            Color fill = Color.decode(colorClass.getKey());
+            out.write(".seats circle.");
+            out.write(colorClass.getValue());
+            out.write("{fill:");
+            out.write(colorClass.getKey());
+            out.write(";stroke:");
+            out.write(hex(fill.darker()));
+            out.write('}');
+        }
+        out.write("</style>\n");
+
+        for (SectorGeometry sector : geometry.getSectors()) {
+            if (sector.hasOutline()) {
+                writeSector(sector, sector.containsAny(seatColors.keySet()), seatClasses);
+            }
+        }
+        out.write("</svg>\n");
+    }
+
+    private void writeSector(SectorGeometry sector, boolean reserved, Map<Long, String> seatClasses) throws IOException {
+        out.write("<g data-sector-id=\"");
+        out.write(String.valueOf(sector.getSectorId()));
+        out.write("\">\n<polygon class=\"");
+        out.write(reserved ? "sector reserved" : "sector");
+        out.write("\" points=\"");
+        for (int i = 0; i < sector.outlineSize(); i++) {
+            if (i > 0) {
+                out.write(' ');
+            }
+            number(sector.outlineX(i));
+            out.write(',');
+            number(sector.outlineY(i));
+        }
+        out.write("\"/>\n");
+
+        if (sector.seatCount() > 0) {
+            out.write("<g class=\"seats\">\n");
+            double radius = sector.getSeatRadius();
+            for (int seat = 0; seat < sector.seatCount(); seat++) {
+                out.write("<circle cx=\"");
+                number(sector.venueSeatX(seat));
+                out.write("\" cy=\"");
+                number(sector.venueSeatY(seat));
+                out.write("\" r=\"");
+                number(radius);
+                String seatClass = reserved ? seatClasses.get(sector.seatId(seat)) : null;
+                if (seatClass != null) {
+                    out.write("\" class=\"");
+                    out.write(seatClass);
+                }
+                out.write("\"/>\n");
+            }
+            out.write("</g>\n");
+        }
+
+        writeLabel(sector);
+        out.write("</g>\n");
+    }
+
+    /**
+     * Label centred on its anchor with the baseline 20 units above it less the font size, in the
+     * label's rotation, as on the PDF.
+     */
+    private void writeLabel(SectorGeometry sector) throws IOException {
+        double fontSize = sector.getLabelFontSize() != null ? sector.getLabelFontSize() : 12;
+        out.write("<text class=\"label\" text-anchor=\"middle\" font-size=\"");
+        number(fontSize);
+        out.write("\" transform=\"translate(");
+        number(sector.getLabelX());
+        out.write(' ');
+        number(sector.getLabelY());
+        if (sector.getLabelRotation() != 0) {
+            // Label rotation is in PDF orientation, y pointing up
+            out.write(") rotate(");
+            number(-Math.toDegrees(sector.getLabelRotation()));
+        }
+        out.write(")\" y=\"");
+        number(fontSize - 20);
+        out.write("\">");
+        text(sector.getLabel());
+        out.write("</text>\n");
+    }
+
+    /**
+     * Writes a number rounded to one decimal, without a trailing {@code .0}.
+     */
+    private void number(double value) throws IOException {
+        long tenths = Math.round(value * 10);
+        if (tenths < 0) {
+            out.write('-');
+            tenths = -tenths;
+        }
+        out.write(Long.toString(tenths / 10));
+        if (tenths % 10 != 0) {
+            out.write('.');
+            out.write((char) ('0' + tenths % 10));
+        }
+    }
+
+    private void text(String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '&' -> out.write("&amp;");
+                case '<' -> out.write("&lt;");
+                case '>' -> out.write("&gt;");
+                default -> {
+                    // Control characters are not allowed in XML
+                    if (c >= 0x20 || c == '\t') {
+                        out.write(c);
+                    }
+                }
+            }
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+}
@@ -0,0 +1,171 @@
+package dev.knightcore.proeventiq.service.report;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+
+/**
+ * Word wrapping of report text, measured with per-font glyph width tables.
+ * <p>
+ * The advance of each character is looked up in the font once and kept per font name, so fonts
+ * loaded for different documents from the same font program share their table. A line is wrapped in
+ * a single pass over its words: the width of a word is the sum of its character advances, and the
+ * width of a line is that of its words plus the spaces between them (report fonts have no kerning
+ * applied, so this is exactly what the font reports for the whole line).
+ * <p>
+ * Wrapped lines are memoized per text, font, size and width, so text that is the same on every
+ * document of a batch, like the ticket description of an event, is laid out once.
+ */
+public class TextLayout {
+
+    private static final int MAX_CACHED_LAYOUTS = 512;
+    /** Advances of characters below this are kept in an array, others in a map. */
+    private static final int TABLE_SIZE = 0x0300;
+
+    private record LayoutKey(String text, String fontName, float fontSize, float maxWidth) {
+    }
+
+    private final UnaryOperator<String> measuredForm;
+    private final Map<String, GlyphWidths> glyphWidths = new ConcurrentHashMap<>();
+    private final LinkedHashMap<LayoutKey, List<String>> layouts = new LinkedHashMap<>(64, 0.75f, true);
+
+    /**
+     * @param measuredForm the form a character is measured in, e.g. with characters the font may
+     *                     not have replaced; applied to single characters
+     */
+    public TextLayout(UnaryOperator<String> measuredForm) {
+        this.measuredForm = measuredForm;
+    }
+
+    /**
+     * Wraps a paragraph to lines of at most {@code maxWidth} points. Words are separated by single
+     * spaces, and runs of spaces are kept. A word wider than a line gets a line of its own.
+     *
+     * @return the lines, unmodifiable
+     */
+    public List<String> wrap(String text, PDFont font, float fontSize, float maxWidth) throws IOException {
+        LayoutKey key = new LayoutKey(text, font.getName(), fontSize, maxWidth);
+        synchronized (layouts) {
+            List<String> lines = layouts.get(key);
+            if (lines != null) {
+                return lines;
+            }
+        }
+        List<String> lines = List.copyOf(layout(text, font, fontSize, maxWidth));
+        synchronized (layouts) {
+            layouts.put(key, lines);
+            if (layouts.size() > MAX_CACHED_LAYOUTS) {
+                layouts.remove(layouts.keySet().iterator().next());
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Width of a text in points.
+     */
+    public float width(String text, PDFont font, float fontSize) throws IOException {
+        return widths(font).width(font, text, 0, text.length()) / 1000 * fontSize;
+    }
+
+    private List<String> layout(String text, PDFont font, float fontSize, float maxWidth) throws IOException {
+        GlyphWidths widths = widths(font);
+        List<String> lines = new ArrayList<>();
+        float space = widths.advance(font, ' ');
+        // The current line runs from lineStart to the end of the previous word
+        int lineStart = 0;
+        float lineWidth = 0;
+        boolean lineEmpty = true;
+        for (int wordStart = 0; wordStart <= text.length(); ) {
+            int wordEnd = text.indexOf(' ', wordStart);
+            if (wordEnd < 0) {
+                wordEnd = text.length();
+            }
+            float wordWidth = widths.width(font, text, wordStart, wordEnd);
+            float candidate = lineEmpty ? wordWidth : lineWidth + space + wordWidth;
+            if (candidate / 1000 * fontSize <= maxWidth) {
+                if (lineEmpty) {
+                    lineStart = wordStart;
+                    lineEmpty = false;
+                }
+                lineWidth = candidate;
+            } else if (!lineEmpty) {
+                lines.add(text.substring(lineStart, wordStart - 1));
+                lineStart = wordStart;
+                lineWidth = wordWidth;
+            } else {
+                // Single word is too long, it gets a line of its own
+                lines.add(text.substring(wordStart, wordEnd));
+            }
+            wordStart = wordEnd + 1;
+        }
+        if (!lineEmpty) {
+            lines.add(text.substring(lineStart));
+        }
+        return lines;
+    }
+
+    private GlyphWidths widths(PDFont font) {
+        return glyphWidths.computeIfAbsent(font.getName(), name -> new GlyphWidths());
+    }
+
+    /**
+     * Advances of the characters of one font, in glyph space units (1/1000 of the font size).
+     * Filled lazily from whichever document's instance of the font is at hand, as the table must not
+     * keep a document alive. Concurrent lookups of the same character may both measure it, with the
+     * same result, so writes need no synchronization.
+     */
+    private final class GlyphWidths {
+
+        private final float[] table = new float[TABLE_SIZE];
+        private final Map<Integer, Float> others = new ConcurrentHashMap<>();
+
+        private GlyphWidths() {
+            Arrays.fill(table, Float.NaN);
+        }
+
+        float width(PDFont font, String text, int start, int end) throws IOException {
+            float width = 0;
+            for (int i = start; i < end; ) {
+                int codePoint = text.codePointAt(i);
+                width += advance(font, codePoint);
+                i += Character.charCount(codePoint);
+            }
+            return width;
+        }
+
+        float advance(PDFont font, int codePoint) throws IOException {
+            if (codePoint < TABLE_SIZE) {
+                float advance = table[codePoint];
+                if (Float.isNaN(advance)) {
+                    advance = measure(font, codePoint);
+                    table[codePoint] = advance;
+                }
+                return advance;
+            }
+            Float advance = others.get(codePoint);
+            if (advance == null) {
+                advance = measure(font, codePoint);
+                others.put(codePoint, advance);
+            }
+            return advance;
+        }
+
+        private float measure(PDFont font, int codePoint) throws IOException {
+            String measured = measuredForm.apply(new String(Character.toChars(codePoint)));
+            try {
+                return font.getStringWidth(measured);
+            } catch (IllegalArgumentException e) {
+                // Not in the font; drawing falls back to '?' for it
+                return font.getStringWidth("?");
+            }
+        }
+    }
+}
@@ -0,0 +1,475 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.entity.SeatEntity;
+import dev.knightcore.proeventiq.entity.SeatRowEntity;
+import dev.knightcore.proeventiq.entity.SectorEntity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable layout of a venue as drawn on the participant maps: sector outlines, label anchors and
+ * seat coordinates, all precomputed in model units.
+ * <p>
+ * The layout is the same for every participant of every event at the venue, so it is built once per
+ * venue (see {@link VenueGeometryCache}) and a map render only has to decide which sectors and seats
+ * to highlight and scale the coordinates onto the page.
+ */
+public final class VenueGeometry {
+
+    /** Seat positions are stored in editor pixels, the map is drawn at 40% of that, like the frontend. */
+    private static final double SEAT_SCALE = 0.4;
+    private static final double SMALL_SECTOR_PADDING = 8.0;
+    private static final double SEAT_BORDER_PADDING = 8.0;
+    private static final float MAX_SEAT_RADIUS = 5.5f;
+
+    private final Long venueId;
+    private final List<SectorGeometry> sectors;
+    private final String fingerprint;
+
+    private VenueGeometry(Long venueId, List<SectorGeometry> sectors, String fingerprint) {
+        this.venueId = venueId;
+        this.sectors = sectors;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Builds the layout from the venue's sectors and all of its seats (with rows and sectors loaded).
+     */
+    public static VenueGeometry build(Long venueId, Collection<SectorEntity> sectors, Collection<SeatEntity> seats) {
+        ReportFingerprint fingerprint = ReportFingerprint.of("venue-geometry").add(venueId);
+
+        Map<Long, List<SeatEntity>> seatsBySector = new LinkedHashMap<>();
+        for (SeatEntity seat : seats) {
+            SeatRowEntity row = seat.getSeatRow();
+            seatsBySector.computeIfAbsent(row.getSector().getSectorId(), k -> new ArrayList<>()).add(seat);
+        }
+
+        List<SectorGeometry> sectorGeometries = new ArrayList<>(sectors.size());
+        fingerprint.add(sectors.size());
+        for (SectorEntity sector : sectors) {
+            fingerprint.add(sector.getSectorId()).add(sector.getName()).add(sector.getStatus())
+                    .add(sector.getOrderNumber()).add(sector.getPositionX()).add(sector.getPositionY())
+                    .add(sector.getRotation()).add(sector.getLabelPositionX()).add(sector.getLabelPositionY())
+                    .add(sector.getLabelRotation()).add(sector.getLabelFontSize());
+            List<SeatEntity> sectorSeats = seatsBySector.getOrDefault(sector.getSectorId(), List.of());
+            fingerprint.add(sectorSeats.size());
+            for (SeatEntity seat : sectorSeats) {
+                SeatRowEntity row = seat.getSeatRow();
+                fingerprint.add(seat.getSeatId()).add(seat.getOrderNumber()).add(seat.getPositionX())
+                        .add(seat.getPositionY()).add(seat.getStatus())
+                        .add(row.getSeatRowId()).add(row.getName()).add(row.getOrderNumber());
+            }
+            sectorGeometries.add(SectorGeometry.build(sector, sectorSeats));
+        }
+        return new VenueGeometry(venueId, List.copyOf(sectorGeometries), fingerprint.build());
+    }
+
+    public Long getVenueId() {
+        return venueId;
+    }
+
+    public List<SectorGeometry> getSectors() {
+        return sectors;
+    }
+
+    /**
+     * @return content hash of everything the layout was built from
+     */
+    public String getFingerprint() {
+        return fingerprint;
+    }
+
+    /**
+     * Precomputed drawing data of a single sector.
+     * <p>
+     * The overview outline and label anchor are in venue space (sector rotation and position applied,
+     * y pointing down). The detail view coordinates are rotated only, with their bounding box already
+     * padded for the seat circles.
+     */
+    public static final class SectorGeometry {
+
+        private final Long sectorId;
+        private final String name;
+        private final String label;
+        private final Integer labelFontSize;
+        private final float labelRotation;
+        /** All seat IDs of the sector, sorted, including seats without a position. */
+        private final long[] seatIds;
+
+        // Overview (venue space), interleaved x, y
+        private final double[] outline;
+        private final double labelX;
+        private final double labelY;
+        /** Seats with a position, in the same order as on the detail page. */
+        private final double[] venueSeats;
+
+        // Detail page (rotated model space), only seats with a position, interleaved x, y
+        private final double[] seats;
+        private final long[] positionedSeatIds;
+        private final String[] seatLabels;
+        /** Seat index ranges of the rows: row i covers [rowStart[i], rowStart[i + 1]). */
+        private final int[] rowStart;
+        private final String[] rowNames;
+        private final double[] detailOutline;
+        private final double minX;
+        private final double maxX;
+        private final double minY;
+        private final double maxY;
+        private final float seatRadius;
+
+        private SectorGeometry(Builder b) {
+            this.sectorId = b.sectorId;
+            this.name = b.name;
+            this.label = b.label;
+            this.labelFontSize = b.labelFontSize;
+            this.labelRotation = b.labelRotation;
+            this.seatIds = b.seatIds;
+            this.outline = b.outline;
+            this.labelX = b.labelX;
+            this.labelY = b.labelY;
+            this.venueSeats = b.venueSeats;
+            this.seats = b.seats;
+            this.positionedSeatIds = b.positionedSeatIds;
+            this.seatLabels = b.seatLabels;
+            this.rowStart = b.rowStart;
+            this.rowNames = b.rowNames;
+            this.detailOutline = b.detailOutline;
+            this.minX = b.minX;
+            this.maxX = b.maxX;
+            this.minY = b.minY;
+            this.maxY = b.maxY;
+            this.seatRadius = b.seatRadius;
+        }
+
+        static SectorGeometry build(SectorEntity sector, List<SeatEntity> seats) {
+            Builder b = new Builder();
+            b.sectorId = sector.getSectorId();
+            b.name = sector.getName();
+            b.label = (sector.getName() != null ? sector.getName() : "Sektor").replaceAll("[\\n\\r]", " ");
+            b.labelFontSize = sector.getLabelFontSize();
+            double sectorRot = sector.getRotation() != null ? sector.getRotation() : 0;
+            double labelRot = sector.getLabelRotation() != null ? sector.getLabelRotation() : 0;
+            // Negated for the PDF coordinate system
+            b.labelRotation = (float) Math.toRadians(-(sectorRot + labelRot));
+            b.seatIds = seats.stream().mapToLong(SeatEntity::getSeatId).sorted().toArray();
+
+            // Rows in ID order, seats in seat ID order within a row; only positioned seats are drawn
+            Map<Long, List<SeatEntity>> rows = new LinkedHashMap<>();
+            seats.stream()
+                    .sorted(Comparator.comparing((SeatEntity s) -> s.getSeatRow().getSeatRowId())
+                            .thenComparing(SeatEntity::getSeatId))
+                    .forEach(s -> rows.computeIfAbsent(s.getSeatRow().getSeatRowId(), k -> new ArrayList<>()).add(s));
+
+            double[] points = new double[2 * seats.size()];
+            long[] ids = new long[seats.size()];
+            String[] labels = new String[seats.size()];
+            int n = 0;
+            int[] rowStart = new int[rows.size() + 1];
+            String[] rowNames = new String[rows.size()];
+            int rowIndex = 0;
+            for (List<SeatEntity> rowSeats : rows.values()) {
+                rowStart[rowIndex] = n;
+                rowNames[rowIndex] = rowSeats.get(0).getSeatRow().getName();
+                for (SeatEntity seat : rowSeats) {
+                    if (seat.getPositionX() == null || seat.getPositionY() == null) continue;
+                    points[2 * n] = seat.getPositionX() * SEAT_SCALE;
+                    points[2 * n + 1] = seat.getPositionY() * SEAT_SCALE;
+                    ids[n] = seat.getSeatId();
+                    labels[n] = seat.getOrderNumber() != null ? seat.getOrderNumber().toString() : "";
+                    n++;
+                }
+                rowIndex++;
+            }
+            rowStart[rows.size()] = n;
+            b.rowStart = rowStart;
+            b.rowNames = rowNames;
+            b.positionedSeatIds = Arrays.copyOf(ids, n);
+            b.seatLabels = Arrays.copyOf(labels, n);
+            points = Arrays.copyOf(points, 2 * n);
+
+            double rotationRad = Math.toRadians(sectorRot);
+            buildOverview(b, sector, points, n, rotationRad);
+
+            // The detail page shows the sector rotated like on the map, but not flipped
+            Geometry.rotateTranslate(points, n, rotationRad, 0, 0);
+            b.seats = points;
+            buildDetail(b, n);
+            return new SectorGeometry(b);
+        }
+
+        private static void buildOverview(Builder b, SectorEntity sector, double[] seatPoints, int n, double rotationRad) {
+            b.outline = new double[0];
+            b.venueSeats = new double[0];
+            if (n == 0) {
+                return;
+            }
+
+            // Flip Y logic to match frontend (venue-map-edit.component.ts)
+            double[] points = seatPoints;
+            int negativeYCount = 0;
+            int positiveYCount = 0;
+            for (int i = 0; i < n; i++) {
+                double y = points[2 * i + 1];
+                if (y < 0) negativeYCount++;
+                else if (y > 0) positiveYCount++;
+            }
+            if (negativeYCount > positiveYCount) {
+                points = Arrays.copyOf(seatPoints, 2 * n);
+                Geometry.flipY(points, n, Geometry.bounds(points, n)[3]);
+            }
+
+            double[] hull = Geometry.convexHull(points, n);
+            if (hull.length < 4) {
+                hull = Geometry.paddedBox(points, n, SMALL_SECTOR_PADDING);
+            }
+
+            // Centroid of the unrotated shape to match the frontend anchor
+            double[] centroid = hull.length > 4 ? Geometry.centroid(hull) : Geometry.average(points, n);
+
+            double sectorX = sector.getPositionX() != null ? sector.getPositionX() : 0;
+            double sectorY = sector.getPositionY() != null ? sector.getPositionY() : 0;
+            Geometry.rotateTranslate(hull, hull.length / 2, rotationRad, sectorX, sectorY);
+            b.outline = hull;
+
+            // Seats are placed like the hull points, so they stay inside the outline
+            double[] venueSeats = Arrays.copyOf(points, 2 * n);
+            Geometry.rotateTranslate(venueSeats, n, rotationRad, sectorX, sectorY);
+            b.venueSeats = venueSeats;
+
+            // Label offsets from the DB are additive to the centroid, already in scaled units
+            double[] label = {
+                    centroid[0] + (sector.getLabelPositionX() != null ? sector.getLabelPositionX() : 0),
+                    centroid[1] + (sector.getLabelPositionY() != null ? sector.getLabelPositionY() : 0)};
+            Geometry.rotateTranslate(label, 1, rotationRad, sectorX, sectorY);
+            b.labelX = label[0];
+            b.labelY = label[1];
+        }
+
+        private static void buildDetail(Builder b, int n) {
+            // Every seat is padded on all sides to push the outline out
+            double[] bounds = Geometry.bounds(b.seats, n);
+            b.minX = bounds[0] - (n > 0 ? SEAT_BORDER_PADDING : 0);
+            b.minY = bounds[1] - (n > 0 ? SEAT_BORDER_PADDING : 0);
+            b.maxX = bounds[2] + (n > 0 ? SEAT_BORDER_PADDING : 0);
+            b.maxY = bounds[3] + (n > 0 ? SEAT_BORDER_PADDING : 0);
+
+            double[] hull = Geometry.paddedHull(b.seats, n, SEAT_BORDER_PADDING);
+            if (hull.length < 4) {
+                hull = new double[]{
+                        b.minX - SMALL_SECTOR_PADDING, b.minY - SMALL_SECTOR_PADDING,
+                        b.maxX + SMALL_SECTOR_PADDING, b.minY - SMALL_SECTOR_PADDING,
+                        b.maxX + SMALL_SECTOR_PADDING, b.maxY + SMALL_SECTOR_PADDING,
+                        b.minX - SMALL_SECTOR_PADDING, b.maxY + SMALL_SECTOR_PADDING};
+            }
+            b.detailOutline = hull;
+
+            // Seat radius that keeps the closest two seats from overlapping
+            double minDistanceSq = Geometry.minDistanceSquared(b.seats, n);
+            b.seatRadius = MAX_SEAT_RADIUS;
+            if (minDistanceSq != Double.MAX_VALUE && minDistanceSq > 0) {
+                // 45% of the distance ensures no overlap
+                b.seatRadius = Math.min(MAX_SEAT_RADIUS, (float) Math.sqrt(minDistanceSq) * 0.45f);
+            }
+        }
+
+        public Long getSectorId() {
+            return sectorId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the sector name as shown on the overview, without line breaks
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        public Integer getLabelFontSize() {
+            return labelFontSize;
+        }
+
+        /**
+         * @return combined sector and label rotation in radians, in PDF orientation
+         */
+        public float getLabelRotation() {
+            return labelRotation;
+        }
+
+        public double getLabelX() {
+            return labelX;
+        }
+
+        public double getLabelY() {
+            return labelY;
+        }
+
+        public boolean hasSeats() {
+            return seatIds.length > 0;
+        }
+
+        /**
+         * @return whether the sector is drawn on the overview (it has at least one positioned seat)
+         */
+        public boolean hasOutline() {
+            return outline.length > 0;
+        }
+
+        public int outlineSize() {
+            return outline.length / 2;
+        }
+
+        public double outlineX(int i) {
+            return outline[2 * i];
+        }
+
+        public double outlineY(int i) {
+            return outline[2 * i + 1];
+        }
+
+        /**
+         * @return x of a seat on the overview, in venue space
+         */
+        public double venueSeatX(int seat) {
+            return venueSeats[2 * seat];
+        }
+
+        /**
+         * @return y of a seat on the overview, in venue space
+         */
+        public double venueSeatY(int seat) {
+            return venueSeats[2 * seat + 1];
+        }
+
+        public int detailOutlineSize() {
+            return detailOutline.length / 2;
+        }
+
+        public double detailOutlineX(int i) {
+            return detailOutline[2 * i];
+        }
+
+        public double detailOutlineY(int i) {
+            return detailOutline[2 * i + 1];
+        }
+
+        public double getMinX() {
+            return minX;
+        }
+
+        public double getMaxX() {
+            return maxX;
+        }
+
+        public double getMinY() {
+            return minY;
+        }
+
+        public double getMaxY() {
+            return maxY;
+        }
+
+        /**
+         * @return seat radius in model units that keeps neighbouring seats apart
+         */
+        public float getSeatRadius() {
+            return seatRadius;
+        }
+
+        public int rowCount() {
+            return rowNames.length;
+        }
+
+        public String rowName(int row) {
+            return rowNames[row];
+        }
+
+        public int rowStart(int row) {
+            return rowStart[row];
+        }
+
+        public int rowEnd(int row) {
+            return rowStart[row + 1];
+        }
+
+        /**
+         * @return number of seats with a position, across all rows
+         */
+        public int seatCount() {
+            return positionedSeatIds.length;
+        }
+
+        public double seatX(int seat) {
+            return seats[2 * seat];
+        }
+
+        public double seatY(int seat) {
+            return seats[2 * seat + 1];
+        }
+
+        public long seatId(int seat) {
+            return positionedSeatIds[seat];
+        }
+
+        public String seatLabel(int seat) {
+            return seatLabels[seat];
+        }
+
+        public boolean containsAny(Set<Long> selectedSeatIds) {
+            return countOf(selectedSeatIds) > 0;
+        }
+
+        /**
+         * @return how many of the given seats belong to this sector
+         */
+        public int countOf(Set<Long> selectedSeatIds) {
+            if (selectedSeatIds.isEmpty()) {
+                return 0;
+            }
+            int count = 0;
+            if (selectedSeatIds.size() < seatIds.length) {
+                for (Long id : selectedSeatIds) {
+                    if (id != null && Arrays.binarySearch(seatIds, id) >= 0) count++;
+                }
+            } else {
+                for (long id : seatIds) {
+                    if (selectedSeatIds.contains(id)) count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static final class Builder {
+        Long sectorId;
+        String name;
+        String label;
+        Integer labelFontSize;
+        float labelRotation;
+        long[] seatIds;
+        double[] outline;
+        double labelX;
+        double labelY;
+        double[] venueSeats;
+        double[] seats;
+        long[] positionedSeatIds;
+        String[] seatLabels;
+        int[] rowStart;
+        String[] rowNames;
+        double[] detailOutline;
+        double minX;
+        double maxX;
+        double minY;
+        double maxY;
+        float seatRadius;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.knightcore.proeventiq.service.report;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Cache of {@link VenueGeometry} per venue.
+ * <p>
+ * Services that change sectors or seats call {@link #invalidate(Long)}. The entry is dropped right
+ * away and once more after the surrounding transaction commits, and a geometry built while an
+ * invalidation was in progress is not stored, so a map rendered concurrently with an edit can never
+ * leave the old layout behind in the cache. The number of cached venues is bounded by
+ * {@code app.report.cache.max-venues}.
+ */
+@Component
+public class VenueGeometryCache {
+
+    private static final Logger log = LoggerFactory.getLogger(VenueGeometryCache.class);
+
+    private final int maxVenues;
+    private final LinkedHashMap<Long, VenueGeometry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    public VenueGeometryCache(ReportProperties reportProperties) {
+        this.maxVenues = reportProperties.getCache().getMaxVenues();
+    }
+
+    /**
+     * Returns the cached geometry of a venue, building it with {@code loader} if needed. The loader
+     * runs outside of any lock; concurrent first requests for a venue may each build it.
+     */
+    public VenueGeometry get(Long venueId, Supplier<VenueGeometry> loader) {
+        long version;
+        synchronized (this) {
+            VenueGeometry geometry = entries.get(venueId);
+            if (geometry != null) {
+                return geometry;
+            }
+            version = versions.getOrDefault(venueId, 0L);
+        }
+        long start = System.nanoTime();
+        VenueGeometry geometry = loader.get();
+        log.debug("Built geometry of venue {} ({} sectors) in {} ms", venueId, geometry.getSectors().size(),
+                (System.nanoTime() - start) / 1_000_000);
+        synchronized (this) {
+            if (maxVenues > 0 && versions.getOrDefault(venueId, 0L) == version) {
+                entries.put(venueId, geometry);
+                if (entries.size() > maxVenues) {
+                    entries.remove(entries.keySet().iterator().next());
+                }
+            }
+        }
+        return geometry;
+    }
+
+    /**
+     * Drops the cached geometry of a venue because its sectors or seats changed.
+     */
+    public void invalidate(Long venueId) {
+        if (venueId == null) {
+            return;
+        }
+        evict(venueId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Renders between now and the commit still read the old rows; drop what they cache
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(venueId);
+                }
+            });
+        }
+    }
+
+    private synchronized void evict(Long venueId) {
+        entries.remove(venueId);
+        versions.merge(venueId, 1L, Long::sum);
+    }
+}
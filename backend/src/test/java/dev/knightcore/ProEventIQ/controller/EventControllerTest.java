@@ -0,0 +1,87 @@
+package dev.knightcore.ProEventIQ.controller;
+
+import dev.knightcore.proeventiq.config.ReportProperties;
+import dev.knightcore.proeventiq.controller.EventController;
+import dev.knightcore.proeventiq.service.EventService;
+import dev.knightcore.proeventiq.service.KeycloakUserService;
+import dev.knightcore.proeventiq.service.ReportService;
+import dev.knightcore.proeventiq.service.report.ReportAdmission;
+import dev.knightcore.proeventiq.service.report.StreamingResource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventControllerTest {
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private ReportService reportService;
+
+    @Mock
+    private KeycloakUserService keycloakUserService;
+
+    private ReportAdmission reportAdmission;
+    private EventController eventController;
+    private ServletRequestAttributes request;
+
+    @BeforeEach
+    void setUp() {
+        reportAdmission = new ReportAdmission(new ReportProperties(), keycloakUserService, new SimpleMeterRegistry());
+        eventController = new EventController(eventService, reportService, reportAdmission);
+        request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        when(reportService.generateAllParticipantTicketsPdf(1L))
+                .thenReturn(Optional.of(new StreamingResource("tickets", outputStream -> outputStream.write(1))));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void ticketsPdf_ShouldReleasePermit_WhenBodyIsWritten() throws Exception {
+        ResponseEntity<Resource> response = eventController.eventsEventIdParticipantsTicketsPdfGet(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertFalse(reportAdmission.isIdle());
+        ((StreamingResource) response.getBody()).writeTo(new ByteArrayOutputStream());
+        assertTrue(reportAdmission.isIdle());
+        request.requestCompleted();
+        assertTrue(reportAdmission.isIdle());
+    }
+
+    @Test
+    void ticketsPdf_ShouldReleasePermit_WhenRequestCompletesWithoutBody() {
+        // As when the response fails before the body is written
+        for (int i = 0; i < 5; i++) {
+            ResponseEntity<Resource> response = eventController.eventsEventIdParticipantsTicketsPdfGet(1L);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertFalse(reportAdmission.isIdle());
+
+            request.requestCompleted();
+            assertTrue(reportAdmission.isIdle());
+            request = new ServletRequestAttributes(new MockHttpServletRequest());
+            RequestContextHolder.setRequestAttributes(request);
+        }
+    }
+}
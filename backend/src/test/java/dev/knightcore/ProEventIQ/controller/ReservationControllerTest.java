@@ -0,0 +1,125 @@
+package dev.knightcore.ProEventIQ.controller;
+
+import dev.knightcore.ProEventIQ.service.SeatDatabase;
+import dev.knightcore.proeventiq.api.model.SeatAllocation;
+import dev.knightcore.proeventiq.api.model.SeatAllocationInput;
+import dev.knightcore.proeventiq.controller.ReservationController;
+import dev.knightcore.proeventiq.entity.ParticipantEntity;
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.repository.ReservationRepository;
+import dev.knightcore.proeventiq.service.ReportPrerenderService;
+import dev.knightcore.proeventiq.service.ReservationService;
+import dev.knightcore.proeventiq.service.SeatAllocationService;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationControllerTest {
+
+    private static final long VENUE_ID = 1L;
+    private static final long EVENT_ID = 5L;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    private SeatDatabase database;
+    private SeatOccupancyIndex seatOccupancyIndex;
+    private ReservationController reservationController;
+
+    @BeforeEach
+    void setUp() {
+        database = new SeatDatabase();
+        database.event(EVENT_ID, VENUE_ID);
+        for (long seatId = 1; seatId <= 4; seatId++) {
+            database.seat(VENUE_ID, 10L, 100L, seatId);
+        }
+        seatOccupancyIndex = new SeatOccupancyIndex(database, 16);
+        ReservationService reservationService = new ReservationService(reservationRepository, mock(EventRepository.class),
+                participantRepository, seatOccupancyIndex, database, 500, mock(ReportPrerenderService.class));
+        SeatAllocationService seatAllocationService = new SeatAllocationService(seatOccupancyIndex, participantRepository,
+                reservationService, 2, 1);
+        reservationController = new ReservationController(reservationService, seatAllocationService);
+        when(participantRepository.findByEventId(EVENT_ID)).thenReturn(List.of(participant(7L, 2), participant(8L, 1)));
+    }
+
+    private static ParticipantEntity participant(Long participantId, int tickets) {
+        ParticipantEntity participant = new ParticipantEntity();
+        participant.setParticipantId(participantId);
+        participant.setEventId(EVENT_ID);
+        participant.setChildrenTicketCount(tickets);
+        return participant;
+    }
+
+    @Test
+    void allocateSeats_ShouldReturnConflict_WhenAllocationChangedSincePreview() {
+        // Given a preview
+        ResponseEntity<SeatAllocation> preview = reservationController.allocateSeats(EVENT_ID,
+                new SeatAllocationInput().participantIds(List.of(7L)));
+        assertEquals(HttpStatus.OK, preview.getStatusCode());
+        assertEquals(List.of(1L, 2L), preview.getBody().getGroups().get(0).getSeatIds());
+
+        // When another participant takes one of its seats before it is committed
+        database.reservation(EVENT_ID, 1L, 8L);
+        seatOccupancyIndex.invalidate(EVENT_ID);
+        ResponseEntity<SeatAllocation> response = reservationController.allocateSeats(EVENT_ID,
+                new SeatAllocationInput().participantIds(List.of(7L)).commit(true)
+                        .allocationId(preview.getBody().getAllocationId()));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertTrue(database.batches().isEmpty(), "nothing is reserved");
+    }
+
+    @Test
+    void allocateSeats_ShouldReturnConflict_WhenSeatIsReservedConcurrently() {
+        ResponseEntity<SeatAllocation> preview = reservationController.allocateSeats(EVENT_ID,
+                new SeatAllocationInput().participantIds(List.of(7L)));
+        when(participantRepository.findParticipantIdsByEventId(EVENT_ID)).thenReturn(List.of(7L, 8L));
+        // A reservation committed after the occupancy was read hits the unique key
+        database.onBatch(() -> {
+            throw new DuplicateKeyException("Duplicate entry for key 'unique_seat_event'");
+        });
+
+        ResponseEntity<SeatAllocation> response = reservationController.allocateSeats(EVENT_ID,
+                new SeatAllocationInput().participantIds(List.of(7L)).commit(true)
+                        .allocationId(preview.getBody().getAllocationId()));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+
+    @Test
+    void allocateSeats_ShouldCommit_WhenAllocationIsUnchanged() {
+        ResponseEntity<SeatAllocation> preview = reservationController.allocateSeats(EVENT_ID, new SeatAllocationInput());
+        assertEquals(HttpStatus.OK, preview.getStatusCode());
+        assertFalse(preview.getBody().getCommitted());
+        when(participantRepository.findParticipantIdsByEventId(EVENT_ID)).thenReturn(List.of(7L, 8L));
+        when(reservationRepository.findByEventId(EVENT_ID)).thenReturn(List.of(new ReservationEntity(7L, 1L, EVENT_ID),
+                new ReservationEntity(7L, 2L, EVENT_ID), new ReservationEntity(8L, 3L, EVENT_ID)));
+
+        ResponseEntity<SeatAllocation> response = reservationController.allocateSeats(EVENT_ID,
+                new SeatAllocationInput().commit(true).allocationId(preview.getBody().getAllocationId()));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().getCommitted());
+        assertEquals(preview.getBody().getAllocationId(), response.getBody().getAllocationId());
+        assertEquals(List.of("INSERT INTO seat_reservation (participant_id, seat_id, event_id) VALUES (?, ?, ?)"), database.batches());
+        assertEquals(1, seatOccupancyIndex.get(EVENT_ID).orElseThrow().getAvailableCount());
+    }
+}
@@ -0,0 +1,126 @@
+package dev.knightcore.ProEventIQ.service;
+
+import dev.knightcore.proeventiq.api.model.ReservationInput;
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.repository.ReservationRepository;
+import dev.knightcore.proeventiq.service.ReportPrerenderService;
+import dev.knightcore.proeventiq.service.ReservationService;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationServiceTest {
+
+    private static final long VENUE_ID = 1L;
+    private static final long EVENT_ID = 5L;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        // Seat 1 is held by participant 7
+        SeatDatabase database = new SeatDatabase();
+        database.event(EVENT_ID, VENUE_ID);
+        database.seat(VENUE_ID, 10L, 100L, 1L);
+        database.seat(VENUE_ID, 10L, 100L, 2L);
+        database.reservation(EVENT_ID, 1L, 7L);
+        reservationService = new ReservationService(reservationRepository, mock(EventRepository.class), participantRepository,
+                new SeatOccupancyIndex(database, 16), jdbcTemplate, 500, mock(ReportPrerenderService.class));
+        when(participantRepository.findParticipantIdsByEventId(EVENT_ID)).thenReturn(List.of(7L, 8L));
+    }
+
+    private void batchReports(String statement, int... counts) {
+        when(jdbcTemplate.batchUpdate(startsWith(statement), anyCollection(), eq(500), any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{counts});
+    }
+
+    private void matchingReservations(String columns, int count) {
+        when(jdbcTemplate.queryForObject(contains("(" + columns + ") IN"), eq(Integer.class), any(Object[].class)))
+                .thenReturn(count);
+    }
+
+    private static List<ReservationInput> move() {
+        return List.of(new ReservationInput().id(11L).oldParticipantId(7L).participantId(8L).seatId(1L));
+    }
+
+    private static List<ReservationInput> release() {
+        return List.of(new ReservationInput().id(11L).oldParticipantId(7L).seatId(1L));
+    }
+
+    @Test
+    void updateReservation_ShouldRejectUpdateOfUnknownId_WhenCountsAreNotReported() {
+        batchReports("UPDATE", Statement.SUCCESS_NO_INFO);
+        matchingReservations("reservation_id, participant_id, seat_id", 0);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> reservationService.updateReservation(EVENT_ID, move()));
+        assertEquals("One or more reservation IDs were not found for update", e.getMessage());
+    }
+
+    @Test
+    void updateReservation_ShouldAcceptUpdate_WhenCountQueryFindsAllRows() {
+        batchReports("UPDATE", Statement.SUCCESS_NO_INFO);
+        matchingReservations("reservation_id, participant_id, seat_id", 1);
+        when(reservationRepository.findByEventId(EVENT_ID)).thenReturn(List.of(new ReservationEntity(8L, 1L, EVENT_ID)));
+
+        assertEquals(1, reservationService.updateReservation(EVENT_ID, move()).size());
+    }
+
+    @Test
+    void updateReservation_ShouldRejectUpdateOfUnknownId_WhenCountsAreReported() {
+        batchReports("UPDATE", 0);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.updateReservation(EVENT_ID, move()));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), eq(Integer.class), any(Object[].class));
+    }
+
+    @Test
+    void updateReservation_ShouldRejectDeleteOfUnmatchedReservation_BeforeDeleting() {
+        matchingReservations("reservation_id, participant_id", 0);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.updateReservation(EVENT_ID, release()));
+        verify(jdbcTemplate, never()).batchUpdate(startsWith("DELETE"), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void updateReservation_ShouldRejectDelete_WhenRowWasRemovedMeanwhile() {
+        matchingReservations("reservation_id, participant_id", 1);
+        batchReports("DELETE", 0);
+
+        assertThrows(IllegalArgumentException.class, () -> reservationService.updateReservation(EVENT_ID, release()));
+    }
+
+    @Test
+    void updateReservation_ShouldAcceptDelete_WhenCountsAreNotReported() {
+        matchingReservations("reservation_id, participant_id", 1);
+        batchReports("DELETE", Statement.SUCCESS_NO_INFO);
+        when(reservationRepository.findByEventId(EVENT_ID)).thenReturn(List.of());
+
+        assertEquals(0, reservationService.updateReservation(EVENT_ID, release()).size());
+    }
+}
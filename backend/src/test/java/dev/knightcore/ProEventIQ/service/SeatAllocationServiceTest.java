@@ -0,0 +1,66 @@
+package dev.knightcore.ProEventIQ.service;
+
+import dev.knightcore.proeventiq.api.model.SeatSuggestion;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.service.ReservationService;
+import dev.knightcore.proeventiq.service.SeatAllocationService;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatAllocationServiceTest {
+
+    private static final long VENUE_ID = 1L;
+    private static final long EVENT_ID = 5L;
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    @Mock
+    private ReservationService reservationService;
+
+    private SeatAllocationService seatAllocationService;
+
+    @BeforeEach
+    void setUp() {
+        // Seat 3 is reserved, seat 4 blocked and seat 5 inactive
+        SeatDatabase database = new SeatDatabase();
+        database.event(EVENT_ID, VENUE_ID);
+        for (long seatId = 1; seatId <= 6; seatId++) {
+            database.seat(VENUE_ID, 10L, 100L, seatId, seatId == 5 ? "inactive" : "active");
+        }
+        database.reservation(EVENT_ID, 3L, 7L);
+        database.block(EVENT_ID, 4L);
+        seatAllocationService = new SeatAllocationService(new SeatOccupancyIndex(database, 16), participantRepository,
+                reservationService, 2, 1);
+    }
+
+    @Test
+    void findBestSeats_ShouldSkipReservedBlockedAndInactiveSeats() {
+        List<SeatSuggestion> suggestions = seatAllocationService.findBestSeats(EVENT_ID, 2, null, null, 5).orElseThrow();
+
+        assertEquals(1, suggestions.size());
+        assertEquals(List.of(1L, 2L), suggestions.get(0).getSeatIds());
+        assertEquals(10L, suggestions.get(0).getSectorId());
+        assertEquals(100L, suggestions.get(0).getSeatRowId());
+    }
+
+    @Test
+    void findBestSeats_ShouldReturnNoSuggestions_WhenNoBlockIsFree() {
+        assertEquals(List.of(), seatAllocationService.findBestSeats(EVENT_ID, 3, null, null, 5).orElseThrow());
+        assertEquals(List.of(), seatAllocationService.findBestSeats(EVENT_ID, 1, 11L, null, 5).orElseThrow());
+    }
+
+    @Test
+    void findBestSeats_ShouldReturnEmpty_WhenEventDoesNotExist() {
+        assertTrue(seatAllocationService.findBestSeats(6L, 2, null, null, 5).isEmpty());
+    }
+}
@@ -0,0 +1,133 @@
+package dev.knightcore.ProEventIQ.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory stand-in for the tables the seat occupancy index reads: event venues, seats with their
+ * sectors and rows, reservations and blocks. Answers the queries of the index by their table and
+ * counts them; batch writes are recorded and reported as having changed one row each.
+ */
+public class SeatDatabase extends JdbcTemplate {
+
+    private final Map<Long, Long> eventVenues = new HashMap<>();
+    /** sector_id, sector status, sector price category, seat_row_id, seat_id, seat status, seat price category, venue_id */
+    private final List<Object[]> seats = new ArrayList<>();
+    /** event_id, seat_id, participant_id */
+    private final List<long[]> reservations = new ArrayList<>();
+    /** event_id, seat_id */
+    private final List<long[]> blocks = new ArrayList<>();
+    private final List<String> batches = new ArrayList<>();
+    private int queries;
+    private Runnable onReservationQuery = () -> {
+    };
+    private Runnable onBatch = () -> {
+    };
+
+    public void event(long eventId, long venueId) {
+        eventVenues.put(eventId, venueId);
+    }
+
+    public void seat(long venueId, long sectorId, long rowId, long seatId) {
+        seat(venueId, sectorId, rowId, seatId, null);
+    }
+
+    public void seat(long venueId, long sectorId, long rowId, long seatId, String status) {
+        seats.add(new Object[]{sectorId, null, null, rowId, seatId, status, null, venueId});
+    }
+
+    public void reservation(long eventId, long seatId, long participantId) {
+        reservations.add(new long[]{eventId, seatId, participantId});
+    }
+
+    public void block(long eventId, long seatId) {
+        blocks.add(new long[]{eventId, seatId});
+    }
+
+    /**
+     * Runs an action while the reservations of an event are read, as a concurrent change would.
+     */
+    public void onReservationQuery(Runnable action) {
+        this.onReservationQuery = action;
+    }
+
+    /**
+     * @param action run before each batch write, e.g. to fail it like the database would
+     */
+    public void onBatch(Runnable action) {
+        this.onBatch = action;
+    }
+
+    public int queries() {
+        return queries;
+    }
+
+    public List<String> batches() {
+        return batches;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> queryForList(String sql, Class<T> elementType, Object... args) {
+        queries++;
+        if (sql.contains("FROM event ")) {
+            Long venueId = eventVenues.get((Long) args[0]);
+            return venueId != null ? List.of((T) venueId) : List.of();
+        }
+        throw new UnsupportedOperationException(sql);
+    }
+
+    @Override
+    public void query(String sql, RowCallbackHandler rch, Object... args) {
+        queries++;
+        long id = (Long) args[0];
+        List<Object[]> rows = new ArrayList<>();
+        if (sql.contains("FROM seat s")) {
+            seats.stream().filter(seat -> seat[7].equals(id)).forEach(rows::add);
+        } else if (sql.contains("FROM seat_reservation")) {
+            onReservationQuery.run();
+            reservations.stream().filter(r -> r[0] == id).forEach(r -> rows.add(new Object[]{r[1], r[2]}));
+        } else if (sql.contains("FROM seat_block")) {
+            blocks.stream().filter(b -> b[0] == id).forEach(b -> rows.add(new Object[]{b[1]}));
+        } else {
+            throw new UnsupportedOperationException(sql);
+        }
+        try {
+            for (Object[] row : rows) {
+                rch.processRow(resultSet(row));
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                   ParameterizedPreparedStatementSetter<T> pss) {
+        onBatch.run();
+        batches.add(sql);
+        int[] counts = new int[batchArgs.size()];
+        Arrays.fill(counts, 1);
+        return new int[][]{counts};
+    }
+
+    private static ResultSet resultSet(Object[] row) {
+        return (ResultSet) Proxy.newProxyInstance(SeatDatabase.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, methodArgs) -> switch (method.getName()) {
+                    case "getLong" -> ((Number) row[(Integer) methodArgs[0] - 1]).longValue();
+                    case "getString" -> (String) row[(Integer) methodArgs[0] - 1];
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,225 @@
+package dev.knightcore.ProEventIQ.service;
+
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex.Occupancy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatOccupancyIndexTest {
+
+    private static final long VENUE_ID = 1L;
+    private static final long EVENT_ID = 5L;
+    private static final long OTHER_EVENT_ID = 6L;
+
+    private SeatDatabase database;
+    private SeatOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        database = new SeatDatabase();
+        database.event(EVENT_ID, VENUE_ID);
+        database.event(OTHER_EVENT_ID, VENUE_ID);
+        for (long seatId = 1; seatId <= 4; seatId++) {
+            database.seat(VENUE_ID, 10L, 100L, seatId);
+        }
+        database.reservation(EVENT_ID, 1L, 7L);
+        index = new SeatOccupancyIndex(database, 16);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void beginTransaction() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    private static void endTransaction(boolean commit) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        if (commit) {
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+        }
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(commit
+                ? TransactionSynchronization.STATUS_COMMITTED : TransactionSynchronization.STATUS_ROLLED_BACK));
+    }
+
+    private Occupancy occupancy() {
+        return index.get(EVENT_ID).orElseThrow();
+    }
+
+    @Test
+    void get_ShouldLoadOccupancyOnce() {
+        Occupancy occupancy = occupancy();
+        int queries = database.queries();
+
+        assertSame(occupancy, occupancy());
+        assertEquals(queries, database.queries());
+        assertEquals(4, occupancy.getSeatCount());
+        assertTrue(occupancy.isReserved(1L));
+        assertEquals(7L, occupancy.getParticipantId(1L));
+        assertTrue(occupancy.isAvailable(2L));
+        assertFalse(occupancy.hasSeat(5L));
+    }
+
+    @Test
+    void get_ShouldReturnEmpty_ForUnknownEvent() {
+        assertTrue(index.get(9L).isEmpty());
+    }
+
+    @Test
+    void venueChanged_ShouldReloadSeatsOfAllEvents() {
+        occupancy();
+        index.get(OTHER_EVENT_ID).orElseThrow();
+        database.seat(VENUE_ID, 10L, 100L, 5L);
+        assertFalse(occupancy().hasSeat(5L));
+
+        index.venueChanged(VENUE_ID);
+
+        assertTrue(occupancy().hasSeat(5L));
+        assertTrue(index.get(OTHER_EVENT_ID).orElseThrow().isAvailable(5L));
+    }
+
+    @Test
+    void invalidate_ShouldReloadEvent() {
+        occupancy();
+        database.block(EVENT_ID, 2L);
+
+        index.invalidate(EVENT_ID);
+
+        assertTrue(occupancy().isBlocked(2L));
+        assertEquals(2, occupancy().getAvailableCount());
+    }
+
+    @Test
+    void invalidate_ShouldDropOccupancyLoadedBeforeTransactionEnds() {
+        occupancy();
+        beginTransaction();
+        index.invalidate(EVENT_ID);
+        // Loaded again while the change is not committed yet
+        assertFalse(occupancy().isBlocked(2L));
+        database.block(EVENT_ID, 2L);
+
+        endTransaction(true);
+
+        assertTrue(occupancy().isBlocked(2L));
+    }
+
+    @Test
+    void reservationsWritten_ShouldApplyOnCommit() {
+        beginTransaction();
+        Occupancy read = occupancy();
+        index.reservationsWritten(read, List.of(new ReservationEntity(7L, 1L, EVENT_ID), new ReservationEntity(8L, 2L, EVENT_ID)));
+        assertFalse(occupancy().isReserved(2L), "not visible before the commit");
+        int queries = database.queries();
+
+        endTransaction(true);
+
+        Occupancy written = occupancy();
+        assertTrue(written.isReserved(2L));
+        assertEquals(8L, written.getParticipantId(2L));
+        assertEquals(queries, database.queries(), "applied without loading the event again");
+    }
+
+    @Test
+    void reservationsWritten_ShouldNotApplyOnRollback() {
+        beginTransaction();
+        Occupancy read = occupancy();
+        index.reservationsWritten(read, List.of(new ReservationEntity(8L, 2L, EVENT_ID)));
+
+        endTransaction(false);
+
+        assertSame(read, occupancy());
+        assertTrue(occupancy().isReserved(1L));
+        assertFalse(occupancy().isReserved(2L));
+    }
+
+    @Test
+    void blocksWritten_ShouldApplyOnCommit() {
+        database.block(EVENT_ID, 3L);
+        beginTransaction();
+        Occupancy read = occupancy();
+        index.blocksWritten(read, Set.of(2L), Set.of(3L));
+
+        endTransaction(true);
+
+        assertTrue(occupancy().isBlocked(2L));
+        assertFalse(occupancy().isBlocked(3L));
+        assertTrue(occupancy().isReserved(1L));
+    }
+
+    @Test
+    void written_ShouldDropOccupancy_WhenChangedConcurrently() {
+        // Two transactions read the same occupancy; the second commits after the first
+        Occupancy read = occupancy();
+        beginTransaction();
+        index.reservationsWritten(read, List.of(new ReservationEntity(7L, 1L, EVENT_ID), new ReservationEntity(8L, 2L, EVENT_ID)));
+        endTransaction(true);
+        database.reservation(EVENT_ID, 2L, 8L);
+        beginTransaction();
+        index.blocksWritten(read, Set.of(3L), Set.of());
+        database.block(EVENT_ID, 3L);
+        int queries = database.queries();
+
+        endTransaction(true);
+
+        // The stale change is not applied on top; the event is loaded with both changes instead
+        Occupancy current = occupancy();
+        assertTrue(database.queries() > queries);
+        assertTrue(current.isReserved(2L));
+        assertTrue(current.isBlocked(3L));
+    }
+
+    @Test
+    void written_ShouldDropOccupancy_WhenVenueChangedMeanwhile() {
+        Occupancy read = occupancy();
+        database.seat(VENUE_ID, 10L, 100L, 5L);
+        index.venueChanged(VENUE_ID);
+
+        index.reservationsWritten(read, List.of(new ReservationEntity(8L, 5L, EVENT_ID)));
+
+        Occupancy current = occupancy();
+        assertNotSame(read, current);
+        assertTrue(current.hasSeat(5L));
+        assertFalse(current.isReserved(5L));
+    }
+
+    @Test
+    void get_ShouldNotKeepOccupancy_LoadedWhileVenueChanged() {
+        database.onReservationQuery(() -> {
+            database.onReservationQuery(() -> {
+            });
+            database.seat(VENUE_ID, 10L, 100L, 5L);
+            index.venueChanged(VENUE_ID);
+        });
+
+        Occupancy loaded = occupancy();
+
+        assertFalse(loaded.hasSeat(5L));
+        assertTrue(occupancy().hasSeat(5L));
+    }
+
+    @Test
+    void get_ShouldEvictLeastRecentlyUsedEvent() {
+        index = new SeatOccupancyIndex(database, 1);
+        occupancy();
+        index.get(OTHER_EVENT_ID).orElseThrow();
+        int queries = database.queries();
+
+        occupancy();
+
+        assertTrue(database.queries() > queries);
+    }
+}
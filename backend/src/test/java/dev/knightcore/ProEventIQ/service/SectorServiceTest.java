@@ -0,0 +1,105 @@
+package dev.knightcore.ProEventIQ.service;
+
+import dev.knightcore.proeventiq.api.model.Reservation;
+import dev.knightcore.proeventiq.api.model.ReservationInput;
+import dev.knightcore.proeventiq.dto.SectorInputDTO;
+import dev.knightcore.proeventiq.entity.ReservationEntity;
+import dev.knightcore.proeventiq.entity.SectorEntity;
+import dev.knightcore.proeventiq.entity.VenueEntity;
+import dev.knightcore.proeventiq.repository.EventRepository;
+import dev.knightcore.proeventiq.repository.ParticipantRepository;
+import dev.knightcore.proeventiq.repository.ReservationRepository;
+import dev.knightcore.proeventiq.repository.SectorRepository;
+import dev.knightcore.proeventiq.repository.VenueRepository;
+import dev.knightcore.proeventiq.service.ReportPrerenderService;
+import dev.knightcore.proeventiq.service.ReservationService;
+import dev.knightcore.proeventiq.service.SeatOccupancyIndex;
+import dev.knightcore.proeventiq.service.SectorService;
+import dev.knightcore.proeventiq.service.report.VenueGeometryCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SectorServiceTest {
+
+    private static final long VENUE_ID = 1L;
+    private static final long EVENT_ID = 5L;
+    private static final long PARTICIPANT_ID = 7L;
+
+    @Mock
+    private SectorRepository sectorRepository;
+
+    @Mock
+    private VenueRepository venueRepository;
+
+    @Mock
+    private VenueGeometryCache venueGeometryCache;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ParticipantRepository participantRepository;
+
+    private SeatDatabase database;
+    private SeatOccupancyIndex seatOccupancyIndex;
+    private SectorService sectorService;
+    private ReservationService reservationService;
+
+    @BeforeEach
+    void setUp() {
+        database = new SeatDatabase();
+        database.event(EVENT_ID, VENUE_ID);
+        database.seat(VENUE_ID, 10L, 100L, 1L);
+        database.seat(VENUE_ID, 10L, 100L, 2L);
+        seatOccupancyIndex = new SeatOccupancyIndex(database, 16);
+        sectorService = new SectorService(sectorRepository, venueRepository, venueGeometryCache, seatOccupancyIndex);
+        reservationService = new ReservationService(reservationRepository, mock(EventRepository.class), participantRepository,
+                seatOccupancyIndex, database, 500, mock(ReportPrerenderService.class));
+    }
+
+    @Test
+    void addSector_ShouldMakeCopiedSeatsReservable() {
+        // Given an event whose occupancy is cached before the sector is copied
+        assertFalse(seatOccupancyIndex.get(EVENT_ID).orElseThrow().hasSeat(3L));
+        VenueEntity venue = new VenueEntity();
+        venue.setVenueId(VENUE_ID);
+        when(venueRepository.findById(VENUE_ID)).thenReturn(Optional.of(venue));
+        when(sectorRepository.saveAndFlush(any(SectorEntity.class))).thenAnswer(invocation -> {
+            SectorEntity sector = invocation.getArgument(0);
+            sector.setSectorId(11L);
+            return sector;
+        });
+        doAnswer(invocation -> {
+            database.seat(VENUE_ID, 11L, 101L, 3L);
+            database.seat(VENUE_ID, 11L, 101L, 4L);
+            return null;
+        }).when(sectorRepository).copySectorSeats(10L, 11L);
+
+        // When
+        sectorService.addSector(VENUE_ID, new SectorInputDTO("B", 2, 0f, 0f, 0, null, null, null, null, null, null, 10L));
+
+        when(participantRepository.findParticipantIdsByEventId(EVENT_ID)).thenReturn(List.of(PARTICIPANT_ID));
+        when(reservationRepository.findByEventId(EVENT_ID)).thenReturn(List.of(new ReservationEntity(PARTICIPANT_ID, 3L, EVENT_ID)));
+        List<Reservation> reservations = reservationService.updateReservation(EVENT_ID,
+                List.of(new ReservationInput().participantId(PARTICIPANT_ID).seatId(3L).eventId(EVENT_ID)));
+
+        // Then
+        assertEquals(1, reservations.size());
+        assertEquals(3L, reservations.get(0).getSeatId());
+        SeatOccupancyIndex.Occupancy occupancy = seatOccupancyIndex.get(EVENT_ID).orElseThrow();
+        assertTrue(occupancy.isReserved(3L));
+        assertTrue(occupancy.isAvailable(4L));
+        assertEquals(4, occupancy.getSeatCount());
+    }
+}
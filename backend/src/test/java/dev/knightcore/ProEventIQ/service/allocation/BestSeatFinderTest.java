@@ -0,0 +1,116 @@
+package dev.knightcore.ProEventIQ.service.allocation;
+
+import dev.knightcore.proeventiq.service.allocation.BestSeatFinder;
+import dev.knightcore.proeventiq.service.allocation.BestSeatFinder.Candidate;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BestSeatFinderTest {
+
+    /**
+     * A single sector with rows of the given lengths, front row first.
+     */
+    private static SeatLayout layout(int... rowLengths) {
+        SeatLayout.Builder builder = SeatLayout.builder();
+        long seatId = 1;
+        for (int row = 0; row < rowLengths.length; row++) {
+            for (int seat = 0; seat < rowLengths[row]; seat++) {
+                builder.seat(1, row + 1, seatId++, true, null);
+            }
+        }
+        return builder.build();
+    }
+
+    private static BitSet free(int from, int to, int... taken) {
+        BitSet free = new BitSet();
+        free.set(from, to);
+        for (int seat : taken) {
+            free.clear(seat);
+        }
+        return free;
+    }
+
+    @Test
+    void find_ShouldPreferCentreOfFrontRow_WhenAllSeatsAreFree() {
+        SeatLayout layout = layout(6, 6, 6);
+
+        List<Candidate> best = BestSeatFinder.find(layout, free(0, 18), 2, 3, 2, 1);
+
+        assertEquals(3, best.size());
+        assertEquals(new Candidate(0, 2, 2, 1.0), best.get(0));
+        assertEquals(1, best.get(1).row());
+        assertEquals(2, best.get(2).row());
+        assertTrue(best.get(1).score() > best.get(2).score());
+    }
+
+    @Test
+    void find_ShouldTradeFrontRowAgainstCentre_ByWeight() {
+        // Only the edge of the front row is free, the second of five rows is free
+        SeatLayout layout = layout(6, 6, 6, 6, 6);
+        BitSet free = free(0, 12, 2, 3, 4, 5);
+
+        Candidate front = BestSeatFinder.find(layout, free, 2, 1, 1, 0).get(0);
+        Candidate centre = BestSeatFinder.find(layout, free, 2, 1, 0, 1).get(0);
+        Candidate mixed = BestSeatFinder.find(layout, free, 2, 1, 2, 1).get(0);
+
+        assertEquals(new Candidate(0, 0, 2, 1.0), front);
+        assertEquals(new Candidate(1, 8, 2, 1.0), centre);
+        assertEquals(1, mixed.row());
+        assertEquals(8, mixed.firstSeat());
+        assertEquals(1 - 2 * 0.25 / 3, mixed.score(), 1e-9);
+    }
+
+    @Test
+    void find_ShouldSkipSeatsThatAreNotFree() {
+        // Seats 3 and 4 in the middle of the row are reserved or blocked
+        SeatLayout layout = layout(8);
+
+        List<Candidate> best = BestSeatFinder.find(layout, free(0, 8, 3, 4), 3, 5, 2, 1);
+
+        assertEquals(List.of(new Candidate(0, 0, 3, 1 - 1.0 / 3), new Candidate(0, 5, 3, 1 - 1.0 / 3)), best);
+    }
+
+    @Test
+    void find_ShouldOfferOneBlockPerRun_ClosestToCentre() {
+        // Runs of 2 at the left edge and of 4 right of the centre
+        SeatLayout layout = layout(10);
+
+        List<Candidate> best = BestSeatFinder.find(layout, free(0, 10, 2, 3, 4, 5), 2, 5, 0, 1);
+
+        assertEquals(2, best.size());
+        assertEquals(6, best.get(0).firstSeat());
+        assertEquals(0, best.get(1).firstSeat());
+        assertTrue(best.get(0).score() > best.get(1).score());
+    }
+
+    @Test
+    void find_ShouldNotJoinSeatsOfDifferentRows() {
+        SeatLayout layout = layout(2, 2);
+
+        assertTrue(BestSeatFinder.find(layout, free(0, 4), 3, 5, 2, 1).isEmpty());
+    }
+
+    @Test
+    void find_ShouldReturnNothing_WhenNoRunIsLongEnough() {
+        SeatLayout layout = layout(6, 6);
+
+        assertTrue(BestSeatFinder.find(layout, free(0, 12, 2, 3, 8, 9), 3, 5, 2, 1).isEmpty());
+        assertTrue(BestSeatFinder.find(layout, new BitSet(), 1, 5, 2, 1).isEmpty());
+    }
+
+    @Test
+    void find_ShouldReturnAtMostLimitBlocks() {
+        SeatLayout layout = layout(4, 4, 4, 4);
+
+        List<Candidate> best = BestSeatFinder.find(layout, free(0, 16), 2, 2, 2, 1);
+
+        assertEquals(2, best.size());
+        assertEquals(0, best.get(0).row());
+        assertEquals(1, best.get(1).row());
+    }
+}
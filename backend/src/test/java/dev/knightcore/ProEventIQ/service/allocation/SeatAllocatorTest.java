@@ -0,0 +1,128 @@
+package dev.knightcore.ProEventIQ.service.allocation;
+
+import dev.knightcore.proeventiq.service.allocation.SeatAllocator;
+import dev.knightcore.proeventiq.service.allocation.SeatLayout;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatAllocatorTest {
+
+    /**
+     * A layout of sectors with rows of the given lengths; seat IDs are the layout positions plus one.
+     */
+    private static SeatLayout layout(int[]... sectors) {
+        SeatLayout.Builder builder = SeatLayout.builder();
+        long seatId = 1;
+        long rowId = 1;
+        for (int sector = 0; sector < sectors.length; sector++) {
+            for (int rowLength : sectors[sector]) {
+                for (int seat = 0; seat < rowLength; seat++) {
+                    builder.seat(sector + 1, rowId, seatId++, true, null);
+                }
+                rowId++;
+            }
+        }
+        return builder.build();
+    }
+
+    private static BitSet allFree(SeatLayout layout, int... taken) {
+        BitSet free = new BitSet(layout.seatCount());
+        free.set(0, layout.seatCount());
+        for (int seat : taken) {
+            free.clear(seat);
+        }
+        return free;
+    }
+
+    @Test
+    void allocate_ShouldPlaceGroupInShortestRunItFits() {
+        // Row 0 is free, row 1 has a run of 3 at its start
+        SeatLayout layout = layout(new int[]{6, 6});
+        BitSet free = allFree(layout, 9, 10, 11);
+
+        int[][] allocated = SeatAllocator.allocate(layout, free, new int[]{3, 6});
+
+        assertArrayEquals(new int[]{6, 7, 8}, allocated[0]);
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4, 5}, allocated[1]);
+        assertEquals(12 - 3, free.cardinality(), "free seats are not changed");
+    }
+
+    @Test
+    void allocate_ShouldPlaceLargestGroupsFirst() {
+        // Placed in input order, the groups of 2 and 3 would leave no run for the group of 4
+        SeatLayout layout = layout(new int[]{4, 5});
+
+        int[][] allocated = SeatAllocator.allocate(layout, allFree(layout), new int[]{2, 3, 4});
+
+        assertArrayEquals(new int[]{7, 8}, allocated[0]);
+        assertArrayEquals(new int[]{4, 5, 6}, allocated[1]);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, allocated[2]);
+    }
+
+    @Test
+    void allocate_ShouldPreferFirstRunAmongEquallyShortOnes() {
+        SeatLayout layout = layout(new int[]{4, 4});
+
+        int[][] allocated = SeatAllocator.allocate(layout, allFree(layout), new int[]{2, 2, 2});
+
+        assertArrayEquals(new int[]{0, 1}, allocated[0]);
+        assertArrayEquals(new int[]{2, 3}, allocated[1]);
+        assertArrayEquals(new int[]{4, 5}, allocated[2]);
+    }
+
+    @Test
+    void allocate_ShouldSpreadGroupOverFewestAdjacentRows() {
+        // Row 0 has one free seat, rows 1 and 2 are free: two rows hold the group, three are not needed
+        SeatLayout layout = layout(new int[]{4, 4, 4});
+        BitSet free = allFree(layout, 1, 2, 3);
+
+        int[][] allocated = SeatAllocator.allocate(layout, free, new int[]{7});
+
+        assertArrayEquals(new int[]{4, 5, 6, 7, 8, 9, 10}, allocated[0]);
+    }
+
+    @Test
+    void allocate_ShouldSpreadOverLongestRunOfEachRow() {
+        // Row 0 has runs of 1 and 2; the group takes the run of 2, then 3 seats of row 1
+        SeatLayout layout = layout(new int[]{4, 4});
+        BitSet free = allFree(layout, 1);
+
+        int[][] allocated = SeatAllocator.allocate(layout, free, new int[]{5});
+
+        assertArrayEquals(new int[]{2, 3, 4, 5, 6}, allocated[0]);
+    }
+
+    @Test
+    void allocate_ShouldNotSpreadGroupOverSectors() {
+        SeatLayout layout = layout(new int[]{4}, new int[]{4});
+
+        int[][] allocated = SeatAllocator.allocate(layout, allFree(layout), new int[]{6});
+
+        assertNull(allocated[0]);
+    }
+
+    @Test
+    void allocate_ShouldLeaveOutGroupThatDoesNotFit_AndPlaceOthers() {
+        SeatLayout layout = layout(new int[]{4, 4});
+        BitSet free = allFree(layout, 5);
+
+        int[][] allocated = SeatAllocator.allocate(layout, free, new int[]{8, 2, 0});
+
+        assertNull(allocated[0]);
+        assertArrayEquals(new int[]{6, 7}, allocated[1]);
+        assertNull(allocated[2], "groups without missing seats are not placed");
+    }
+
+    @Test
+    void allocate_ShouldLeaveOutGroupsOnceSeatsRunOut() {
+        SeatLayout layout = layout(new int[]{3});
+
+        int[][] allocated = SeatAllocator.allocate(layout, allFree(layout), new int[]{2, 2});
+
+        assertArrayEquals(new int[]{0, 1}, allocated[0]);
+        assertNull(allocated[1]);
+    }
+}